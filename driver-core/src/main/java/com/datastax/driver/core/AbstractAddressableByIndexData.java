@@ -143,6 +143,26 @@ abstract class AbstractAddressableByIndexData<T extends SettableByIndexData<T>>
         return setValue(i, type.codec(protocolVersion).serialize(v));
     }
 
+    public T setLongArray(int i, long[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.BIGINT);
+        return setValue(i, v == null ? null : TypeCodec.serializeLongArray(v, protocolVersion));
+    }
+
+    public T setIntArray(int i, int[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.INT);
+        return setValue(i, v == null ? null : TypeCodec.serializeIntArray(v, protocolVersion));
+    }
+
+    public T setDoubleArray(int i, double[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.DOUBLE);
+        return setValue(i, v == null ? null : TypeCodec.serializeDoubleArray(v, protocolVersion));
+    }
+
+    public T setFloatArray(int i, float[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.FLOAT);
+        return setValue(i, v == null ? null : TypeCodec.serializeFloatArray(v, protocolVersion));
+    }
+
     public <K, V> T setMap(int i, Map<K, V> v) {
         DataType type = getType(i);
         if (type.getName() != DataType.Name.MAP)
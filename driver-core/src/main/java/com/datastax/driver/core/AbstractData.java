@@ -313,6 +313,66 @@ abstract class AbstractData<T extends SettableData<T>> extends AbstractGettableD
         return wrapped;
     }
 
+    public T setLongArray(int i, long[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.BIGINT);
+        return setValue(i, v == null ? null : TypeCodec.serializeLongArray(v, protocolVersion));
+    }
+
+    public T setIntArray(int i, int[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.INT);
+        return setValue(i, v == null ? null : TypeCodec.serializeIntArray(v, protocolVersion));
+    }
+
+    public T setDoubleArray(int i, double[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.DOUBLE);
+        return setValue(i, v == null ? null : TypeCodec.serializeDoubleArray(v, protocolVersion));
+    }
+
+    public T setFloatArray(int i, float[] v) {
+        checkPrimitiveCollectionType(i, DataType.Name.FLOAT);
+        return setValue(i, v == null ? null : TypeCodec.serializeFloatArray(v, protocolVersion));
+    }
+
+    public T setLongArray(String name, long[] v) {
+        int[] indexes = getAllIndexesOf(name);
+        ByteBuffer value = v == null ? null : TypeCodec.serializeLongArray(v, protocolVersion);
+        for (int i = 0; i < indexes.length; i++) {
+            checkPrimitiveCollectionType(indexes[i], DataType.Name.BIGINT);
+            setValue(indexes[i], value);
+        }
+        return wrapped;
+    }
+
+    public T setIntArray(String name, int[] v) {
+        int[] indexes = getAllIndexesOf(name);
+        ByteBuffer value = v == null ? null : TypeCodec.serializeIntArray(v, protocolVersion);
+        for (int i = 0; i < indexes.length; i++) {
+            checkPrimitiveCollectionType(indexes[i], DataType.Name.INT);
+            setValue(indexes[i], value);
+        }
+        return wrapped;
+    }
+
+    public T setDoubleArray(String name, double[] v) {
+        int[] indexes = getAllIndexesOf(name);
+        ByteBuffer value = v == null ? null : TypeCodec.serializeDoubleArray(v, protocolVersion);
+        for (int i = 0; i < indexes.length; i++) {
+            checkPrimitiveCollectionType(indexes[i], DataType.Name.DOUBLE);
+            setValue(indexes[i], value);
+        }
+        return wrapped;
+    }
+
+    public T setFloatArray(String name, float[] v) {
+        int[] indexes = getAllIndexesOf(name);
+        ByteBuffer value = v == null ? null : TypeCodec.serializeFloatArray(v, protocolVersion);
+        for (int i = 0; i < indexes.length; i++) {
+            checkPrimitiveCollectionType(indexes[i], DataType.Name.FLOAT);
+            setValue(indexes[i], value);
+        }
+        return wrapped;
+    }
+
     public <K, V> T setMap(int i, Map<K, V> v) {
         DataType type = getType(i);
         if (type.getName() != DataType.Name.MAP)
@@ -364,6 +364,72 @@ abstract class AbstractGettableByIndexData implements GettableByIndexData {
         return Collections.unmodifiableSet((Set<T>)type.codec(protocolVersion).deserialize(value));
     }
 
+    /**
+     * Checks that value {@code i} is a list or a set of {@code elementType}, to be retrieved or set as an array.
+     */
+    protected void checkPrimitiveCollectionType(int i, DataType.Name elementType) {
+        DataType type = getType(i);
+        if ((type.getName() != DataType.Name.LIST && type.getName() != DataType.Name.SET)
+            || type.getTypeArguments().get(0).getName() != elementType)
+            throw new InvalidTypeException(String.format("Column %s is of type %s, expecting a list or set of %s", getName(i), type, elementType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getLongArray(int i) {
+        checkPrimitiveCollectionType(i, DataType.Name.BIGINT);
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return new long[0];
+
+        return TypeCodec.deserializeLongArray(value, protocolVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] getIntArray(int i) {
+        checkPrimitiveCollectionType(i, DataType.Name.INT);
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return new int[0];
+
+        return TypeCodec.deserializeIntArray(value, protocolVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] getDoubleArray(int i) {
+        checkPrimitiveCollectionType(i, DataType.Name.DOUBLE);
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return new double[0];
+
+        return TypeCodec.deserializeDoubleArray(value, protocolVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float[] getFloatArray(int i) {
+        checkPrimitiveCollectionType(i, DataType.Name.FLOAT);
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return new float[0];
+
+        return TypeCodec.deserializeFloatArray(value, protocolVersion);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -408,6 +474,67 @@ abstract class AbstractGettableByIndexData implements GettableByIndexData {
         return Collections.unmodifiableMap((Map<K, V>)type.codec(protocolVersion).deserialize(value));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> List<T> getListView(int i, Class<T> elementsClass) {
+        DataType type = getType(i);
+        if (type.getName() != DataType.Name.LIST)
+            throw new InvalidTypeException(String.format("Column %s is not of list type", getName(i)));
+
+        Class<?> expectedClass = type.getTypeArguments().get(0).getName().javaType;
+        if (!elementsClass.isAssignableFrom(expectedClass))
+            throw new InvalidTypeException(String.format("Column %s is a list of %s (CQL type %s), cannot be retrieved as a list of %s", getName(i), expectedClass, type, elementsClass));
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return Collections.<T>emptyList();
+
+        return CollectionViews.listView(value, type.getTypeArguments().get(0), protocolVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Set<T> getSetView(int i, Class<T> elementsClass) {
+        DataType type = getType(i);
+        if (type.getName() != DataType.Name.SET)
+            throw new InvalidTypeException(String.format("Column %s is not of set type", getName(i)));
+
+        Class<?> expectedClass = type.getTypeArguments().get(0).getName().javaType;
+        if (!elementsClass.isAssignableFrom(expectedClass))
+            throw new InvalidTypeException(String.format("Column %s is a set of %s (CQL type %s), cannot be retrieved as a set of %s", getName(i), expectedClass, type, elementsClass));
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return Collections.<T>emptySet();
+
+        return CollectionViews.setView(value, type.getTypeArguments().get(0), protocolVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <K, V> Map<K, V> getMapView(int i, Class<K> keysClass, Class<V> valuesClass) {
+        DataType type = getType(i);
+        if (type.getName() != DataType.Name.MAP)
+            throw new InvalidTypeException(String.format("Column %s is not of map type", getName(i)));
+
+        Class<?> expectedKeysClass = type.getTypeArguments().get(0).getName().javaType;
+        Class<?> expectedValuesClass = type.getTypeArguments().get(1).getName().javaType;
+        if (!keysClass.isAssignableFrom(expectedKeysClass) || !valuesClass.isAssignableFrom(expectedValuesClass))
+            throw new InvalidTypeException(String.format("Column %s is a map of %s->%s (CQL type %s), cannot be retrieved as a map of %s->%s", getName(i), expectedKeysClass, expectedValuesClass, type, keysClass, valuesClass));
+
+        ByteBuffer value = getValue(i);
+        if (value == null)
+            return Collections.<K, V>emptyMap();
+
+        return CollectionViews.mapView(value, type.getTypeArguments().get(0), type.getTypeArguments().get(1), protocolVersion);
+    }
+
     /**
      * {@inheritDoc}
      */
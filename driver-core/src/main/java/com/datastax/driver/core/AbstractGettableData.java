@@ -203,6 +203,38 @@ public abstract class AbstractGettableData extends AbstractGettableByIndexData i
         return getSet(getIndexOf(name), elementsType);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getLongArray(String name) {
+        return getLongArray(getIndexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] getIntArray(String name) {
+        return getIntArray(getIndexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] getDoubleArray(String name) {
+        return getDoubleArray(getIndexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float[] getFloatArray(String name) {
+        return getFloatArray(getIndexOf(name));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -219,6 +251,30 @@ public abstract class AbstractGettableData extends AbstractGettableByIndexData i
         return getMap(getIndexOf(name), keysType, valuesType);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> List<T> getListView(String name, Class<T> elementsClass) {
+        return getListView(getIndexOf(name), elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Set<T> getSetView(String name, Class<T> elementsClass) {
+        return getSetView(getIndexOf(name), elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <K, V> Map<K, V> getMapView(String name, Class<K> keysClass, Class<V> valuesClass) {
+        return getMapView(getIndexOf(name), keysClass, valuesClass);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -78,7 +78,7 @@ abstract class ArrayBackedResultSet implements ResultSet {
                 assert r.metadata.pagingState == null || info != null;
                 return r.metadata.pagingState == null
                     ? new SinglePage(columnDefs, tokenFactory, protocolVersion, r.data, info)
-                    : new MultiPage(columnDefs, tokenFactory, protocolVersion, r.data, info, r.metadata.pagingState, session, statement);
+                    : new MultiPage(columnDefs, tokenFactory, protocolVersion, new Page(r.data, r.dataSize), info, r.metadata.pagingState, session, statement);
 
             case SET_KEYSPACE:
             case SCHEMA_CHANGE:
@@ -198,7 +198,22 @@ abstract class ArrayBackedResultSet implements ResultSet {
     private static class MultiPage extends ArrayBackedResultSet {
 
         private Queue<List<ByteBuffer>> currentPage;
-        private final Queue<Queue<List<ByteBuffer>>> nextPages = new ConcurrentLinkedQueue<Queue<List<ByteBuffer>>>();
+        private int currentPageBytes;
+        private final Queue<Page> nextPages = new ConcurrentLinkedQueue<Page>();
+
+        // Background prefetching: the next page is requested once the current page has no more than
+        // prefetchAt rows left (-1 if prefetching is disabled), unless the current page is too big.
+        private final float prefetchThreshold;
+        private final int maxPrefetchBytes;
+        private int prefetchAt;
+
+        // Byte-bounded paging: the fetch size of the next pages is derived from the average size of
+        // the rows received so far. Only updated by the response of a fetch, before fetchState.
+        private final int fetchSizeInBytes;
+        private long receivedRows;
+        private long receivedBytes;
+
+        private final ResultSetMemoryTracker.Allocation memory;
 
         private final Deque<ExecutionInfo> infos = new LinkedBlockingDeque<ExecutionInfo>();
 
@@ -223,7 +238,7 @@ abstract class ArrayBackedResultSet implements ResultSet {
         private MultiPage(ColumnDefinitions metadata,
                           Token.Factory tokenFactory,
                           ProtocolVersion protocolVersion,
-                          Queue<List<ByteBuffer>> rows,
+                          Page firstPage,
                           ExecutionInfo info,
                           ByteBuffer pagingState,
                           SessionManager session,
@@ -232,13 +247,23 @@ abstract class ArrayBackedResultSet implements ResultSet {
             // Note: as of Cassandra 2.1.0, it turns out that the result of a CAS update is never paged, so
             // we could hard-code the result of wasApplied in this class to "true". However, we can not be sure
             // that this will never change, so apply the generic check by peeking at the first row.
-            super(metadata, tokenFactory, rows.peek(), protocolVersion);
-            this.currentPage = rows;
+            super(metadata, tokenFactory, firstPage.rows.peek(), protocolVersion);
             this.infos.offer(info.withPagingState(pagingState, protocolVersion).withStatement(statement));
 
             this.fetchState = new FetchingState(pagingState, null);
             this.session = session;
             this.statement = statement;
+
+            QueryOptions options = session.configuration().getQueryOptions();
+            this.prefetchThreshold = options.getPrefetchThreshold();
+            this.maxPrefetchBytes = options.getMaxPrefetchBytes();
+            this.fetchSizeInBytes = options.getFetchSizeInBytes();
+            this.receivedRows = firstPage.rows.size();
+            this.receivedBytes = firstPage.bytes;
+
+            this.memory = session.resultSetMemory.register(this);
+            this.memory.acquire(firstPage.bytes);
+            setCurrentPage(firstPage);
         }
 
         public boolean isExhausted() {
@@ -248,13 +273,15 @@ abstract class ArrayBackedResultSet implements ResultSet {
 
         public Row one() {
             prepareNextRow();
-            return ArrayBackedRow.fromData(metadata, tokenFactory, protocolVersion, currentPage.poll());
+            List<ByteBuffer> row = currentPage.poll();
+            maybePrefetch();
+            return ArrayBackedRow.fromData(metadata, tokenFactory, protocolVersion, row);
         }
 
         public int getAvailableWithoutFetching() {
             int available = currentPage.size();
-            for (Queue<List<ByteBuffer>> page : nextPages)
-                available += page.size();
+            for (Page page : nextPages)
+                available += page.rows.size();
             return available;
         }
 
@@ -269,13 +296,16 @@ abstract class ArrayBackedResultSet implements ResultSet {
                 // Grab the current state now to get a consistent view in this iteration.
                 FetchingState fetchingState = this.fetchState;
 
-                Queue<List<ByteBuffer>> nextPage = nextPages.poll();
+                Page nextPage = nextPages.poll();
                 if (nextPage != null) {
-                    currentPage = nextPage;
+                    setCurrentPage(nextPage);
                     continue;
                 }
-                if (fetchingState == null)
+                if (fetchingState == null) {
+                    memory.release(currentPageBytes);
+                    currentPageBytes = 0;
                     return;
+                }
 
                 // We need to know if there is more result, so fetch the next page and
                 // wait on it.
@@ -287,6 +317,35 @@ abstract class ArrayBackedResultSet implements ResultSet {
             }
         }
 
+        private void setCurrentPage(Page page) {
+            if (currentPage != null)
+                memory.release(currentPageBytes);
+            currentPage = page.rows;
+            currentPageBytes = page.bytes;
+            prefetchAt = prefetchThreshold <= 0 ? -1 : (int)(page.rows.size() * prefetchThreshold);
+        }
+
+        // Requests the next page in the background if the current one is running low. Note that
+        // this doesn't wait on the result: errors will surface when the page is actually needed.
+        private void maybePrefetch() {
+            if (currentPage.size() > prefetchAt)
+                return;
+
+            FetchingState fetchingState = this.fetchState;
+            if (fetchingState != null && fetchingState.nextStart != null
+                && nextPages.isEmpty() && bufferedBytes() < maxPrefetchBytes)
+                fetchMoreResults(fetchingState);
+        }
+
+        // The size of the pages held in memory: the current one (including the rows already consumed,
+        // which are released with it), and the ones fetched ahead of it
+        private int bufferedBytes() {
+            int bytes = currentPageBytes;
+            for (Page page : nextPages)
+                bytes += page.bytes;
+            return bytes;
+        }
+
         public ListenableFuture<Void> fetchMoreResults() {
             return fetchMoreResults(this.fetchState);
         }
@@ -309,7 +368,7 @@ abstract class ArrayBackedResultSet implements ResultSet {
 
             assert !(statement instanceof BatchStatement);
 
-            final Message.Request request = session.makeRequestMessage(statement, nextStart);
+            final Message.Request request = session.makeRequestMessage(statement, nextStart, nextFetchSize());
             session.execute(new RequestHandler.Callback() {
 
                 @Override
@@ -332,7 +391,10 @@ abstract class ArrayBackedResultSet implements ResultSet {
                                     Responses.Result.Rows rows = (Responses.Result.Rows)rm;
                                     if (rows.metadata.pagingState != null)
                                         info = info.withPagingState(rows.metadata.pagingState, protocolVersion).withStatement(statement);
-                                    MultiPage.this.nextPages.offer(rows.data);
+                                    MultiPage.this.receivedRows += rows.data.size();
+                                    MultiPage.this.receivedBytes += rows.dataSize;
+                                    MultiPage.this.memory.acquire(rows.dataSize);
+                                    MultiPage.this.nextPages.offer(new Page(rows.data, rows.dataSize));
                                     MultiPage.this.fetchState = rows.metadata.pagingState == null ? null : new FetchingState(rows.metadata.pagingState, null);
                                 } else if (rm.kind == Responses.Result.Kind.VOID) {
                                     // We shouldn't really get a VOID message here but well, no harm in handling it I suppose
@@ -391,6 +453,17 @@ abstract class ArrayBackedResultSet implements ResultSet {
             return future;
         }
 
+        private int nextFetchSize() {
+            int fetchSize = statement.getFetchSize();
+            if (fetchSizeInBytes <= 0 || receivedRows == 0)
+                return fetchSize;
+
+            if (fetchSize <= 0)
+                fetchSize = session.configuration().getQueryOptions().getFetchSize();
+            long averageRowSize = Math.max(1, receivedBytes / receivedRows);
+            return (int)Math.max(1, Math.min(fetchSize, fetchSizeInBytes / averageRowSize));
+        }
+
         public ExecutionInfo getExecutionInfo() {
             return infos.getLast();
         }
@@ -411,6 +484,16 @@ abstract class ArrayBackedResultSet implements ResultSet {
         }
     }
 
+    private static class Page {
+        final Queue<List<ByteBuffer>> rows;
+        final int bytes;
+
+        Page(Queue<List<ByteBuffer>> rows, int bytes) {
+            this.rows = rows;
+            this.bytes = bytes;
+        }
+    }
+
     // This method checks the value of the "[applied]" column manually, to avoid instantiating an ArrayBackedRow
     // object that we would throw away immediately.
     private static boolean checkWasApplied(List<ByteBuffer> firstRow, ColumnDefinitions metadata) {
@@ -135,79 +135,7 @@ public class BoundStatement extends Statement implements SettableData<BoundState
      * collections by CQL.
      */
     public BoundStatement bind(Object... values) {
-
-        if (values.length > statement.getVariables().size())
-            throw new IllegalArgumentException(String.format("Prepared statement has only %d variables, %d values provided", statement.getVariables().size(), values.length));
-
-        for (int i = 0; i < values.length; i++)
-        {
-            Object toSet = values[i];
-
-            if (toSet == null) {
-                wrapper.values[i] = null;
-                continue;
-            }
-
-            DataType columnType = statement.getVariables().getType(i);
-            switch (columnType.getName()) {
-                case LIST:
-                    if (!(toSet instanceof List))
-                        throw new InvalidTypeException(String.format("Invalid type for value %d, column is a list but %s provided", i, toSet.getClass()));
-
-                    List<?> l = (List<?>)toSet;
-                    // If the list is empty, it will never fail validation, but otherwise we should check the list given if of the right type
-                    if (!l.isEmpty()) {
-                        // Ugly? Yes
-                        Class<?> providedClass = l.get(0).getClass();
-                        Class<?> expectedClass = columnType.getTypeArguments().get(0).asJavaClass();
-                        if (!expectedClass.isAssignableFrom(providedClass))
-                            throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting list of %s but provided list of %s", i, columnType, expectedClass, providedClass));
-                    }
-                    break;
-                case SET:
-                    if (!(toSet instanceof Set))
-                        throw new InvalidTypeException(String.format("Invalid type for value %d, column is a set but %s provided", i, toSet.getClass()));
-
-                    Set<?> s = (Set<?>)toSet;
-                    // If the list is empty, it will never fail validation, but otherwise we should check the list given if of the right type
-                    if (!s.isEmpty()) {
-                        // Ugly? Yes
-                        Class<?> providedClass = s.iterator().next().getClass();
-                        Class<?> expectedClass = columnType.getTypeArguments().get(0).getName().javaType;
-                        if (!expectedClass.isAssignableFrom(providedClass))
-                            throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting set of %s but provided set of %s", i, columnType, expectedClass, providedClass));
-                    }
-                    break;
-                case MAP:
-                    if (!(toSet instanceof Map))
-                        throw new InvalidTypeException(String.format("Invalid type for value %d, column is a map but %s provided", i, toSet.getClass()));
-
-                    Map<?, ?> m = (Map<?, ?>)toSet;
-                    // If the list is empty, it will never fail validation, but otherwise we should check the list given if of the right type
-                    if (!m.isEmpty()) {
-                        // Ugly? Yes
-                        Map.Entry<?, ?> entry = m.entrySet().iterator().next();
-                        Class<?> providedKeysClass = entry.getKey().getClass();
-                        Class<?> providedValuesClass = entry.getValue().getClass();
-
-                        Class<?> expectedKeysClass = columnType.getTypeArguments().get(0).getName().javaType;
-                        Class<?> expectedValuesClass = columnType.getTypeArguments().get(1).getName().javaType;
-                        if (!expectedKeysClass.isAssignableFrom(providedKeysClass) || !expectedValuesClass.isAssignableFrom(providedValuesClass))
-                            throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting map of %s->%s but provided set of %s->%s", i, columnType, expectedKeysClass, expectedValuesClass, providedKeysClass, providedValuesClass));
-                    }
-                    break;
-                default:
-                    if (toSet instanceof Token)
-                        toSet = ((Token)toSet).getValue();
-
-                    Class<?> providedClass = toSet.getClass();
-                    Class<?> expectedClass = columnType.getName().javaType;
-                    if (!expectedClass.isAssignableFrom(providedClass))
-                        throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting %s but %s provided", i, columnType, expectedClass, providedClass));
-                    break;
-            }
-            wrapper.values[i] = columnType.codec(statement.getPreparedId().protocolVersion).serialize(toSet);
-        }
+        statement.getPreparedId().binder().bind(wrapper.values, values);
         return this;
     }
 
@@ -852,6 +780,134 @@ public class BoundStatement extends Statement implements SettableData<BoundState
         return wrapper.setList(name, v);
     }
 
+    /**
+     * Sets the {@code i}th value, a list or set of {@code bigint}, to the elements of the provided array.
+     *
+     * @param i the index of the variable to set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IndexOutOfBoundsException if {@code i < 0 || i >= this.preparedStatement().variables().size()}.
+     * @throws InvalidTypeException if column {@code i} is not a list or set of type BIGINT.
+     */
+    public BoundStatement setLongArray(int i, long[] v) {
+        return wrapper.setLongArray(i, v);
+    }
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code bigint},
+     * to the elements of the provided array.
+     *
+     * @param name the name of the variable to set; if multiple variables
+     * {@code name} are prepared, all of them are set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a prepared
+     * variable, that is, if {@code !this.preparedStatement().variables().names().contains(name)}.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type BIGINT.
+     */
+    public BoundStatement setLongArray(String name, long[] v) {
+        return wrapper.setLongArray(name, v);
+    }
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code int}, to the elements of the provided array.
+     *
+     * @param i the index of the variable to set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IndexOutOfBoundsException if {@code i < 0 || i >= this.preparedStatement().variables().size()}.
+     * @throws InvalidTypeException if column {@code i} is not a list or set of type INT.
+     */
+    public BoundStatement setIntArray(int i, int[] v) {
+        return wrapper.setIntArray(i, v);
+    }
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code int},
+     * to the elements of the provided array.
+     *
+     * @param name the name of the variable to set; if multiple variables
+     * {@code name} are prepared, all of them are set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a prepared
+     * variable, that is, if {@code !this.preparedStatement().variables().names().contains(name)}.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type INT.
+     */
+    public BoundStatement setIntArray(String name, int[] v) {
+        return wrapper.setIntArray(name, v);
+    }
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code double}, to the elements of the provided array.
+     *
+     * @param i the index of the variable to set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IndexOutOfBoundsException if {@code i < 0 || i >= this.preparedStatement().variables().size()}.
+     * @throws InvalidTypeException if column {@code i} is not a list or set of type DOUBLE.
+     */
+    public BoundStatement setDoubleArray(int i, double[] v) {
+        return wrapper.setDoubleArray(i, v);
+    }
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code double},
+     * to the elements of the provided array.
+     *
+     * @param name the name of the variable to set; if multiple variables
+     * {@code name} are prepared, all of them are set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a prepared
+     * variable, that is, if {@code !this.preparedStatement().variables().names().contains(name)}.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type DOUBLE.
+     */
+    public BoundStatement setDoubleArray(String name, double[] v) {
+        return wrapper.setDoubleArray(name, v);
+    }
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code float}, to the elements of the provided array.
+     *
+     * @param i the index of the variable to set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IndexOutOfBoundsException if {@code i < 0 || i >= this.preparedStatement().variables().size()}.
+     * @throws InvalidTypeException if column {@code i} is not a list or set of type FLOAT.
+     */
+    public BoundStatement setFloatArray(int i, float[] v) {
+        return wrapper.setFloatArray(i, v);
+    }
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code float},
+     * to the elements of the provided array.
+     *
+     * @param name the name of the variable to set; if multiple variables
+     * {@code name} are prepared, all of them are set.
+     * @param v the value to set.
+     * @return this BoundStatement.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a prepared
+     * variable, that is, if {@code !this.preparedStatement().variables().names().contains(name)}.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type FLOAT.
+     */
+    public BoundStatement setFloatArray(String name, float[] v) {
+        return wrapper.setFloatArray(name, v);
+    }
+
     /**
      * Sets the {@code i}th value to the provided map.
      * <p>
@@ -1289,6 +1345,62 @@ public class BoundStatement extends Statement implements SettableData<BoundState
         return wrapper.getSet(name, elementsType);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public long[] getLongArray(int i) {
+        return wrapper.getLongArray(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long[] getLongArray(String name) {
+        return wrapper.getLongArray(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int[] getIntArray(int i) {
+        return wrapper.getIntArray(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int[] getIntArray(String name) {
+        return wrapper.getIntArray(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double[] getDoubleArray(int i) {
+        return wrapper.getDoubleArray(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double[] getDoubleArray(String name) {
+        return wrapper.getDoubleArray(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public float[] getFloatArray(int i) {
+        return wrapper.getFloatArray(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public float[] getFloatArray(String name) {
+        return wrapper.getFloatArray(name);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1317,6 +1429,48 @@ public class BoundStatement extends Statement implements SettableData<BoundState
         return wrapper.getMap(name, keysType, valuesType);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public <T> List<T> getListView(int i, Class<T> elementsClass) {
+        return wrapper.getListView(i, elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> List<T> getListView(String name, Class<T> elementsClass) {
+        return wrapper.getListView(name, elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> Set<T> getSetView(int i, Class<T> elementsClass) {
+        return wrapper.getSetView(i, elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> Set<T> getSetView(String name, Class<T> elementsClass) {
+        return wrapper.getSetView(name, elementsClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <K, V> Map<K, V> getMapView(int i, Class<K> keysClass, Class<V> valuesClass) {
+        return wrapper.getMapView(i, keysClass, valuesClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <K, V> Map<K, V> getMapView(String name, Class<K> keysClass, Class<V> valuesClass) {
+        return wrapper.getMapView(name, keysClass, valuesClass);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,7 +19,6 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.util.*;
 
 import io.netty.buffer.ByteBuf;
@@ -34,18 +33,97 @@ abstract class CBUtil { // TODO rename
 
     private CBUtil() {}
 
+    // A direct-mapped cache for readCachedString: colliding strings simply replace each other
+    private static final int STRING_CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_STRING_LENGTH = 128;
+    private static final CachedString[] stringCache = new CachedString[STRING_CACHE_SIZE];
+
     private static String readString(ByteBuf cb, int length) {
-        try {
-            String str = cb.toString(cb.readerIndex(), length, CharsetUtil.UTF_8);
-            cb.readerIndex(cb.readerIndex() + length);
+        if (length > cb.readableBytes())
+            throw new IndexOutOfBoundsException();
+        String str = decodeString(cb, cb.readerIndex(), length);
+        cb.readerIndex(cb.readerIndex() + length);
+        return str;
+    }
+
+    private static String decodeString(ByteBuf cb, int index, int length) {
+        if (length == 0)
+            return "";
+        if (cb.hasArray())
+            return decodeUtf8(cb.array(), cb.arrayOffset() + index, length);
+        byte[] bytes = new byte[length];
+        cb.getBytes(index, bytes);
+        return decodeUtf8(bytes, 0, length);
+    }
+
+    /**
+     * Decodes UTF-8 bytes without going through a {@code CharsetDecoder}. Pure ASCII strings, which
+     * are the most common ones, are built directly from the bytes.
+     * <p>
+     * Malformed input is decoded with {@code String}'s decoder, which replaces invalid sequences.
+     */
+    static String decodeUtf8(byte[] bytes, int offset, int length) {
+        String str = decodeAscii(bytes, offset, length);
+        if (str != null)
             return str;
-        } catch (IllegalStateException e) {
-            // That's the way netty encapsulate a CCE
-            if (e.getCause() instanceof CharacterCodingException)
-                throw new DriverInternalError("Cannot decode string as UTF8");
-            else
-                throw e;
+
+        char[] chars = new char[length];
+        int end = offset + length;
+        int i = offset;
+        int n = 0;
+        while (i < end) {
+            int b = bytes[i++];
+            if (b >= 0) {
+                chars[n++] = (char)b;
+            } else if ((b >> 5) == -2 && (b & 0x1e) != 0) {
+                // 110xxxxx 10xxxxxx
+                if (i >= end || !isContinuation(bytes[i]))
+                    return malformedUtf8(bytes, offset, length);
+                chars[n++] = (char)(((b & 0x1f) << 6) | (bytes[i++] & 0x3f));
+            } else if ((b >> 4) == -2) {
+                // 1110xxxx 10xxxxxx 10xxxxxx
+                if (i + 1 >= end || !isContinuation(bytes[i]) || !isContinuation(bytes[i + 1]))
+                    return malformedUtf8(bytes, offset, length);
+                char c = (char)(((b & 0x0f) << 12) | ((bytes[i++] & 0x3f) << 6) | (bytes[i++] & 0x3f));
+                if (c < 0x800 || (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE))
+                    return malformedUtf8(bytes, offset, length);
+                chars[n++] = c;
+            } else if ((b >> 3) == -2) {
+                // 11110xxx 10xxxxxx 10xxxxxx 10xxxxxx
+                if (i + 2 >= end || !isContinuation(bytes[i]) || !isContinuation(bytes[i + 1]) || !isContinuation(bytes[i + 2]))
+                    return malformedUtf8(bytes, offset, length);
+                int codePoint = ((b & 0x07) << 18) | ((bytes[i++] & 0x3f) << 12) | ((bytes[i++] & 0x3f) << 6) | (bytes[i++] & 0x3f);
+                if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT || codePoint > Character.MAX_CODE_POINT)
+                    return malformedUtf8(bytes, offset, length);
+                n += Character.toChars(codePoint, chars, n);
+            } else {
+                return malformedUtf8(bytes, offset, length);
+            }
         }
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * Decodes bytes as ASCII if they are all 7-bit.
+     *
+     * @return the string, or {@code null} if some bytes are not 7-bit.
+     */
+    @SuppressWarnings("deprecation")
+    static String decodeAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0)
+                return null;
+        }
+        // This deprecated constructor is precisely meant for ASCII, and avoids an intermediate copy
+        return new String(bytes, 0, offset, length);
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    private static String malformedUtf8(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, CharsetUtil.UTF_8);
     }
 
     public static String readString(ByteBuf cb) {
@@ -57,6 +135,69 @@ abstract class CBUtil { // TODO rename
         }
     }
 
+    /**
+     * Reads a string that is likely to be read many times, like the keyspace, table and column names
+     * that are sent with every page of results. The decoded strings are cached to avoid allocating
+     * them again and again.
+     */
+    public static String readCachedString(ByteBuf cb) {
+        try {
+            int length = cb.readUnsignedShort();
+            if (length > MAX_CACHED_STRING_LENGTH || length > cb.readableBytes())
+                return readString(cb, length);
+
+            int start = cb.readerIndex();
+            int hash = 1;
+            for (int i = 0; i < length; i++)
+                hash = 31 * hash + cb.getByte(start + i);
+            int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+
+            CachedString cached = stringCache[slot];
+            if (cached != null && cached.matches(cb, start, length)) {
+                cb.readerIndex(start + length);
+                return cached.value;
+            }
+
+            byte[] bytes = new byte[length];
+            cb.readBytes(bytes);
+            String value = decodeUtf8(bytes, 0, length);
+            // Entries are immutable, so a racy update is harmless: at worst another entry gets overwritten
+            stringCache[slot] = new CachedString(bytes, value);
+            return value;
+        } catch (IndexOutOfBoundsException e) {
+            throw new DriverInternalError("Not enough bytes to read an UTF8 serialized string preceded by it's 2 bytes length");
+        }
+    }
+
+    private static class CachedString {
+        final byte[] bytes;
+        final String value;
+
+        CachedString(byte[] bytes, String value) {
+            this.bytes = bytes;
+            this.value = value;
+        }
+
+        boolean matches(ByteBuf cb, int start, int length) {
+            if (bytes.length != length)
+                return false;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != cb.getByte(start + i))
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    public static void skipString(ByteBuf cb) {
+        try {
+            int length = cb.readUnsignedShort();
+            cb.skipBytes(length);
+        } catch (IndexOutOfBoundsException e) {
+            throw new DriverInternalError("Not enough bytes to read an UTF8 serialized string preceded by it's 2 bytes length");
+        }
+    }
+
     public static void writeString(String str, ByteBuf cb) {
         byte[] bytes = str.getBytes(CharsetUtil.UTF_8);
         cb.writeShort(bytes.length);
@@ -16,6 +16,7 @@
 package com.datastax.driver.core;
 
 import java.io.Closeable;
+import java.io.File;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
@@ -79,6 +80,37 @@ public class Cluster implements Closeable {
 
     private static final int NOTIF_LOCK_TIMEOUT_SECONDS = SystemProperties.getInt("com.datastax.driver.NOTIF_LOCK_TIMEOUT_SECONDS", 60);
 
+    // The order in which statements are re-prepared on a node that comes up: most executed first.
+    // Statements keep being executed while we sort them, so the counts are read once beforehand: a comparator
+    // reading the live counts would be inconsistent, which TimSort may reject.
+    static List<PreparedStatement> repreparationOrder(Collection<PreparedStatement> statements) {
+        List<ExecutionCount> counts = new ArrayList<ExecutionCount>(statements.size());
+        for (PreparedStatement statement : statements)
+            counts.add(new ExecutionCount(statement));
+        Collections.sort(counts);
+
+        List<PreparedStatement> ordered = new ArrayList<PreparedStatement>(counts.size());
+        for (ExecutionCount count : counts)
+            ordered.add(count.statement);
+        return ordered;
+    }
+
+    private static class ExecutionCount implements Comparable<ExecutionCount> {
+        final PreparedStatement statement;
+        final long executions;
+
+        ExecutionCount(PreparedStatement statement) {
+            this.statement = statement;
+            this.executions = statement.getPreparedId().executions();
+        }
+
+        @Override
+        public int compareTo(ExecutionCount that) {
+            // Most executed first
+            return this.executions > that.executions ? -1 : (this.executions == that.executions ? 0 : 1);
+        }
+    }
+
     final Manager manager;
 
     /**
@@ -1325,6 +1357,12 @@ public class Cluster implements Closeable {
         // this would yield a slightly less clear behavior.
         ConcurrentMap<MD5Digest, PreparedStatement> preparedQueries;
 
+        // Records prepared queries to a local file, if configured (see QueryOptions#setPreparedStatementRegistry).
+        PreparedStatementRegistry preparedStatementRegistry;
+
+        // The number of statements that remain to be re-prepared on each host that is currently being re-prepared.
+        final ConcurrentMap<Host, AtomicInteger> pendingReprepares = new ConcurrentHashMap<Host, AtomicInteger>();
+
         final Set<Host.StateListener> listeners;
         final Set<LatencyTracker> trackers = new CopyOnWriteArraySet<LatencyTracker>();
         final Set<SchemaChangeListener> schemaChangeListeners = new  CopyOnWriteArraySet<SchemaChangeListener>();
@@ -1367,6 +1405,9 @@ public class Cluster implements Closeable {
             this.controlConnection = new ControlConnection(this);
             this.metrics = configuration.getMetricsOptions() == null ? null : new Metrics(this);
             this.preparedQueries = new MapMaker().weakValues().makeMap();
+            File registryFile = configuration.getQueryOptions().getPreparedStatementRegistry();
+            if (registryFile != null)
+                this.preparedStatementRegistry = new PreparedStatementRegistry(registryFile, this);
 
             // create debouncers - at this stage, they are not running yet
             QueryOptions queryOptions = configuration.getQueryOptions();
@@ -1479,6 +1520,9 @@ public class Cluster implements Closeable {
                 this.nodeRefreshRequestDebouncer.start();
 
                 isFullyInit = true;
+
+                if (preparedStatementRegistry != null)
+                    preparedStatementRegistry.warmUp();
             } catch (NoHostAvailableException e) {
                 close();
                 throw e;
@@ -1574,6 +1618,10 @@ public class Cluster implements Closeable {
                 if (metrics != null)
                     metrics.shutdown();
 
+                // Write the statements that were not recorded yet, since pending writes were dropped with blockingExecutor
+                if (preparedStatementRegistry != null)
+                    preparedStatementRegistry.close();
+
                 // And the load balancing policy
                 LoadBalancingPolicy loadBalancingPolicy = loadBalancingPolicy();
                 if (loadBalancingPolicy instanceof CloseableLoadBalancingPolicy)
@@ -2091,6 +2139,8 @@ public class Cluster implements Closeable {
                 // So we need to make sure that the instance we do return to the user is the one that is in the cache.
                 return previous;
             }
+            if (preparedStatementRegistry != null)
+                preparedStatementRegistry.record(stmt);
             return stmt;
         }
 
@@ -2100,11 +2150,24 @@ public class Cluster implements Closeable {
          * @return a connection that the rest of the initialization process can use (it will be made part
          *         of a connection pool). Can be reusedConnection, or one that was open in the method.
          */
-        private Connection prepareAllQueries(Host host, Connection reusedConnection) throws InterruptedException, UnsupportedProtocolVersionException, ClusterNameMismatchException {
+        private Connection prepareAllQueries(final Host host, Connection reusedConnection) throws InterruptedException, UnsupportedProtocolVersionException, ClusterNameMismatchException {
             if (preparedQueries.isEmpty())
                 return reusedConnection;
 
-            logger.debug("Preparing {} prepared queries on newly up node {}", preparedQueries.size(), host);
+            // Re-prepare the most executed statements first: with lazy re-preparation, they are the ones we want
+            // ready when the host starts receiving queries, and the others are re-prepared in the background.
+            List<PreparedStatement> statements = repreparationOrder(preparedQueries.values());
+            int maxEager = configuration.getQueryOptions().getMaxEagerReprepares();
+            final List<PreparedStatement> eager = statements.size() <= maxEager ? statements : statements.subList(0, maxEager);
+            final List<PreparedStatement> deferred = statements.size() <= maxEager
+                ? Collections.<PreparedStatement>emptyList()
+                : statements.subList(maxEager, statements.size());
+
+            logger.debug("Preparing {} prepared queries on newly up node {} ({} deferred)", statements.size(), host, deferred.size());
+            final AtomicInteger pending = new AtomicInteger(statements.size());
+            pendingReprepares.put(host, pending);
+            // Whether the background task took over the removal of the pending entry
+            boolean handedOff = false;
             Connection connection = null;
             try {
                 connection = (reusedConnection == null)
@@ -2117,41 +2180,29 @@ public class Cluster implements Closeable {
                     // As below, just move on
                 }
 
-                // Furthermore, along with each prepared query we keep the current keyspace at the time of preparation
-                // as we need to make it is the same when we re-prepare on new/restarted nodes. Most query will use the
-                // same keyspace so keeping it each time is slightly wasteful, but this doesn't really matter and is
-                // simpler. Besides, we do avoid in prepareAllQueries to not set the current keyspace more than needed.
-
-                // We need to make sure we prepared every query with the right current keyspace, i.e. the one originally
-                // used for preparing it. However, since we are likely that all prepared query belong to only a handful
-                // of different keyspace (possibly only one), and to avoid setting the current keyspace more than needed,
-                // we first sort the query per keyspace.
-                SetMultimap<String, String> perKeyspace = HashMultimap.create();
-                for (PreparedStatement ps : preparedQueries.values()) {
-                    // It's possible for a query to not have a current keyspace. But since null doesn't work well as
-                    // map keys, we use the empty string instead (that is not a valid keyspace name).
-                    String keyspace = ps.getQueryKeyspace() == null ? "" : ps.getQueryKeyspace();
-                    perKeyspace.put(keyspace, ps.getQueryString());
-                }
-
-                for (String keyspace : perKeyspace.keySet()) {
-                    // Empty string mean no particular keyspace to set
-                    if (!keyspace.isEmpty())
-                        connection.setKeyspace(keyspace);
+                reprepare(connection, eager, pending);
 
-                    List<Connection.Future> futures = new ArrayList<Connection.Future>(preparedQueries.size());
-                    for (String query : perKeyspace.get(keyspace)) {
-                        futures.add(connection.write(new Requests.Prepare(query)));
-                    }
-                    for (Connection.Future future : futures) {
-                        try {
-                            future.get();
-                        } catch (ExecutionException e) {
-                            // This "might" happen if we drop a CF but haven't removed it's prepared queries (which we don't do
-                            // currently). It's not a big deal however as if it's a more serious problem it'll show up later when
-                            // the query is tried for execution.
-                            logger.debug("Unexpected error while preparing queries on new/newly up host", e);
-                        }
+                if (!deferred.isEmpty()) {
+                    try {
+                        blockingExecutor.submit(new ExceptionCatchingRunnable() {
+                            @Override
+                            public void runMayThrow() throws Exception {
+                                Connection backgroundConnection = null;
+                                try {
+                                    backgroundConnection = connectionFactory.open(host);
+                                    reprepare(backgroundConnection, deferred, pending);
+                                } finally {
+                                    if (backgroundConnection != null)
+                                        backgroundConnection.closeAsync();
+                                    pendingReprepares.remove(host, pending);
+                                }
+                            }
+                        });
+                        handedOff = true;
+                    } catch (RejectedExecutionException e) {
+                        // The cluster is shutting down. Not a big deal either: the statements get re-prepared when they
+                        // are first executed on the host.
+                        logger.debug("Could not schedule the re-preparation of {} statements on {}", deferred.size(), host);
                     }
                 }
 
@@ -2173,6 +2224,68 @@ public class Cluster implements Closeable {
                 if (connection != null)
                     connection.closeAsync();
                 return null;
+            } finally {
+                if (!handedOff)
+                    pendingReprepares.remove(host, pending);
+            }
+        }
+
+        /**
+         * Prepares the given statements on a connection, keeping at most
+         * {@link QueryOptions#getMaxConcurrentReprepares()} requests in flight.
+         */
+        private void reprepare(Connection connection, List<PreparedStatement> statements, AtomicInteger pending) throws InterruptedException, ConnectionException, BusyConnectionException {
+            // Furthermore, along with each prepared query we keep the current keyspace at the time of preparation
+            // as we need to make it is the same when we re-prepare on new/restarted nodes. Most query will use the
+            // same keyspace so keeping it each time is slightly wasteful, but this doesn't really matter and is
+            // simpler. Besides, we do avoid in prepareAllQueries to not set the current keyspace more than needed.
+
+            // We need to make sure we prepared every query with the right current keyspace, i.e. the one originally
+            // used for preparing it. However, since we are likely that all prepared query belong to only a handful
+            // of different keyspace (possibly only one), and to avoid setting the current keyspace more than needed,
+            // we first sort the query per keyspace (preserving the order of the statements within each keyspace).
+            ListMultimap<String, String> perKeyspace = LinkedListMultimap.create();
+            for (PreparedStatement ps : statements) {
+                // It's possible for a query to not have a current keyspace. But since null doesn't work well as
+                // map keys, we use the empty string instead (that is not a valid keyspace name).
+                String keyspace = ps.getQueryKeyspace() == null ? "" : ps.getQueryKeyspace();
+                perKeyspace.put(keyspace, ps.getQueryString());
+            }
+
+            int maxConcurrent = configuration.getQueryOptions().getMaxConcurrentReprepares();
+            for (String keyspace : perKeyspace.keySet()) {
+                // Empty string mean no particular keyspace to set
+                if (!keyspace.isEmpty())
+                    connection.setKeyspace(keyspace);
+
+                // Bound the number of in-flight requests, so that we neither exhaust the stream ids of the connection
+                // nor flood a node that is just starting up. The requests are pipelined on a single connection rather
+                // than spread over several: the node processes a connection's requests concurrently, so this gives
+                // the same parallelism without opening (and authenticating) extra connections to a node that is
+                // just coming up.
+                Queue<Connection.Future> inFlight = new LinkedList<Connection.Future>();
+                for (String query : perKeyspace.get(keyspace)) {
+                    if (inFlight.size() >= maxConcurrent)
+                        waitForPrepare(inFlight.poll(), pending);
+                    inFlight.add(connection.write(new Requests.Prepare(query)));
+                }
+                while (!inFlight.isEmpty())
+                    waitForPrepare(inFlight.poll(), pending);
+            }
+        }
+
+        private void waitForPrepare(Connection.Future future, AtomicInteger pending) throws InterruptedException {
+            try {
+                future.get();
+                if (metrics != null)
+                    metrics.getRepreparedStatements().inc();
+            } catch (ExecutionException e) {
+                // This "might" happen if we drop a CF but haven't removed it's prepared queries (which we don't do
+                // currently). It's not a big deal however as if it's a more serious problem it'll show up later when
+                // the query is tried for execution.
+                logger.debug("Unexpected error while preparing queries on new/newly up host", e);
+            } finally {
+                pending.decrementAndGet();
             }
         }
 
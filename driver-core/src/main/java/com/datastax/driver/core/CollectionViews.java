@@ -0,0 +1,306 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+
+/**
+ * Read-only views over serialized lists, sets and maps, returned by {@code getListView},
+ * {@code getSetView} and {@code getMapView}.
+ * <p>
+ * The views keep the serialized value, and only decode elements when they are accessed (each
+ * element is decoded at most once). Their size is read from the header of the value, so
+ * {@code size()} and {@code isEmpty()} do not decode anything. Set membership and map lookups use a
+ * hash index built on the first lookup; for key types whose encoding is canonical, the index is
+ * built on serialized keys, so that looking up a few keys of a large map does not decode the other
+ * entries.
+ */
+class CollectionViews {
+
+    private CollectionViews() {}
+
+    static <T> List<T> listView(ByteBuffer bytes, DataType eltType, ProtocolVersion protocolVersion) {
+        return new ListView<T>(new Elements(bytes, protocolVersion, eltType));
+    }
+
+    static <T> Set<T> setView(ByteBuffer bytes, DataType eltType, ProtocolVersion protocolVersion) {
+        return new SetView<T>(new Elements(bytes, protocolVersion, eltType));
+    }
+
+    static <K, V> Map<K, V> mapView(ByteBuffer bytes, DataType keyType, DataType valueType, ProtocolVersion protocolVersion) {
+        return new MapView<K, V>(new Elements(bytes, protocolVersion, keyType, valueType));
+    }
+
+    /**
+     * Whether two values of the given type are equal if and only if their serialized forms are.
+     */
+    private static boolean isByteComparable(DataType type) {
+        switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+            case BIGINT:
+            case COUNTER:
+            case INT:
+            case BOOLEAN:
+            case TIMESTAMP:
+            case UUID:
+            case TIMEUUID:
+            case INET:
+            case BLOB:
+                return true;
+            default:
+                // Floating-point types have several encodings of NaN, varints and decimals can be zero-padded, and
+                // nested types may contain any of these.
+                return false;
+        }
+    }
+
+    /**
+     * The values of a collection. They are located on first access, and decoded when they are
+     * accessed.
+     * <p>
+     * Values are numbered in serialization order: for maps, the key of entry {@code i} is value
+     * {@code 2 * i}, and its value is value {@code 2 * i + 1}.
+     */
+    private static class Elements {
+        private final ByteBuffer bytes;
+        private final ProtocolVersion protocolVersion;
+        // The types of the values of an element: the type of the elements, or of the keys and values for maps
+        private final DataType[] types;
+        private final TypeCodec<Object>[] codecs;
+        // The number of elements (entries for maps)
+        private final int size;
+        private final int headerSize;
+        private final boolean byteComparableKeys;
+
+        // The serialized values, null until the first access
+        private volatile ByteBuffer[] values;
+        // The decoded values, null until the first access
+        private volatile AtomicReferenceArray<Object> decoded;
+        // The position of each key (element for lists and sets), null until the first lookup. Keys are
+        // serialized if they are byte-comparable, decoded otherwise.
+        private volatile Map<Object, Integer> index;
+
+        @SuppressWarnings("unchecked")
+        Elements(ByteBuffer bytes, ProtocolVersion protocolVersion, DataType... types) {
+            this.bytes = bytes;
+            this.protocolVersion = protocolVersion;
+            this.types = types;
+            this.codecs = new TypeCodec[types.length];
+            for (int i = 0; i < types.length; i++)
+                codecs[i] = (TypeCodec<Object>)types[i].codec(protocolVersion);
+            this.byteComparableKeys = isByteComparable(types[0]);
+            try {
+                ByteBuffer input = bytes.duplicate();
+                this.size = TypeCodec.readCollectionSize(input, protocolVersion);
+                this.headerSize = input.position() - bytes.position();
+            } catch (BufferUnderflowException e) {
+                throw new InvalidTypeException("Not enough bytes to deserialize collection");
+            }
+        }
+
+        ByteBuffer serialized(int i) {
+            ByteBuffer[] values = this.values;
+            if (values == null) {
+                values = new ByteBuffer[size * types.length];
+                try {
+                    ByteBuffer input = bytes.duplicate();
+                    input.position(input.position() + headerSize);
+                    for (int j = 0; j < values.length; j++)
+                        values[j] = TypeCodec.readCollectionValue(input, protocolVersion);
+                } catch (BufferUnderflowException e) {
+                    throw new InvalidTypeException("Not enough bytes to deserialize collection");
+                }
+                this.values = values;
+            }
+            return values[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T decoded(int i) {
+            // Racy initialization: worst case, a few arrays get created and some values are decoded twice
+            AtomicReferenceArray<Object> decoded = this.decoded;
+            if (decoded == null)
+                this.decoded = decoded = new AtomicReferenceArray<Object>(size * types.length);
+            Object value = decoded.get(i);
+            if (value == null) {
+                value = codecs[i % types.length].deserialize(serialized(i));
+                decoded.set(i, value);
+            }
+            return (T)value;
+        }
+
+        /**
+         * Returns the index of the element that has the given key (the element itself for lists
+         * and sets), or -1 if there is none.
+         */
+        int indexOf(Object key) {
+            Map<Object, Integer> index = this.index;
+            if (index == null) {
+                // Racy initialization: worst case, the index is built a few times
+                index = new HashMap<Object, Integer>(size * 4 / 3 + 1);
+                for (int i = size - 1; i >= 0; i--) {
+                    int keyIndex = i * types.length;
+                    index.put(byteComparableKeys ? serialized(keyIndex) : decoded(keyIndex), i);
+                }
+                this.index = index;
+            }
+            Object probe = byteComparableKeys ? serialize(key) : key;
+            if (probe == null)
+                return -1;
+            Integer i = index.get(probe);
+            return i == null ? -1 : i;
+        }
+
+        // Serializes a key to compare it with serialized keys, or returns null if it can't be equal to any of them
+        private ByteBuffer serialize(Object key) {
+            if (key == null || !types[0].asJavaClass().isInstance(key))
+                return null;
+            try {
+                return codecs[0].serialize(key);
+            } catch (InvalidTypeException e) {
+                // e.g. a non-ASCII string for an ASCII collection
+                return null;
+            }
+        }
+    }
+
+    private static class ListView<T> extends AbstractList<T> implements RandomAccess {
+        private final Elements elements;
+
+        ListView(Elements elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= elements.size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.size);
+            return elements.decoded(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size;
+        }
+    }
+
+    private static class SetView<T> extends AbstractSet<T> {
+        private final Elements elements;
+
+        SetView(Elements elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new AbstractIterator<T>(elements.size) {
+                @Override
+                T get(int i) {
+                    return elements.decoded(i);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return elements.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return elements.indexOf(o) >= 0;
+        }
+    }
+
+    private static class MapView<K, V> extends AbstractMap<K, V> {
+        private final Elements elements;
+
+        MapView(Elements elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public int size() {
+            return elements.size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return elements.indexOf(key) >= 0;
+        }
+
+        @Override
+        public V get(Object key) {
+            int i = elements.indexOf(key);
+            return i < 0 ? null : elements.<V>decoded(2 * i + 1);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new AbstractIterator<Entry<K, V>>(elements.size) {
+                        @Override
+                        Entry<K, V> get(int i) {
+                            return new SimpleImmutableEntry<K, V>(elements.<K>decoded(2 * i), elements.<V>decoded(2 * i + 1));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return elements.size;
+                }
+            };
+        }
+    }
+
+    private static abstract class AbstractIterator<T> implements Iterator<T> {
+        private final int size;
+        private int next;
+
+        AbstractIterator(int size) {
+            this.size = size;
+        }
+
+        abstract T get(int i);
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (next >= size)
+                throw new NoSuchElementException();
+            return get(next++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
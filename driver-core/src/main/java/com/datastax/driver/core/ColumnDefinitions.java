@@ -243,9 +243,15 @@ public class ColumnDefinitions implements Iterable<ColumnDefinitions.Definition>
             caseSensitive = true;
         }
 
+        if (!caseSensitive) {
+            // Names are usually passed in lower case already, in which case there is no need to convert them
+            int[] indexes = byName.get(name);
+            return indexes != null ? indexes : byName.get(name.toLowerCase());
+        }
+
         int[] indexes = byName.get(name.toLowerCase());
-        if (!caseSensitive || indexes == null)
-            return indexes;
+        if (indexes == null)
+            return null;
 
         // First, optimistic and assume all are matching
         int nbMatch = 0;
@@ -0,0 +1,121 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A column name that remembers its index in the last few {@link ColumnDefinitions} it was
+ * resolved against.
+ * <p>
+ * Accessing a column by name looks the name up in the column definitions of each row. When the
+ * same columns are read from many rows, a handle can be created once and used to get the index of
+ * the column instead:
+ * <pre>
+ *     static final ColumnHandle NAME = ColumnHandle.of("name");
+ *     ...
+ *     for (Row row : resultSet)
+ *         names.add(row.getString(NAME.getIndexOf(row.getColumnDefinitions())));
+ * </pre>
+ * Rows of the same result set, and results of the same prepared statement, share the same column
+ * definitions, so the name is only looked up again when the definitions change. A handle remembers
+ * up to four definitions, so it can be used alternately with several statements that return the
+ * column (for example, when an object mapper reads the same entity with different queries).
+ * <p>
+ * Handles are thread-safe, and follow the same case sensitivity rules as
+ * {@link ColumnDefinitions#getIndexOf(String)}.
+ */
+public final class ColumnHandle {
+
+    private static final int CACHE_SIZE = 4;
+
+    private final String name;
+
+    // Entries are immutable, so that the definitions and the index are always seen together
+    private final AtomicReferenceArray<Resolved> resolved = new AtomicReferenceArray<Resolved>(CACHE_SIZE);
+
+    // The next entry to replace. Races only affect which entry gets replaced.
+    private int victim;
+
+    private ColumnHandle(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a new handle for a column.
+     *
+     * @param name the name of the column (double-quote it to force case sensitivity).
+     * @return the new handle.
+     */
+    public static ColumnHandle of(String name) {
+        if (name == null)
+            throw new NullPointerException("name");
+        return new ColumnHandle(name);
+    }
+
+    /**
+     * Returns the name of the column.
+     *
+     * @return the name of the column, as passed to {@link #of(String)}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the first index of the column in the provided definitions.
+     *
+     * @param definitions the column definitions.
+     * @return the index of the first occurrence of the column in {@code definitions}, -1 if it
+     * is not present.
+     */
+    public int getIndexOf(ColumnDefinitions definitions) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            Resolved r = resolved.get(i);
+            if (r == null)
+                break;
+            if (r.definitions == definitions)
+                return r.index;
+        }
+
+        int index = definitions.findFirstIdx(name);
+        Resolved r = new Resolved(definitions, index);
+        // Fill empty entries first, then replace the oldest one
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if (resolved.compareAndSet(i, null, r))
+                return index;
+        }
+        int v = victim;
+        victim = (v + 1) & (CACHE_SIZE - 1);
+        resolved.set(v, r);
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static class Resolved {
+        final ColumnDefinitions definitions;
+        final int index;
+
+        Resolved(ColumnDefinitions definitions, int index) {
+            this.definitions = definitions;
+            this.index = index;
+        }
+    }
+}
@@ -205,6 +205,40 @@ public abstract class DataType {
         }
     }
 
+    /**
+     * Moves the reader index past an encoded type, without decoding it.
+     */
+    static void skip(ByteBuf buffer) {
+        Name name = Name.fromProtocolId(buffer.readUnsignedShort());
+        switch (name) {
+            case CUSTOM:
+                CBUtil.skipString(buffer);
+                break;
+            case LIST:
+            case SET:
+                skip(buffer);
+                break;
+            case MAP:
+                skip(buffer);
+                skip(buffer);
+                break;
+            case UDT:
+                CBUtil.skipString(buffer);
+                CBUtil.skipString(buffer);
+                int nFields = buffer.readShort() & 0xffff;
+                for (int i = 0; i < nFields; i++) {
+                    CBUtil.skipString(buffer);
+                    skip(buffer);
+                }
+                break;
+            case TUPLE:
+                nFields = buffer.readShort() & 0xffff;
+                for (int i = 0; i < nFields; i++)
+                    skip(buffer);
+                break;
+        }
+    }
+
     abstract TypeCodec<Object> codec(ProtocolVersion protocolVersion);
 
     /**
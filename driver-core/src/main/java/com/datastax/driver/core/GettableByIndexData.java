@@ -284,6 +284,62 @@ public interface GettableByIndexData {
      */
     public <T> Set<T> getSet(int i, TypeToken<T> elementsType);
 
+    /**
+     * Returns the {@code i}th value, a list or set of {@code bigint}, as an array of {@code long}.
+     * <p>
+     * Contrarily to {@link #getList(int, Class)} and {@link #getSet(int, Class)}, this does not box
+     * the elements.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @return the elements of the {@code i}th value. If the value is NULL, an empty array is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type BIGINT.
+     */
+    public long[] getLongArray(int i);
+
+    /**
+     * Returns the {@code i}th value, a list or set of {@code int}, as an array of {@code int}.
+     * <p>
+     * Contrarily to {@link #getList(int, Class)} and {@link #getSet(int, Class)}, this does not box
+     * the elements.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @return the elements of the {@code i}th value. If the value is NULL, an empty array is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type INT.
+     */
+    public int[] getIntArray(int i);
+
+    /**
+     * Returns the {@code i}th value, a list or set of {@code double}, as an array of {@code double}.
+     * <p>
+     * Contrarily to {@link #getList(int, Class)} and {@link #getSet(int, Class)}, this does not box
+     * the elements.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @return the elements of the {@code i}th value. If the value is NULL, an empty array is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type DOUBLE.
+     */
+    public double[] getDoubleArray(int i);
+
+    /**
+     * Returns the {@code i}th value, a list or set of {@code float}, as an array of {@code float}.
+     * <p>
+     * Contrarily to {@link #getList(int, Class)} and {@link #getSet(int, Class)}, this does not box
+     * the elements.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @return the elements of the {@code i}th value. If the value is NULL, an empty array is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type FLOAT.
+     */
+    public float[] getFloatArray(int i);
+
     /**
      * Returns the {@code i}th value as a map.
      * <p>
@@ -330,6 +386,60 @@ public interface GettableByIndexData {
      */
     public <K, V> Map<K, V> getMap(int i, TypeToken<K> keysType, TypeToken<V> valuesType);
 
+    /**
+     * Returns the {@code i}th value as a list, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getList(int, Class)}, which decodes all the elements, this returns a
+     * read-only view that decodes each element on first access. This is cheaper when only a few
+     * elements of a large list are read.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @param elementsClass the class for the elements of the list to retrieve.
+     * @return a view of the list. If the value is NULL, an empty list is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or if its
+     * elements are not of class {@code T}.
+     */
+    public <T> List<T> getListView(int i, Class<T> elementsClass);
+
+    /**
+     * Returns the {@code i}th value as a set, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getSet(int, Class)}, which decodes all the elements, this returns a
+     * read-only view that decodes each element on first access. {@code contains} uses an index
+     * built on first call, on the serialized elements when their encoding allows it.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @param elementsClass the class for the elements of the set to retrieve.
+     * @return a view of the set. If the value is NULL, an empty set is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a set or if its
+     * elements are not of class {@code T}.
+     */
+    public <T> Set<T> getSetView(int i, Class<T> elementsClass);
+
+    /**
+     * Returns the {@code i}th value as a map, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getMap(int, Class, Class)}, which decodes all the entries, this returns
+     * a read-only view that decodes each key and value on first access. Lookups use an index built on
+     * first call, on the serialized keys when their encoding allows it, so that reading a few entries
+     * of a large map does not decode the others.
+     *
+     * @param i the index ({@code 0 <= i < size()}) to retrieve.
+     * @param keysClass the class for the keys of the map to retrieve.
+     * @param valuesClass the class for the values of the map to retrieve.
+     * @return a view of the map. If the value is NULL, an empty map is returned.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a map, if its
+     * keys are not of class {@code K} or if its values are not of
+     * class {@code V}.
+     */
+    public <K, V> Map<K, V> getMapView(int i, Class<K> keysClass, Class<V> valuesClass);
+
     /**
      * Return the {@code i}th value as a UDT value.
      *
@@ -284,6 +284,62 @@ public interface GettableByNameData {
      */
     public <T> Set<T> getSet(String name, TypeToken<T> elementsType);
 
+    /**
+     * Returns the value for {@code name}, a list or set of {@code bigint}, as an array of {@code long}.
+     * <p>
+     * Contrarily to {@link #getList(String, Class)} and {@link #getSet(String, Class)}, this does not box
+     * the elements.
+     *
+     * @param name the name to retrieve.
+     * @return the elements of the value of {@code name}. If the value is NULL, an empty array is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a list or set of type BIGINT.
+     */
+    public long[] getLongArray(String name);
+
+    /**
+     * Returns the value for {@code name}, a list or set of {@code int}, as an array of {@code int}.
+     * <p>
+     * Contrarily to {@link #getList(String, Class)} and {@link #getSet(String, Class)}, this does not box
+     * the elements.
+     *
+     * @param name the name to retrieve.
+     * @return the elements of the value of {@code name}. If the value is NULL, an empty array is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a list or set of type INT.
+     */
+    public int[] getIntArray(String name);
+
+    /**
+     * Returns the value for {@code name}, a list or set of {@code double}, as an array of {@code double}.
+     * <p>
+     * Contrarily to {@link #getList(String, Class)} and {@link #getSet(String, Class)}, this does not box
+     * the elements.
+     *
+     * @param name the name to retrieve.
+     * @return the elements of the value of {@code name}. If the value is NULL, an empty array is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a list or set of type DOUBLE.
+     */
+    public double[] getDoubleArray(String name);
+
+    /**
+     * Returns the value for {@code name}, a list or set of {@code float}, as an array of {@code float}.
+     * <p>
+     * Contrarily to {@link #getList(String, Class)} and {@link #getSet(String, Class)}, this does not box
+     * the elements.
+     *
+     * @param name the name to retrieve.
+     * @return the elements of the value of {@code name}. If the value is NULL, an empty array is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a list or set of type FLOAT.
+     */
+    public float[] getFloatArray(String name);
+
     /**
      * Returns the value for {@code name} as a map.
      * <p>
@@ -329,6 +385,60 @@ public interface GettableByNameData {
      */
     public <K, V> Map<K, V> getMap(String name, TypeToken<K> keysType, TypeToken<V> valuesType);
 
+    /**
+     * Returns the value for {@code name} as a list, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getList(String, Class)}, which decodes all the elements, this returns a
+     * read-only view that decodes each element on first access. This is cheaper when only a few
+     * elements of a large list are read.
+     *
+     * @param name the name to retrieve.
+     * @param elementsClass the class for the elements of the list to retrieve.
+     * @return a view of the list. If the value is NULL, an empty list is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a list or if its
+     * elements are not of class {@code T}.
+     */
+    public <T> List<T> getListView(String name, Class<T> elementsClass);
+
+    /**
+     * Returns the value for {@code name} as a set, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getSet(String, Class)}, which decodes all the elements, this returns a
+     * read-only view that decodes each element on first access. {@code contains} uses an index
+     * built on first call, on the serialized elements when their encoding allows it.
+     *
+     * @param name the name to retrieve.
+     * @param elementsClass the class for the elements of the set to retrieve.
+     * @return a view of the set. If the value is NULL, an empty set is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a set or if its
+     * elements are not of class {@code T}.
+     */
+    public <T> Set<T> getSetView(String name, Class<T> elementsClass);
+
+    /**
+     * Returns the value for {@code name} as a map, decoded lazily.
+     * <p>
+     * Contrarily to {@link #getMap(String, Class, Class)}, which decodes all the entries, this returns
+     * a read-only view that decodes each key and value on first access. Lookups use an index built on
+     * first call, on the serialized keys when their encoding allows it, so that reading a few entries
+     * of a large map does not decode the others.
+     *
+     * @param name the name to retrieve.
+     * @param keysClass the class for the keys of the map to retrieve.
+     * @param valuesClass the class for the values of the map to retrieve.
+     * @return a view of the map. If the value is NULL, an empty map is returned.
+     *
+     * @throws IllegalArgumentException if {@code name} is not valid name for this object.
+     * @throws InvalidTypeException if value {@code name} is not a map, if its
+     * keys are not of class {@code K} or if its values are not of
+     * class {@code V}.
+     */
+    public <K, V> Map<K, V> getMapView(String name, Class<K> keysClass, Class<V> valuesClass);
+
     /**
      * Return the value for {@code name} as a UDT value.
      *
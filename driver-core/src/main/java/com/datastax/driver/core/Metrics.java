@@ -17,6 +17,7 @@ package com.datastax.driver.core;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.codahale.metrics.*;
 
@@ -100,6 +101,18 @@ public class Metrics {
         }
     });
 
+    private final Counter repreparedStatements = registry.counter("reprepared-statements");
+
+    private final Gauge<Integer> pendingReprepares = registry.register("pending-reprepares", new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+            int value = 0;
+            for (AtomicInteger pending : manager.pendingReprepares.values())
+                value += pending.get();
+            return value;
+        }
+    });
+
     private final Gauge<Integer> taskSchedulerQueueSize = registry.register("task-scheduler-task-count", new Gauge<Integer>() {
         @Override
         public Integer getValue() {
@@ -258,6 +271,47 @@ public class Metrics {
         return taskSchedulerQueueSize;
     }
 
+    /**
+     * Returns the number of statements that were successfully re-prepared on nodes that came up
+     * (see {@link QueryOptions#setReprepareOnUp(boolean)}).
+     *
+     * @return the number of re-prepared statements.
+     */
+    public Counter getRepreparedStatements() {
+        return repreparedStatements;
+    }
+
+    /**
+     * Returns the number of statements that remain to be re-prepared on nodes that came up,
+     * across all nodes.
+     *
+     * @return the number of pending re-preparations.
+     */
+    public Gauge<Integer> getPendingReprepares() {
+        return pendingReprepares;
+    }
+
+    /**
+     * Returns the number of statements that remain to be re-prepared on a given node.
+     * <p>
+     * This is {@code 0} unless the node recently came up and statements are being re-prepared
+     * on it. Note that the returned gauge is not part of the {@link #getRegistry() registry}.
+     *
+     * @param host the node.
+     * @return the number of pending re-preparations on {@code host}.
+     *
+     * @see QueryOptions#setMaxEagerReprepares(int)
+     */
+    public Gauge<Integer> getPendingReprepares(final Host host) {
+        return new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                AtomicInteger pending = manager.pendingReprepares.get(host);
+                return pending == null ? 0 : pending.get();
+            }
+        };
+    }
+
     void shutdown() {
         if (jmxReporter != null)
             jmxReporter.stop();
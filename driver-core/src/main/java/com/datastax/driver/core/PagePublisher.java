@@ -0,0 +1,292 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Publishes the pages of a query result to a subscriber, fetching pages on demand.
+ * <p>
+ * This provides non-blocking, backpressured consumption of a (possibly multi-page) result: the
+ * subscriber {@link Subscription#request(long) requests} a number of pages, and the next page is
+ * only fetched from Cassandra when there is outstanding demand for it. No thread ever blocks on a
+ * page boundary.
+ * <p>
+ * The {@link Subscriber} and {@link Subscription} interfaces follow the semantics of the
+ * <a href="http://www.reactive-streams.org">Reactive Streams</a> specification (signals to a
+ * subscriber are serialized, {@code request} can be called re-entrantly from {@code onPage}, etc.),
+ * so adapting this class to a Reactive Streams {@code Publisher<List<Row>>} is straightforward.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * new PagePublisher(session.executeAsync(statement)).subscribe(new PagePublisher.Subscriber() {
+ *     private PagePublisher.Subscription subscription;
+ *     public void onSubscribe(PagePublisher.Subscription s) { subscription = s; s.request(1); }
+ *     public void onPage(List<Row> rows) { process(rows); subscription.request(1); }
+ *     public void onError(Throwable t) { ... }
+ *     public void onComplete() { ... }
+ * });
+ * }
+ * </pre>
+ * <p>
+ * Since a {@link ResultSet} can only be iterated once, a publisher only accepts a single subscriber.
+ */
+public class PagePublisher {
+
+    private final ListenableFuture<ResultSet> future;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a new publisher that signals its subscriber on the thread that completes each fetch
+     * (typically a driver I/O thread).
+     * <p>
+     * Subscribers should therefore never block in their callbacks; use
+     * {@link #PagePublisher(ListenableFuture, Executor)} otherwise.
+     *
+     * @param future the future on the first page of the result, as returned by
+     * {@link Session#executeAsync(Statement)}.
+     */
+    public PagePublisher(ListenableFuture<ResultSet> future) {
+        this(future, MoreExecutors.sameThreadExecutor());
+    }
+
+    /**
+     * Creates a new publisher that signals its subscriber on the given executor.
+     *
+     * @param future the future on the first page of the result, as returned by
+     * {@link Session#executeAsync(Statement)}.
+     * @param executor the executor on which to signal the subscriber when a page is received.
+     */
+    public PagePublisher(ListenableFuture<ResultSet> future, Executor executor) {
+        this.future = future;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to the pages of the result.
+     *
+     * @param subscriber the subscriber. If this publisher already has a subscriber, it will
+     * immediately receive an {@link IllegalStateException} through {@link Subscriber#onError}.
+     */
+    public void subscribe(Subscriber subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("subscriber");
+
+        PageSubscription subscription = new PageSubscription(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(subscription);
+            subscription.fail(new IllegalStateException("This publisher only accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+        Futures.addCallback(future, subscription.fetchCallback(null), executor);
+    }
+
+    /**
+     * Receives the pages published by a {@link PagePublisher}.
+     * <p>
+     * Calls to the methods of this interface are never concurrent.
+     */
+    public interface Subscriber {
+
+        /**
+         * Called once, before any other method, when the subscriber is subscribed.
+         *
+         * @param subscription the subscription, used to request pages.
+         */
+        public void onSubscribe(Subscription subscription);
+
+        /**
+         * Called for each requested page.
+         * <p>
+         * If this method throws, the subscription is cancelled, and the exception is passed to
+         * {@link #onError(Throwable)}.
+         *
+         * @param rows the rows of the page. Note that when pages have been fetched ahead
+         * (see {@link QueryOptions#setPrefetchThreshold(float)}), this contains all the rows
+         * that were available without fetching.
+         */
+        public void onPage(List<Row> rows);
+
+        /**
+         * Called if the query or a page fetch fails, or if {@link #onPage(List)} throws. No other
+         * method is called afterwards.
+         *
+         * @param t the error.
+         */
+        public void onError(Throwable t);
+
+        /**
+         * Called once all the pages have been published. No other method is called afterwards.
+         * <p>
+         * Note that this can be called without any outstanding demand.
+         */
+        public void onComplete();
+    }
+
+    /**
+     * The link between a {@link PagePublisher} and its {@link Subscriber}.
+     */
+    public interface Subscription {
+
+        /**
+         * Requests more pages. Pages are fetched from Cassandra as long as there is outstanding
+         * demand.
+         *
+         * @param n the number of additional pages to publish. If it is not strictly positive,
+         * the subscriber receives an {@link IllegalArgumentException} through {@link Subscriber#onError}.
+         */
+        public void request(long n);
+
+        /**
+         * Stops publishing pages. Pages that are being fetched might still arrive, but they are
+         * not published.
+         */
+        public void cancel();
+    }
+
+    private class PageSubscription implements Subscription {
+        private final Subscriber subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+        // Serializes the drain loop: only the thread that increments it from 0 runs the loop.
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile ResultSet rs;
+        private volatile Throwable error;
+        private volatile boolean fetching = true;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        PageSubscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested number of pages must be strictly positive, got " + n));
+                return;
+            }
+            long current, updated;
+            do {
+                current = requested.get();
+                updated = current + n;
+                if (updated < 0)
+                    updated = Long.MAX_VALUE;
+            } while (!requested.compareAndSet(current, updated));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void fail(Throwable t) {
+            error = t;
+            drain();
+        }
+
+        FutureCallback<Object> fetchCallback(final ResultSet fetched) {
+            return new FutureCallback<Object>() {
+                @Override
+                public void onSuccess(Object result) {
+                    if (rs == null)
+                        rs = (fetched == null) ? (ResultSet)result : fetched;
+                    fetching = false;
+                    drain();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    fetching = false;
+                    fail(t);
+                }
+            };
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+            do {
+                if (!terminated && !cancelled)
+                    emit();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void emit() {
+            if (error != null) {
+                terminated = true;
+                subscriber.onError(error);
+                return;
+            }
+
+            ResultSet rs = this.rs;
+            if (rs == null)
+                return;
+
+            while (!cancelled) {
+                int available = rs.getAvailableWithoutFetching();
+                if (available == 0) {
+                    if (rs.isFullyFetched()) {
+                        terminated = true;
+                        subscriber.onComplete();
+                    } else if (requested.get() > 0 && !fetching) {
+                        fetching = true;
+                        Futures.addCallback(rs.fetchMoreResults(), fetchCallback(rs), executor);
+                    }
+                    return;
+                }
+                if (requested.get() == 0)
+                    return;
+
+                List<Row> rows = new ArrayList<Row>(available);
+                for (int i = 0; i < available; i++)
+                    rows.add(rs.one());
+                requested.decrementAndGet();
+                try {
+                    subscriber.onPage(rows);
+                } catch (Throwable t) {
+                    // Don't let the exception escape the drain loop, wip would never get back to 0
+                    cancelled = true;
+                    terminated = true;
+                    subscriber.onError(t);
+                    return;
+                }
+
+                if (error != null) {
+                    // request() was called with an invalid argument from onPage
+                    terminated = true;
+                    subscriber.onError(error);
+                    return;
+                }
+            }
+        }
+    }
+}
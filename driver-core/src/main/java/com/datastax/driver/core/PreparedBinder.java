@@ -0,0 +1,203 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+
+/**
+ * Binds values to the variables of a prepared statement (see {@link BoundStatement#bind(Object...)}).
+ * <p>
+ * Everything that only depends on the variables (their type, the expected Java class and the codec
+ * to use) is computed once per prepared statement. Besides, values of fixed-size types are not
+ * serialized in a buffer each, but all written in a single buffer per bind.
+ */
+class PreparedBinder {
+
+    private final DataType[] types;
+    private final TypeCodec<Object>[] codecs;
+    // For collections, the expected class of the elements (keys for maps); otherwise, of the value
+    private final Class<?>[] expectedClasses;
+    // For maps, the expected class of the values
+    private final Class<?>[] expectedValueClasses;
+    // The serialized size of values of fixed-size types, 0 for other types
+    private final int[] fixedSizes;
+
+    @SuppressWarnings("unchecked")
+    PreparedBinder(ColumnDefinitions variables, ProtocolVersion protocolVersion) {
+        int size = variables.size();
+        this.types = new DataType[size];
+        this.codecs = new TypeCodec[size];
+        this.expectedClasses = new Class<?>[size];
+        this.expectedValueClasses = new Class<?>[size];
+        this.fixedSizes = new int[size];
+        for (int i = 0; i < size; i++) {
+            DataType type = variables.getType(i);
+            types[i] = type;
+            codecs[i] = type.codec(protocolVersion);
+            switch (type.getName()) {
+                case LIST:
+                    expectedClasses[i] = type.getTypeArguments().get(0).asJavaClass();
+                    break;
+                case SET:
+                    expectedClasses[i] = type.getTypeArguments().get(0).getName().javaType;
+                    break;
+                case MAP:
+                    expectedClasses[i] = type.getTypeArguments().get(0).getName().javaType;
+                    expectedValueClasses[i] = type.getTypeArguments().get(1).getName().javaType;
+                    break;
+                default:
+                    expectedClasses[i] = type.getName().javaType;
+                    fixedSizes[i] = fixedSize(type.getName());
+            }
+        }
+    }
+
+    private static int fixedSize(DataType.Name name) {
+        switch (name) {
+            case INT:
+            case FLOAT:
+                return 4;
+            case BIGINT:
+            case COUNTER:
+            case DOUBLE:
+            case TIMESTAMP:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    void bind(ByteBuffer[] serialized, Object... values) {
+        if (values.length > types.length)
+            throw new IllegalArgumentException(String.format("Prepared statement has only %d variables, %d values provided", types.length, values.length));
+
+        // Serialize in a separate array, so that the statement is left untouched if one of the values is invalid
+        ByteBuffer[] result = new ByteBuffer[values.length];
+        int fixedSize = 0;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null)
+                continue;
+            value = validate(i, value);
+            if (fixedSizes[i] > 0)
+                fixedSize += fixedSizes[i];
+            else
+                result[i] = codecs[i].serialize(value);
+        }
+
+        if (fixedSize > 0)
+            writeFixedSizeValues(result, fixedSize, values);
+        System.arraycopy(result, 0, serialized, 0, values.length);
+    }
+
+    private void writeFixedSizeValues(ByteBuffer[] serialized, int fixedSize, Object[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(fixedSize);
+        for (int i = 0; i < values.length; i++) {
+            if (fixedSizes[i] == 0 || values[i] == null)
+                continue;
+            Object value = values[i];
+            if (value instanceof Token)
+                value = ((Token)value).getValue();
+
+            int start = buffer.position();
+            switch (types[i].getName()) {
+                case INT:
+                    buffer.putInt((Integer)value);
+                    break;
+                case FLOAT:
+                    buffer.putFloat((Float)value);
+                    break;
+                case BIGINT:
+                case COUNTER:
+                    buffer.putLong((Long)value);
+                    break;
+                case DOUBLE:
+                    buffer.putDouble((Double)value);
+                    break;
+                case TIMESTAMP:
+                    buffer.putLong(((Date)value).getTime());
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+            // Slice the value out of the shared buffer, then move past it
+            int end = buffer.position();
+            buffer.position(start);
+            buffer.limit(end);
+            serialized[i] = buffer.slice();
+            buffer.limit(buffer.capacity());
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Checks that a (non null) value matches the type of its variable.
+     *
+     * @return the value to serialize.
+     */
+    private Object validate(int i, Object value) {
+        DataType type = types[i];
+        switch (type.getName()) {
+            case LIST:
+                if (!(value instanceof List))
+                    throw new InvalidTypeException(String.format("Invalid type for value %d, column is a list but %s provided", i, value.getClass()));
+
+                List<?> l = (List<?>)value;
+                // If the list is empty, it will never fail validation, but otherwise we should check the list given if of the right type
+                if (!l.isEmpty()) {
+                    Class<?> providedClass = l.get(0).getClass();
+                    if (!expectedClasses[i].isAssignableFrom(providedClass))
+                        throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting list of %s but provided list of %s", i, type, expectedClasses[i], providedClass));
+                }
+                return value;
+            case SET:
+                if (!(value instanceof Set))
+                    throw new InvalidTypeException(String.format("Invalid type for value %d, column is a set but %s provided", i, value.getClass()));
+
+                Set<?> s = (Set<?>)value;
+                if (!s.isEmpty()) {
+                    Class<?> providedClass = s.iterator().next().getClass();
+                    if (!expectedClasses[i].isAssignableFrom(providedClass))
+                        throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting set of %s but provided set of %s", i, type, expectedClasses[i], providedClass));
+                }
+                return value;
+            case MAP:
+                if (!(value instanceof Map))
+                    throw new InvalidTypeException(String.format("Invalid type for value %d, column is a map but %s provided", i, value.getClass()));
+
+                Map<?, ?> m = (Map<?, ?>)value;
+                if (!m.isEmpty()) {
+                    Map.Entry<?, ?> entry = m.entrySet().iterator().next();
+                    Class<?> providedKeysClass = entry.getKey().getClass();
+                    Class<?> providedValuesClass = entry.getValue().getClass();
+                    if (!expectedClasses[i].isAssignableFrom(providedKeysClass) || !expectedValueClasses[i].isAssignableFrom(providedValuesClass))
+                        throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting map of %s->%s but provided set of %s->%s", i, type, expectedClasses[i], expectedValueClasses[i], providedKeysClass, providedValuesClass));
+                }
+                return value;
+            default:
+                if (value instanceof Token)
+                    value = ((Token)value).getValue();
+
+                Class<?> providedClass = value.getClass();
+                if (!expectedClasses[i].isAssignableFrom(providedClass))
+                    throw new InvalidTypeException(String.format("Invalid type for value %d of CQL type %s, expecting %s but %s provided", i, type, expectedClasses[i], providedClass));
+                return value;
+        }
+    }
+}
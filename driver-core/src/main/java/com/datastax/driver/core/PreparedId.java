@@ -15,6 +15,8 @@
  */
 package com.datastax.driver.core;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  * Identifies a PreparedStatement.
  */
@@ -30,6 +32,16 @@ public class PreparedId
     final int[] routingKeyIndexes;
     final ProtocolVersion protocolVersion;
 
+    // Number of cells that execution counts are striped over, so that the threads executing the same statement
+    // don't all contend on one counter. Must be a power of two.
+    static final int EXECUTION_STRIPES = 8;
+
+    // How many times the statement was executed, striped by thread. It is only a hint used to re-prepare the
+    // most used statements first when a node comes up.
+    private final AtomicLongArray executions = new AtomicLongArray(EXECUTION_STRIPES);
+
+    private volatile PreparedBinder binder;
+
     PreparedId(MD5Digest id, ColumnDefinitions metadata, ColumnDefinitions resultSetMetadata, int[] routingKeyIndexes, ProtocolVersion protocolVersion)
     {
         this.id = id;
@@ -38,4 +50,23 @@ public class PreparedId
         this.routingKeyIndexes = routingKeyIndexes;
         this.protocolVersion = protocolVersion;
     }
+
+    void recordExecution() {
+        executions.incrementAndGet((int)Thread.currentThread().getId() & (EXECUTION_STRIPES - 1));
+    }
+
+    long executions() {
+        long sum = 0;
+        for (int i = 0; i < EXECUTION_STRIPES; i++)
+            sum += executions.get(i);
+        return sum;
+    }
+
+    PreparedBinder binder() {
+        // Racy initialization: worst case, a few binders get created and all but one are dropped
+        PreparedBinder result = binder;
+        if (result == null)
+            binder = result = new PreparedBinder(metadata, protocolVersion);
+        return result;
+    }
 }
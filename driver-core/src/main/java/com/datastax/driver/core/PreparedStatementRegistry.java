@@ -0,0 +1,359 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.exceptions.AuthenticationException;
+
+/**
+ * Records the statements prepared by a cluster in a local file, so that they can be prepared
+ * again as soon as the next cluster instance using that file is initialized (see
+ * {@link QueryOptions#setPreparedStatementRegistry(File)}).
+ * <p>
+ * The file contains one line per statement, with the keyspace (empty if none) and the query
+ * string separated by a tab. New statements are appended as they get prepared, and the file is
+ * rewritten with the {@link QueryOptions#getMaxRecordedStatements() most recently used} statements
+ * when the cluster is closed, or when too many lines were appended.
+ */
+class PreparedStatementRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedStatementRegistry.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private final Cluster.Manager manager;
+    private final int maxStatements;
+
+    // The statements to keep in the file, from the least to the most recently used. Guarded by itself
+    // (and not by this, which is held during file operations, since statements are recorded from I/O threads).
+    private final LinkedHashMap<Key, Boolean> recorded;
+    // The number of lines in the file, to know when to rewrite it. Guarded by this.
+    private int lines;
+    // Don't rewrite a file that we could not read. Guarded by this.
+    private boolean loadFailed;
+
+    private final Queue<Key> toWrite = new ConcurrentLinkedQueue<Key>();
+
+    // The statements prepared during warm-up. We keep strong references to them (contrarily to
+    // Cluster.Manager#preparedQueries) so that they are still there when sessions first prepare them,
+    // and release them as soon as a session has cached them.
+    private final ConcurrentMap<Key, PreparedStatement> warmStatements = new ConcurrentHashMap<Key, PreparedStatement>();
+
+    PreparedStatementRegistry(File file, Cluster.Manager manager) {
+        this.file = file;
+        this.manager = manager;
+        this.maxStatements = manager.configuration.getQueryOptions().getMaxRecordedStatements();
+        this.recorded = new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > maxStatements;
+            }
+        };
+    }
+
+    /**
+     * Returns the statement prepared for the given query and keyspace during warm-up, if any.
+     * The registry does not reference it anymore after this call, the caller is expected to cache it.
+     */
+    PreparedStatement takeWarmStatement(String query, String keyspace) {
+        Key key = new Key(query, keyspace);
+        PreparedStatement statement = warmStatements.remove(key);
+        if (statement != null) {
+            synchronized (recorded) {
+                recorded.put(key, Boolean.TRUE);
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Records a newly prepared statement. The file is updated asynchronously.
+     */
+    void record(PreparedStatement statement) {
+        Key key = new Key(statement.getQueryString(), statement.getQueryKeyspace());
+        synchronized (recorded) {
+            // Also marks the statement as the most recently used one if it was already there
+            if (recorded.put(key, Boolean.TRUE) != null)
+                return;
+        }
+        toWrite.add(key);
+        try {
+            manager.blockingExecutor.submit(new ExceptionCatchingRunnable() {
+                @Override
+                public void runMayThrow() throws Exception {
+                    flush();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The cluster is shutting down, the statement will be written by the next flush if any
+        }
+    }
+
+    /**
+     * Rewrites the file with the most recently used statements. Called when the cluster shuts down.
+     */
+    synchronized void close() {
+        try {
+            if (loadFailed)
+                flush();
+            else
+                rewrite();
+        } catch (IOException e) {
+            logger.warn(String.format("Could not record prepared statements to %s", file), e);
+        }
+    }
+
+    private synchronized void flush() throws IOException {
+        if (toWrite.isEmpty())
+            return;
+        // Appending is cheaper, but don't let the file grow indefinitely until the cluster is closed
+        if (!loadFailed && lines + toWrite.size() > 2 * maxStatements) {
+            rewrite();
+            return;
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), UTF_8);
+        try {
+            Key key;
+            while ((key = toWrite.poll()) != null) {
+                write(key, writer);
+                lines += 1;
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private synchronized void rewrite() throws IOException {
+        toWrite.clear();
+        List<Key> keys;
+        synchronized (recorded) {
+            keys = new ArrayList<Key>(recorded.keySet());
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), UTF_8);
+        try {
+            for (Key key : keys)
+                write(key, writer);
+        } finally {
+            writer.close();
+        }
+        // renameTo does not replace an existing file on all platforms
+        if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file)))
+            throw new IOException("Could not rename " + tmp + " to " + file);
+        lines = keys.size();
+    }
+
+    private static void write(Key key, Writer writer) throws IOException {
+        writer.write(escape(key.keyspace == null ? "" : key.keyspace));
+        writer.write('\t');
+        writer.write(escape(key.query));
+        writer.write('\n');
+    }
+
+    /**
+     * Prepares all the statements of the file on all the hosts that are up, in the background.
+     */
+    void warmUp() {
+        final ListMultimap<String, String> perKeyspace;
+        try {
+            perKeyspace = load();
+        } catch (IOException e) {
+            logger.warn(String.format("Could not read prepared statements from %s, skipping warm-up", file), e);
+            return;
+        }
+        if (perKeyspace.isEmpty())
+            return;
+
+        logger.debug("Preparing {} statements from {}", perKeyspace.size(), file);
+        for (final Host host : manager.metadata.allHosts()) {
+            if (!host.isUp() || manager.loadBalancingPolicy().distance(host) == HostDistance.IGNORED)
+                continue;
+            manager.blockingExecutor.submit(new ExceptionCatchingRunnable() {
+                @Override
+                public void runMayThrow() throws Exception {
+                    warmUp(host, perKeyspace);
+                }
+            });
+        }
+    }
+
+    private void warmUp(Host host, ListMultimap<String, String> perKeyspace) throws InterruptedException {
+        Connection connection = null;
+        try {
+            connection = manager.connectionFactory.open(host);
+            int maxConcurrent = manager.configuration.getQueryOptions().getMaxConcurrentReprepares();
+            for (String keyspace : perKeyspace.keySet()) {
+                if (!keyspace.isEmpty())
+                    connection.setKeyspace(keyspace);
+
+                // As for re-preparation, bound the number of in-flight requests
+                Queue<Connection.Future> inFlight = new LinkedList<Connection.Future>();
+                Queue<String> queries = new LinkedList<String>();
+                for (String query : perKeyspace.get(keyspace)) {
+                    if (inFlight.size() >= maxConcurrent)
+                        onPrepared(inFlight.poll(), queries.poll(), keyspace);
+                    inFlight.add(connection.write(new Requests.Prepare(query)));
+                    queries.add(query);
+                }
+                while (!inFlight.isEmpty())
+                    onPrepared(inFlight.poll(), queries.poll(), keyspace);
+            }
+        } catch (UnsupportedProtocolVersionException e) {
+            logger.debug("Error while preparing statements on {}, skipping warm-up for this host", host, e);
+        } catch (ClusterNameMismatchException e) {
+            logger.debug("Error while preparing statements on {}, skipping warm-up for this host", host, e);
+        } catch (ConnectionException e) {
+            logger.debug("Error while preparing statements on {}, skipping warm-up for this host", host, e);
+        } catch (AuthenticationException e) {
+            logger.debug("Error while preparing statements on {}, skipping warm-up for this host", host, e);
+        } catch (BusyConnectionException e) {
+            logger.debug("Error while preparing statements on {}, skipping warm-up for this host", host, e);
+        } finally {
+            if (connection != null)
+                connection.closeAsync();
+        }
+    }
+
+    private void onPrepared(Connection.Future future, String query, String keyspace) throws InterruptedException {
+        Message.Response response;
+        try {
+            response = future.get();
+        } catch (ExecutionException e) {
+            // The statement might not be valid anymore (e.g. its table was dropped), ignore it
+            logger.debug("Unexpected error while preparing {}", query, e);
+            return;
+        }
+        if (response.type != Message.Response.Type.RESULT || ((Responses.Result)response).kind != Responses.Result.Kind.PREPARED) {
+            logger.debug("Unexpected response while preparing {}: {}", query, response);
+            return;
+        }
+
+        Key key = new Key(query, keyspace.isEmpty() ? null : keyspace);
+        if (warmStatements.containsKey(key))
+            return;
+        PreparedStatement statement = DefaultPreparedStatement.fromMessage((Responses.Result.Prepared)response,
+            manager.metadata, manager.protocolVersion(), key.query, key.keyspace);
+        statement = manager.addPrepared(statement);
+        warmStatements.putIfAbsent(key, statement);
+    }
+
+    private synchronized ListMultimap<String, String> load() throws IOException {
+        ListMultimap<String, String> perKeyspace = LinkedListMultimap.create();
+        if (!file.exists())
+            return perKeyspace;
+
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+        } catch (IOException e) {
+            loadFailed = true;
+            throw e;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines += 1;
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    logger.debug("Ignoring malformed line in {}: {}", file, line);
+                    continue;
+                }
+                String keyspace = unescape(line.substring(0, tab));
+                String query = unescape(line.substring(tab + 1));
+                // The file may contain duplicates if several clusters shared it. Lines are ordered
+                // from the least to the most recently used, and only the last ones are kept.
+                synchronized (recorded) {
+                    recorded.put(new Key(query, keyspace.isEmpty() ? null : keyspace), Boolean.TRUE);
+                }
+            }
+        } catch (IOException e) {
+            loadFailed = true;
+            throw e;
+        } finally {
+            reader.close();
+        }
+        synchronized (recorded) {
+            for (Key key : recorded.keySet())
+                perKeyspace.put(key.keyspace == null ? "" : key.keyspace, key.query);
+        }
+        return perKeyspace;
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0)
+            return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char next = s.charAt(++i);
+                switch (next) {
+                    case 't': sb.append('\t'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    default: sb.append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static class Key {
+        final String query;
+        final String keyspace;
+
+        Key(String query, String keyspace) {
+            this.query = query;
+            this.keyspace = keyspace;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this)
+                return true;
+            if (!(other instanceof Key))
+                return false;
+            Key that = (Key)other;
+            return this.query.equals(that.query) && Objects.equal(this.keyspace, that.keyspace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(query, keyspace);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.datastax.driver.core;
 
+import java.io.File;
+
 import com.datastax.driver.core.exceptions.UnsupportedFeatureException;
 
 /**
@@ -42,6 +44,38 @@ public class QueryOptions {
      */
     public static final boolean DEFAULT_IDEMPOTENCE = false;
 
+    /**
+     * The default value for {@link #getFetchSizeInBytes()}: {@code 0}, i.e. pages are only bounded by
+     * their number of rows.
+     */
+    public static final int DEFAULT_FETCH_SIZE_IN_BYTES = 0;
+
+    /**
+     * The default value for {@link #getPrefetchThreshold()}: {@code 0}, i.e. prefetching is disabled.
+     */
+    public static final float DEFAULT_PREFETCH_THRESHOLD = 0;
+
+    /**
+     * The default value for {@link #getMaxPrefetchBytes()}: 8MB.
+     */
+    public static final int DEFAULT_MAX_PREFETCH_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * The default value for {@link #getMaxConcurrentReprepares()}: {@code 32}.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REPREPARES = 32;
+
+    /**
+     * The default value for {@link #getMaxEagerReprepares()}: {@code Integer.MAX_VALUE}, i.e. all
+     * statements are re-prepared before a node is marked up.
+     */
+    public static final int DEFAULT_MAX_EAGER_REPREPARES = Integer.MAX_VALUE;
+
+    /**
+     * The default value for {@link #getMaxRecordedStatements()}: {@code 5000}.
+     */
+    public static final int DEFAULT_MAX_RECORDED_STATEMENTS = 5000;
+
     public static final int DEFAULT_MAX_PENDING_REFRESH_NODE_LIST_REQUESTS = 20;
 
     public static final int DEFAULT_MAX_PENDING_REFRESH_NODE_REQUESTS = 20;
@@ -58,6 +92,9 @@ public class QueryOptions {
     private volatile ConsistencyLevel serialConsistency = DEFAULT_SERIAL_CONSISTENCY_LEVEL;
     private volatile int fetchSize = DEFAULT_FETCH_SIZE;
     private volatile boolean defaultIdempotence = DEFAULT_IDEMPOTENCE;
+    private volatile int fetchSizeInBytes = DEFAULT_FETCH_SIZE_IN_BYTES;
+    private volatile float prefetchThreshold = DEFAULT_PREFETCH_THRESHOLD;
+    private volatile int maxPrefetchBytes = DEFAULT_MAX_PREFETCH_BYTES;
 
     private volatile boolean metadataEnabled = true;
 
@@ -70,6 +107,10 @@ public class QueryOptions {
     private volatile int refreshSchemaIntervalMillis = DEFAULT_REFRESH_SCHEMA_INTERVAL_MILLIS;
 
     private volatile boolean reprepareOnUp = true;
+    private volatile int maxConcurrentReprepares = DEFAULT_MAX_CONCURRENT_REPREPARES;
+    private volatile int maxEagerReprepares = DEFAULT_MAX_EAGER_REPREPARES;
+    private volatile File preparedStatementRegistry;
+    private volatile int maxRecordedStatements = DEFAULT_MAX_RECORDED_STATEMENTS;
     private volatile Cluster.Manager manager;
     private volatile boolean prepareOnAllHosts = true;
 
@@ -170,6 +211,112 @@ public class QueryOptions {
         return fetchSize;
     }
 
+    /**
+     * Sets the target size of result pages, in bytes.
+     * <p>
+     * The native protocol only allows bounding pages by a number of rows (the fetch size), which
+     * makes it hard to pick a good value when the size of rows varies a lot: a fetch size suited
+     * to small rows can produce huge pages with wide rows. If this option is strictly positive, the
+     * fetch size of the second and subsequent pages of a result set is adapted so that they contain
+     * approximately this amount of data, based on the average size of the rows received so far. The
+     * fetch size is never raised above the one of the statement (or the default fetch size), which
+     * still applies to the first page.
+     *
+     * @param fetchSizeInBytes the target size of pages, or {@code 0} to only bound pages by their
+     * number of rows.
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code fetchSizeInBytes &lt; 0}.
+     */
+    public QueryOptions setFetchSizeInBytes(int fetchSizeInBytes) {
+        if (fetchSizeInBytes < 0)
+            throw new IllegalArgumentException("Invalid fetchSizeInBytes, should be >= 0, got " + fetchSizeInBytes);
+        this.fetchSizeInBytes = fetchSizeInBytes;
+        return this;
+    }
+
+    /**
+     * The target size of result pages, in bytes.
+     *
+     * @return the target size of pages, or {@code 0} if pages are only bounded by their number of rows.
+     *
+     * @see #setFetchSizeInBytes(int)
+     */
+    public int getFetchSizeInBytes() {
+        return fetchSizeInBytes;
+    }
+
+    /**
+     * Sets the threshold under which result sets prefetch their next page in the background.
+     * <p>
+     * By default, a multi-page {@link ResultSet} only fetches its next page when the current one
+     * is exhausted (or when {@link ResultSet#fetchMoreResults()} is called explicitly), which means
+     * that iterating over it blocks on a full round trip at each page boundary. If this threshold
+     * is strictly positive, the next page is requested as soon as the fraction of rows remaining in
+     * the current page drops to this value or below. For example, with a threshold of {@code 0.2},
+     * the next page is requested when less than 20% of the rows of the current page remain.
+     * <p>
+     * At most one page is prefetched ahead of the one being iterated, and no page is prefetched if
+     * the pages that the result set holds in memory (the one being iterated, whose size counts
+     * until it is exhausted, and any page already fetched ahead) add up to
+     * {@link #getMaxPrefetchBytes()} or more. Since a page is only prefetched when none is ahead,
+     * this is in practice the size of the current page.
+     *
+     * @param prefetchThreshold the new threshold, between 0 (prefetching disabled) and 1 (prefetch
+     * as soon as a page is available).
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code prefetchThreshold} is not between 0 and 1.
+     */
+    public QueryOptions setPrefetchThreshold(float prefetchThreshold) {
+        if (prefetchThreshold < 0 || prefetchThreshold > 1)
+            throw new IllegalArgumentException("Invalid prefetchThreshold, should be between 0 and 1, got " + prefetchThreshold);
+        this.prefetchThreshold = prefetchThreshold;
+        return this;
+    }
+
+    /**
+     * The threshold under which result sets prefetch their next page in the background.
+     *
+     * @return the prefetch threshold.
+     *
+     * @see #setPrefetchThreshold(float)
+     */
+    public float getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    /**
+     * Sets the maximum amount of result data, in bytes, that a result set can buffer before
+     * it stops prefetching pages (see {@link #setPrefetchThreshold(float)} for how it is measured).
+     * <p>
+     * This only applies to background prefetching (see {@link #setPrefetchThreshold(float)});
+     * pages requested explicitly, or because the current page is exhausted, are always fetched.
+     *
+     * @param maxPrefetchBytes the new maximum.
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code maxPrefetchBytes &lt; 0}.
+     */
+    public QueryOptions setMaxPrefetchBytes(int maxPrefetchBytes) {
+        if (maxPrefetchBytes < 0)
+            throw new IllegalArgumentException("Invalid maxPrefetchBytes, should be >= 0, got " + maxPrefetchBytes);
+        this.maxPrefetchBytes = maxPrefetchBytes;
+        return this;
+    }
+
+    /**
+     * The maximum amount of result data, in bytes, that a result set can buffer before it
+     * stops prefetching pages.
+     *
+     * @return the maximum.
+     *
+     * @see #setMaxPrefetchBytes(int)
+     */
+    public int getMaxPrefetchBytes() {
+        return maxPrefetchBytes;
+    }
+
     /**
      * Sets the default idempotence for queries.
      * <p>
@@ -273,6 +420,139 @@ public class QueryOptions {
         return this.reprepareOnUp;
     }
 
+    /**
+     * Sets the maximum number of PREPARE requests that can be in flight at the same time when
+     * re-preparing statements on a node (see {@link #setReprepareOnUp(boolean)}).
+     * <p>
+     * Statements are re-prepared in parallel, by pipelining PREPARE requests on a connection to the node,
+     * which is much faster than one at a time when many statements have been prepared, but this bounds
+     * the load put on a node that is just coming up (and the number of stream ids used on the connection).
+     *
+     * @param maxConcurrentReprepares the maximum number of concurrent re-preparations per node.
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code maxConcurrentReprepares <= 0}.
+     */
+    public QueryOptions setMaxConcurrentReprepares(int maxConcurrentReprepares) {
+        if (maxConcurrentReprepares <= 0)
+            throw new IllegalArgumentException("Invalid maxConcurrentReprepares, should be > 0, got " + maxConcurrentReprepares);
+        this.maxConcurrentReprepares = maxConcurrentReprepares;
+        return this;
+    }
+
+    /**
+     * The maximum number of concurrent PREPARE requests when re-preparing statements on a node.
+     *
+     * @return the value.
+     *
+     * @see #setMaxConcurrentReprepares(int)
+     */
+    public int getMaxConcurrentReprepares() {
+        return maxConcurrentReprepares;
+    }
+
+    /**
+     * Sets the maximum number of statements that are re-prepared before a node is marked up
+     * (see {@link #setReprepareOnUp(boolean)}).
+     * <p>
+     * Statements are re-prepared from the most executed to the least executed. Once this number
+     * is reached, the node is marked up, and the remaining statements are re-prepared in the
+     * background. If one of them is executed on the node before that, it is re-prepared on the fly
+     * as usual.
+     * <p>
+     * Lowering this value shortens the time it takes to bring a node back in applications that
+     * prepare a very large number of statements. The progress of background re-preparations can be
+     * followed with {@link Metrics#getPendingReprepares(Host)}.
+     *
+     * @param maxEagerReprepares the maximum number of statements re-prepared before marking a node up.
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code maxEagerReprepares < 0}.
+     */
+    public QueryOptions setMaxEagerReprepares(int maxEagerReprepares) {
+        if (maxEagerReprepares < 0)
+            throw new IllegalArgumentException("Invalid maxEagerReprepares, should be >= 0, got " + maxEagerReprepares);
+        this.maxEagerReprepares = maxEagerReprepares;
+        return this;
+    }
+
+    /**
+     * The maximum number of statements re-prepared before a node is marked up.
+     *
+     * @return the value.
+     *
+     * @see #setMaxEagerReprepares(int)
+     */
+    public int getMaxEagerReprepares() {
+        return maxEagerReprepares;
+    }
+
+    /**
+     * Sets a local file in which the driver records the statements it prepares, in order to
+     * prepare them again as soon as the cluster is initialized the next time the application starts.
+     * <p>
+     * The file contains the query string and keyspace of each statement, and is appended to as new
+     * statements get prepared. It keeps at most {@link #getMaxRecordedStatements()} statements: the
+     * least recently used ones are dropped when the file is rewritten, which happens when the cluster
+     * is closed (or earlier if too many statements were appended). When the {@link Cluster} is initialized, the statements it contains are
+     * prepared in the background, in parallel on all hosts (with at most
+     * {@link #getMaxConcurrentReprepares()} requests in flight per host). Calls to
+     * {@link Session#prepare(String)} for those statements then complete without contacting Cassandra.
+     * <p>
+     * This avoids the latency spike caused by lazily preparing many statements right after the
+     * application starts. It is disabled by default. Note that this option must be set before the
+     * cluster is initialized.
+     *
+     * @param file the file, which is created if it doesn't exist. {@code null} disables the registry.
+     * @return this {@code QueryOptions} instance.
+     */
+    public QueryOptions setPreparedStatementRegistry(File file) {
+        this.preparedStatementRegistry = file;
+        return this;
+    }
+
+    /**
+     * The file in which prepared statements are recorded, if any.
+     *
+     * @return the file, or {@code null} if the registry is disabled.
+     *
+     * @see #setPreparedStatementRegistry(File)
+     */
+    public File getPreparedStatementRegistry() {
+        return preparedStatementRegistry;
+    }
+
+    /**
+     * Sets the maximum number of statements kept in the file set with
+     * {@link #setPreparedStatementRegistry(File)}.
+     * <p>
+     * When the registry holds more statements, the least recently prepared (or used, for statements
+     * that were prepared at startup) are dropped. Note that this option must be set before the
+     * cluster is initialized.
+     *
+     * @param maxRecordedStatements the maximum number of recorded statements.
+     * @return this {@code QueryOptions} instance.
+     *
+     * @throws IllegalArgumentException if {@code maxRecordedStatements <= 0}.
+     */
+    public QueryOptions setMaxRecordedStatements(int maxRecordedStatements) {
+        if (maxRecordedStatements <= 0)
+            throw new IllegalArgumentException("Invalid maxRecordedStatements, should be > 0, got " + maxRecordedStatements);
+        this.maxRecordedStatements = maxRecordedStatements;
+        return this;
+    }
+
+    /**
+     * The maximum number of statements kept in the prepared statement registry.
+     *
+     * @return the value.
+     *
+     * @see #setMaxRecordedStatements(int)
+     */
+    public int getMaxRecordedStatements() {
+        return maxRecordedStatements;
+    }
+
     /**
      * Toggle client-side token and schema metadata.
      * <p>
@@ -26,6 +26,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.codahale.metrics.Timer;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
@@ -77,7 +79,7 @@ class RequestHandler {
 
         callback.register(this);
 
-        this.queryPlan = new QueryPlan(manager.loadBalancingPolicy().newQueryPlan(manager.poolsState.keyspace, statement));
+        this.queryPlan = new QueryPlan(newQueryPlan(manager, statement));
         this.speculativeExecutionPlan = manager.speculativeRetryPolicy().newPlan(manager.poolsState.keyspace, statement);
         this.allowSpeculativeExecutions = statement != Statement.DEFAULT
             && statement.isIdempotentWithDefault(manager.configuration().getQueryOptions());
@@ -794,6 +796,15 @@ class RequestHandler {
         }
     }
 
+    // The query plan of the load balancing policy, preceded by the host the statement is assigned to (if any)
+    private static Iterator<Host> newQueryPlan(SessionManager manager, Statement statement) {
+        Iterator<Host> plan = manager.loadBalancingPolicy().newQueryPlan(manager.poolsState.keyspace, statement);
+        Host host = statement.getHost();
+        if (host == null || !host.isUp())
+            return plan;
+        return Iterators.concat(Iterators.singletonIterator(host), Iterators.filter(plan, Predicates.not(Predicates.equalTo(host))));
+    }
+
     /**
      * Wraps the iterator return by {@link com.datastax.driver.core.policies.LoadBalancingPolicy} to make it safe for
      * concurrent access by multiple threads.
@@ -313,6 +313,12 @@ class Responses {
 
                 static final Metadata EMPTY = new Metadata(0, null, null);
 
+                // A direct-mapped cache of decoded column definitions, keyed by their raw bytes: colliding
+                // entries simply replace each other
+                private static final int COLUMNS_CACHE_SIZE = 256;
+                private static final int MAX_CACHED_COLUMNS_LENGTH = 4096;
+                private static final CachedColumns[] columnsCache = new CachedColumns[COLUMNS_CACHE_SIZE];
+
                 public final int columnCount;
                 public final ColumnDefinitions columns; // Can be null if no metadata was asked by the query
                 public final ByteBuffer pagingState;
@@ -338,24 +344,86 @@ class Responses {
 
                     boolean globalTablesSpec = flags.contains(Flag.GLOBAL_TABLES_SPEC);
 
+                    // Unless the statement is prepared, every page re-sends the same metadata: find it in the
+                    // cache by its raw bytes, which is much cheaper than decoding it again.
+                    int start = body.readerIndex();
+                    if (globalTablesSpec) {
+                        CBUtil.skipString(body);
+                        CBUtil.skipString(body);
+                    }
+                    for (int i = 0; i < columnCount; i++) {
+                        if (!globalTablesSpec) {
+                            CBUtil.skipString(body);
+                            CBUtil.skipString(body);
+                        }
+                        CBUtil.skipString(body);
+                        DataType.skip(body);
+                    }
+                    int length = body.readerIndex() - start;
+
+                    if (length > MAX_CACHED_COLUMNS_LENGTH)
+                        return new Metadata(columnCount, decodeColumns(body.readerIndex(start), columnCount, globalTablesSpec), state);
+
+                    int hash = 31 * columnCount + (globalTablesSpec ? 1 : 0);
+                    for (int i = 0; i < length; i++)
+                        hash = 31 * hash + body.getByte(start + i);
+                    int slot = (hash ^ (hash >>> 16)) & (COLUMNS_CACHE_SIZE - 1);
+
+                    CachedColumns cached = columnsCache[slot];
+                    if (cached != null && cached.matches(body, start, length, columnCount, globalTablesSpec))
+                        return new Metadata(columnCount, cached.columns, state);
+
+                    byte[] bytes = new byte[length];
+                    body.getBytes(start, bytes);
+                    ColumnDefinitions columns = decodeColumns(body.readerIndex(start), columnCount, globalTablesSpec);
+                    // Entries are immutable, so a racy update is harmless: at worst another entry gets overwritten
+                    columnsCache[slot] = new CachedColumns(bytes, columnCount, globalTablesSpec, columns);
+                    return new Metadata(columnCount, columns, state);
+                }
+
+                private static ColumnDefinitions decodeColumns(ByteBuf body, int columnCount, boolean globalTablesSpec) {
                     String globalKsName = null;
                     String globalCfName = null;
                     if (globalTablesSpec) {
-                        globalKsName = CBUtil.readString(body);
-                        globalCfName = CBUtil.readString(body);
+                        globalKsName = CBUtil.readCachedString(body);
+                        globalCfName = CBUtil.readCachedString(body);
                     }
 
                     // metadata (names/types)
                     ColumnDefinitions.Definition[] defs = new ColumnDefinitions.Definition[columnCount];
                     for (int i = 0; i < columnCount; i++) {
-                        String ksName = globalTablesSpec ? globalKsName : CBUtil.readString(body);
-                        String cfName = globalTablesSpec ? globalCfName : CBUtil.readString(body);
-                        String name = CBUtil.readString(body);
+                        String ksName = globalTablesSpec ? globalKsName : CBUtil.readCachedString(body);
+                        String cfName = globalTablesSpec ? globalCfName : CBUtil.readCachedString(body);
+                        String name = CBUtil.readCachedString(body);
                         DataType type = DataType.decode(body);
                         defs[i] = new ColumnDefinitions.Definition(ksName, cfName, name, type);
                     }
 
-                    return new Metadata(columnCount, new ColumnDefinitions(defs), state);
+                    return new ColumnDefinitions(defs);
+                }
+
+                private static class CachedColumns {
+                    final byte[] bytes;
+                    final int columnCount;
+                    final boolean globalTablesSpec;
+                    final ColumnDefinitions columns;
+
+                    CachedColumns(byte[] bytes, int columnCount, boolean globalTablesSpec, ColumnDefinitions columns) {
+                        this.bytes = bytes;
+                        this.columnCount = columnCount;
+                        this.globalTablesSpec = globalTablesSpec;
+                        this.columns = columns;
+                    }
+
+                    boolean matches(ByteBuf body, int start, int length, int columnCount, boolean globalTablesSpec) {
+                        if (bytes.length != length || this.columnCount != columnCount || this.globalTablesSpec != globalTablesSpec)
+                            return false;
+                        for (int i = 0; i < length; i++) {
+                            if (bytes[i] != body.getByte(start + i))
+                                return false;
+                        }
+                        return true;
+                    }
                 }
 
                 @Override
@@ -384,6 +452,7 @@ class Responses {
                     int rowCount = body.readInt();
                     int columnCount = metadata.columnCount;
 
+                    int start = body.readerIndex();
                     Queue<List<ByteBuffer>> data = new ArrayDeque<List<ByteBuffer>>(rowCount);
                     for (int i = 0; i < rowCount; i++) {
                         List<ByteBuffer> row = new ArrayList<ByteBuffer>(columnCount);
@@ -392,18 +461,21 @@ class Responses {
                         data.add(row);
                     }
 
-                    return new Rows(metadata, data, version);
+                    return new Rows(metadata, data, body.readerIndex() - start, version);
                 }
             };
 
             public final Metadata metadata;
             public final Queue<List<ByteBuffer>> data;
+            // The size of the serialized rows, in bytes
+            public final int dataSize;
             private final ProtocolVersion version;
 
-            private Rows(Metadata metadata, Queue<List<ByteBuffer>> data, ProtocolVersion version) {
+            private Rows(Metadata metadata, Queue<List<ByteBuffer>> data, int dataSize, ProtocolVersion version) {
                 super(Kind.ROWS);
                 this.metadata = metadata;
                 this.data = data;
+                this.dataSize = dataSize;
                 this.version = version;
             }
 
@@ -0,0 +1,80 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the amount of result data buffered by the paged result sets of a session.
+ * <p>
+ * Each result set registers an {@link Allocation} that it updates as pages are received and
+ * consumed. Result sets that are abandoned before being exhausted are detected when they get
+ * garbage collected, at which point their remaining bytes are released.
+ */
+class ResultSetMemoryTracker {
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+    // Phantom references must be strongly reachable until they are enqueued
+    private final Set<Allocation> allocations = Collections.newSetFromMap(new ConcurrentHashMap<Allocation, Boolean>());
+
+    Allocation register(Object resultSet) {
+        expunge();
+        Allocation allocation = new Allocation(resultSet);
+        allocations.add(allocation);
+        return allocation;
+    }
+
+    long bufferedBytes() {
+        expunge();
+        return bufferedBytes.get();
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null)
+            ((Allocation)reference).releaseAll();
+    }
+
+    class Allocation extends PhantomReference<Object> {
+        private final AtomicLong bytes = new AtomicLong();
+
+        private Allocation(Object resultSet) {
+            super(resultSet, collected);
+        }
+
+        void acquire(int n) {
+            bytes.addAndGet(n);
+            bufferedBytes.addAndGet(n);
+        }
+
+        void release(int n) {
+            bytes.addAndGet(-n);
+            bufferedBytes.addAndGet(-n);
+        }
+
+        void releaseAll() {
+            bufferedBytes.addAndGet(-bytes.getAndSet(0));
+            allocations.remove(this);
+        }
+    }
+}
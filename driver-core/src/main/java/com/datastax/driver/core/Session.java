@@ -206,6 +206,12 @@ public interface Session extends Closeable {
 
     /**
      * Prepares the provided query string.
+     * <p>
+     * Prepared statements are cached by the session, per query string and
+     * current keyspace: preparing a query that has already been prepared by
+     * this session (and is still referenced by the client), or that is being
+     * prepared concurrently, returns the same {@code PreparedStatement} object
+     * without sending a new request to Cassandra.
      *
      * @param query the CQL query string to prepare
      * @return the prepared statement corresponding to {@code query}.
@@ -421,5 +427,19 @@ public interface Session extends Closeable {
          * queries to {@code host}.
          */
         public int getInFlightQueries(Host host);
+
+        /**
+         * The amount of result data, in bytes, currently buffered by the paged result sets
+         * of the session (more precisely, at the time this State has been grabbed).
+         * <p>
+         * This counts the serialized rows of the pages that have been received but not
+         * entirely consumed yet, including prefetched pages (see
+         * {@link QueryOptions#setPrefetchThreshold(float)}). Result sets that are
+         * abandoned before being exhausted keep being counted until they are garbage
+         * collected.
+         *
+         * @return the number of bytes of buffered result data.
+         */
+        public long getBufferedResultBytes();
     }
 }
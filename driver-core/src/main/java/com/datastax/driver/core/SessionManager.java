@@ -23,9 +23,11 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
+import com.google.common.base.Objects;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.util.concurrent.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,13 @@ class SessionManager extends AbstractSession {
     final Cluster cluster;
     final ConcurrentMap<Host, HostConnectionPool> pools;
     final HostConnectionPool.PoolState poolsState;
+    final ResultSetMemoryTracker resultSetMemory = new ResultSetMemoryTracker();
+
+    // Client-side cache of prepared statements, to avoid sending a PREPARE request each time the same query is
+    // prepared. Completed statements are weakly referenced, like in Cluster.Manager.preparedQueries, so that they
+    // can be collected once the client doesn't use them anymore.
+    private final ConcurrentMap<PreparedQueryKey, PreparedStatement> preparedStatements = new MapMaker().weakValues().makeMap();
+    private final ConcurrentMap<PreparedQueryKey, ListenableFuture<PreparedStatement>> preparingStatements = new ConcurrentHashMap<PreparedQueryKey, ListenableFuture<PreparedStatement>>();
     private final AtomicReference<ListenableFuture<Session>> initFuture = new AtomicReference<ListenableFuture<Session>>();
     final AtomicReference<CloseFuture> closeFuture = new AtomicReference<CloseFuture>();
 
@@ -144,9 +153,42 @@ class SessionManager extends AbstractSession {
     }
 
     public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+        final PreparedQueryKey key = new PreparedQueryKey(query, poolsState.keyspace);
+        PreparedStatement cached = preparedStatements.get(key);
+        if (cached != null)
+            return Futures.immediateFuture(cached);
+
+        PreparedStatementRegistry registry = cluster.manager.preparedStatementRegistry;
+        if (registry != null) {
+            PreparedStatement warm = registry.takeWarmStatement(query, poolsState.keyspace);
+            if (warm != null) {
+                preparedStatements.put(key, warm);
+                return Futures.immediateFuture(warm);
+            }
+        }
+
+        final SettableFuture<PreparedStatement> result = SettableFuture.create();
+        ListenableFuture<PreparedStatement> inProgress = preparingStatements.putIfAbsent(key, result);
+        if (inProgress != null)
+            return inProgress;
+
         Connection.Future future = new Connection.Future(new Requests.Prepare(query));
         execute(future, Statement.DEFAULT);
-        return toPreparedStatement(query, future);
+        Futures.addCallback(toPreparedStatement(query, future), new FutureCallback<PreparedStatement>() {
+            @Override
+            public void onSuccess(PreparedStatement statement) {
+                preparedStatements.put(key, statement);
+                preparingStatements.remove(key);
+                result.set(statement);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                preparingStatements.remove(key);
+                result.setException(t);
+            }
+        });
+        return result;
     }
 
     public CloseFuture closeAsync() {
@@ -474,6 +516,10 @@ class SessionManager extends AbstractSession {
     }
 
     Message.Request makeRequestMessage(Statement statement, ByteBuffer pagingState) {
+        return makeRequestMessage(statement, pagingState, statement.getFetchSize());
+    }
+
+    Message.Request makeRequestMessage(Statement statement, ByteBuffer pagingState, int fetchSize) {
         // We need the protocol version, which is only available once the cluster has initialized. Initialize the session to ensure this is the case.
         // init() locks, so avoid if we know we don't need it.
         if (!isInit)
@@ -498,7 +544,6 @@ class SessionManager extends AbstractSession {
                 defaultTimestamp = cluster.getConfiguration().getPolicies().getTimestampGenerator().next();
         }
 
-        int fetchSize = statement.getFetchSize();
         ByteBuffer usedPagingState = pagingState;
 
         if (version == ProtocolVersion.V1) {
@@ -549,6 +594,7 @@ class SessionManager extends AbstractSession {
                     + "You may have used a PreparedStatement that was created with another Cluster instance.", bs.statement.getPreparedId().id));
             }
             bs.ensureAllSet();
+            bs.statement.getPreparedId().recordExecution();
             boolean skipMetadata = version != ProtocolVersion.V1 && bs.statement.getPreparedId().resultSetMetadata != null;
             Requests.QueryProtocolOptions options = new Requests.QueryProtocolOptions(consistency, Arrays.asList(bs.wrapper.values), skipMetadata,
                                                                                       fetchSize, usedPagingState, serialConsistency, defaultTimestamp);
@@ -636,6 +682,31 @@ class SessionManager extends AbstractSession {
         }
     }
 
+    private static class PreparedQueryKey {
+        private final String query;
+        private final String keyspace;
+
+        PreparedQueryKey(String query, String keyspace) {
+            this.query = query;
+            this.keyspace = keyspace;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this)
+                return true;
+            if (!(other instanceof PreparedQueryKey))
+                return false;
+            PreparedQueryKey that = (PreparedQueryKey)other;
+            return query.equals(that.query) && Objects.equal(keyspace, that.keyspace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(query, keyspace);
+        }
+    }
+
     private static class State implements Session.State {
 
         private final SessionManager session;
@@ -643,10 +714,12 @@ class SessionManager extends AbstractSession {
         private final int[] openConnections;
         private final int[] trashedConnections;
         private final int[] inFlightQueries;
+        private final long bufferedResultBytes;
 
         private State(SessionManager session) {
             this.session = session;
             this.connectedHosts = ImmutableList.copyOf(session.pools.keySet());
+            this.bufferedResultBytes = session.resultSetMemory.bufferedBytes();
 
             this.openConnections = new int[connectedHosts.size()];
             this.trashedConnections = new int[connectedHosts.size()];
@@ -707,5 +780,9 @@ class SessionManager extends AbstractSession {
             int i = getIdx(host);
             return i < 0 ? 0 : inFlightQueries[i];
         }
+
+        public long getBufferedResultBytes() {
+            return bufferedResultBytes;
+        }
     }
 }
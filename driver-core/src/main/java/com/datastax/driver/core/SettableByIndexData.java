@@ -213,6 +213,66 @@ public interface SettableByIndexData<T extends SettableByIndexData<T>> {
      */
     public <E> T setList(int i, List<E> v);
 
+    /**
+     * Sets the {@code i}th value, a list or set of {@code bigint}, to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(int, List)} and {@link #setSet(int, Set)}, this does not box
+     * the elements.
+     *
+     * @param i the index of the value to set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type BIGINT.
+     */
+    public T setLongArray(int i, long[] v);
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code int}, to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(int, List)} and {@link #setSet(int, Set)}, this does not box
+     * the elements.
+     *
+     * @param i the index of the value to set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type INT.
+     */
+    public T setIntArray(int i, int[] v);
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code double}, to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(int, List)} and {@link #setSet(int, Set)}, this does not box
+     * the elements.
+     *
+     * @param i the index of the value to set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type DOUBLE.
+     */
+    public T setDoubleArray(int i, double[] v);
+
+    /**
+     * Sets the {@code i}th value, a list or set of {@code float}, to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(int, List)} and {@link #setSet(int, Set)}, this does not box
+     * the elements.
+     *
+     * @param i the index of the value to set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not a valid index for this object.
+     * @throws InvalidTypeException if value {@code i} is not a list or set of type FLOAT.
+     */
+    public T setFloatArray(int i, float[] v);
+
     /**
      * Sets the {@code i}th value to the provided map.
      * <p>
@@ -248,6 +248,78 @@ public interface SettableByNameData<T extends SettableData<T>> {
      */
     public <E> T setList(String name, List<E> v);
 
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code bigint},
+     * to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(String, List)} and {@link #setSet(String, Set)}, this does not box
+     * the elements.
+     *
+     * @param name the name of the value to set; if {@code name} is present multiple
+     * times, all its values are set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a valid name for this object.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type BIGINT.
+     */
+    public T setLongArray(String name, long[] v);
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code int},
+     * to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(String, List)} and {@link #setSet(String, Set)}, this does not box
+     * the elements.
+     *
+     * @param name the name of the value to set; if {@code name} is present multiple
+     * times, all its values are set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a valid name for this object.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type INT.
+     */
+    public T setIntArray(String name, int[] v);
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code double},
+     * to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(String, List)} and {@link #setSet(String, Set)}, this does not box
+     * the elements.
+     *
+     * @param name the name of the value to set; if {@code name} is present multiple
+     * times, all its values are set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a valid name for this object.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type DOUBLE.
+     */
+    public T setDoubleArray(String name, double[] v);
+
+    /**
+     * Sets the value for (all occurrences of) variable {@code name}, a list or set of {@code float},
+     * to the elements of the provided array.
+     * <p>
+     * Contrarily to {@link #setList(String, List)} and {@link #setSet(String, Set)}, this does not box
+     * the elements.
+     *
+     * @param name the name of the value to set; if {@code name} is present multiple
+     * times, all its values are set.
+     * @param v the value to set.
+     * @return this object.
+     *
+     * @throws IllegalArgumentException if {@code name} is not a valid name for this object.
+     * @throws InvalidTypeException if (any occurrence of) {@code name} is
+     * not a list or set of type FLOAT.
+     */
+    public T setFloatArray(String name, float[] v);
+
     /**
      * Sets the value for (all occurrences of) variable {@code name} to the
      * provided map.
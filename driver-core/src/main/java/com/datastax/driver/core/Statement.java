@@ -51,6 +51,10 @@ public abstract class Statement {
     private volatile long defaultTimestamp = Long.MIN_VALUE;
     private volatile RetryPolicy retryPolicy;
     private volatile ByteBuffer pagingState;
+    private volatile Token routingToken;
+    // The host to try first, before the query plan of the load balancing policy. Only used internally
+    // (see TableScanner), to route queries to a host chosen for load balancing purposes.
+    volatile Host host;
     protected volatile Boolean idempotent;
 
     // We don't want to expose the constructor, because the code relies on this being only sub-classed by RegularStatement, BoundStatement and BatchStatement
@@ -174,6 +178,41 @@ public abstract class Statement {
      */
     public abstract ByteBuffer getRoutingKey();
 
+    /**
+     * Sets the token to use for token aware routing of this query.
+     * <p>
+     * This is useful for queries that do not target a single partition key but
+     * a range of tokens, such as {@code token(pk) > ? AND token(pk) <= ?} range
+     * scans: any token of the range (typically its end) can be used to route the
+     * query to one of the replicas of that range. Note that, if this statement
+     * also has a {@link #getRoutingKey() routing key}, the routing key takes
+     * precedence.
+     *
+     * @param routingToken the token to use for token aware routing, or {@code null}
+     * to remove a previously set token.
+     * @return this {@code Statement} object.
+     *
+     * @see com.datastax.driver.core.policies.TokenAwarePolicy
+     */
+    public Statement setRoutingToken(Token routingToken) {
+        this.routingToken = routingToken;
+        return this;
+    }
+
+    /**
+     * Returns the token to use for token aware routing of this query, if any.
+     *
+     * @return the token set through {@link #setRoutingToken}, or {@code null}.
+     */
+    public Token getRoutingToken() {
+        return routingToken;
+    }
+
+    // The host to try first, if any (see the field)
+    Host getHost() {
+        return host;
+    }
+
     /**
      * Returns the keyspace this query operates on.
      * <p>
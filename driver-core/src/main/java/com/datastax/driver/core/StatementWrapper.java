@@ -115,6 +115,21 @@ public abstract class StatementWrapper extends Statement {
         return wrapped.getRoutingKey();
     }
 
+    @Override
+    public Statement setRoutingToken(Token routingToken) {
+        return wrapped.setRoutingToken(routingToken);
+    }
+
+    @Override
+    public Token getRoutingToken() {
+        return wrapped.getRoutingToken();
+    }
+
+    @Override
+    Host getHost() {
+        return wrapped.getHost();
+    }
+
     @Override
     public Statement setRetryPolicy(RetryPolicy policy) {
         return wrapped.setRetryPolicy(policy);
@@ -0,0 +1,217 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timestamp generator with microsecond resolution, that spreads its state over several counters
+ * ("stripes") to avoid contention between client threads.
+ * <p>
+ * The sub-millisecond part of the timestamps comes from {@link System#nanoTime()}, anchored on
+ * {@link System#currentTimeMillis()}. Each thread always uses the same stripe, and each stripe only
+ * generates timestamps that are congruent to its index modulo the number of stripes, so timestamps
+ * are always distinct among all client threads.
+ * <p>
+ * By default, the generator is monotonic for the whole session: each stripe also publishes its
+ * latest timestamp to a shared high-water mark, and never generates a timestamp below it. Therefore
+ * a timestamp is always greater than any timestamp that was returned (to any thread) before it was
+ * requested. Stripes only read the high-water mark, and only update it when they move it forward,
+ * which keeps contention much lower than with {@link AtomicMonotonicTimestampGenerator}.
+ * <p>
+ * The shared high-water mark can be disabled with {@link #StripedMonotonicTimestampGenerator(int, boolean)}.
+ * Timestamps then only increase for a given client thread; timestamps generated by different threads
+ * are ordered as they were generated within the number of stripes in microseconds, unless a stripe
+ * runs ahead of the clock.
+ * <p>
+ * If the generator is asked for more timestamps than the clock allows, it runs ahead of the clock
+ * until the rate decreases. A warning is logged if it gets more than a second ahead.
+ */
+public class StripedMonotonicTimestampGenerator extends AbstractMonotonicTimestampGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(StripedMonotonicTimestampGenerator.class);
+
+    // Stripes are spaced out in the array to keep them on different cache lines
+    private static final int PADDING = 8;
+    private static final long MAX_DRIFT_MICROS = 1000000;
+    // Upper bound of the time spent measuring the clock's granularity at construction
+    private static final long MAX_GRANULARITY_MICROS = 100000;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+    private final boolean sessionWide;
+    private final AtomicLong highWater = new AtomicLong();
+
+    // How far nanoTime and the clock can disagree before the anchor is reset: the clock only moves
+    // once per tick, so anything within its granularity is not an adjustment
+    volatile long resyncThresholdMicros;
+
+    // Immutable, so that both values are always seen together
+    volatile Anchor anchor = new Anchor(0, 0);
+
+    private volatile long lastDriftWarning;
+
+    /**
+     * Creates a new instance with as many stripes as there are available processors (rounded up to
+     * a power of two).
+     */
+    public StripedMonotonicTimestampGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new instance with the given number of stripes (rounded up to a power of two).
+     *
+     * @param stripes the number of stripes.
+     *
+     * @throws IllegalArgumentException if {@code stripes} is not in the range [1, 1024].
+     */
+    public StripedMonotonicTimestampGenerator(int stripes) {
+        this(stripes, true);
+    }
+
+    /**
+     * Creates a new instance with the given number of stripes (rounded up to a power of two).
+     *
+     * @param stripes the number of stripes.
+     * @param sessionWide whether timestamps must increase among all client threads. If {@code false},
+     * they only increase for a given thread, and stripes never share any state.
+     *
+     * @throws IllegalArgumentException if {@code stripes} is not in the range [1, 1024].
+     */
+    public StripedMonotonicTimestampGenerator(int stripes, boolean sessionWide) {
+        if (stripes < 1 || stripes > 1024)
+            throw new IllegalArgumentException("Invalid number of stripes, should be between 1 and 1024, got " + stripes);
+        int n = 1;
+        while (n < stripes)
+            n <<= 1;
+        this.stripes = n;
+        this.cells = new AtomicLongArray(n * PADDING);
+        this.sessionWide = sessionWide;
+        this.resyncThresholdMicros = measureGranularityMicros(clock) + 1000;
+        this.lastDriftWarning = System.nanoTime() - 1000000000L;
+    }
+
+    /**
+     * Returns the number of stripes of this generator.
+     *
+     * @return the number of stripes.
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Returns whether timestamps increase among all client threads, or only for a given thread.
+     *
+     * @return whether this generator is monotonic for the whole session.
+     */
+    public boolean isSessionWide() {
+        return sessionWide;
+    }
+
+    @Override
+    public long next() {
+        int mask = stripes - 1;
+        int stripe = (int)Thread.currentThread().getId() & mask;
+        int index = stripe * PADDING;
+        while (true) {
+            long last = cells.get(index);
+            long now = currentTimeMicros();
+            long next = Math.max(now, last + 1);
+            if (sessionWide)
+                next = Math.max(next, highWater.get() + 1);
+            // Round up to the next value of this stripe
+            next += (stripe - next) & mask;
+            if (cells.compareAndSet(index, last, next)) {
+                if (sessionWide)
+                    publish(next);
+                if (next - now > MAX_DRIFT_MICROS)
+                    warnDrift(next - now);
+                return next;
+            }
+        }
+    }
+
+    // Done before returning, so that any timestamp requested afterwards is greater. Stops as soon as
+    // another stripe has published a greater value.
+    private void publish(long timestamp) {
+        while (true) {
+            long current = highWater.get();
+            if (current >= timestamp || highWater.compareAndSet(current, timestamp))
+                return;
+        }
+    }
+
+    /**
+     * The current time in microseconds: the system clock, refined with {@link System#nanoTime()}.
+     * The anchor is reset whenever the two disagree by more than the clock's granularity (plus a
+     * millisecond), which happens when the system clock is adjusted.
+     */
+    long currentTimeMicros() {
+        long millisMicros = clock.currentTime() * 1000;
+        long nanos = System.nanoTime();
+        Anchor anchor = this.anchor;
+        long micros = anchor.micros + (nanos - anchor.nanos) / 1000;
+        if (Math.abs(micros - millisMicros) > resyncThresholdMicros) {
+            this.anchor = new Anchor(millisMicros, nanos);
+            micros = millisMicros;
+        }
+        return micros;
+    }
+
+    /**
+     * Measures the interval between two ticks of the clock (some systems only update it every 10 to
+     * 15 milliseconds), waiting at most {@link #MAX_GRANULARITY_MICROS}.
+     */
+    static long measureGranularityMicros(Clock clock) {
+        long deadline = System.nanoTime() + MAX_GRANULARITY_MICROS * 1000;
+        // Wait for a first tick, so that the measure starts at a tick boundary
+        long start = clock.currentTime();
+        long tick;
+        while ((tick = clock.currentTime()) == start) {
+            if (System.nanoTime() > deadline)
+                return MAX_GRANULARITY_MICROS;
+        }
+        long next;
+        while ((next = clock.currentTime()) == tick) {
+            if (System.nanoTime() > deadline)
+                return MAX_GRANULARITY_MICROS;
+        }
+        return Math.min(Math.max(next - tick, 1) * 1000, MAX_GRANULARITY_MICROS);
+    }
+
+    private void warnDrift(long drift) {
+        long now = System.nanoTime();
+        if (now - lastDriftWarning > 1000000000L) {
+            lastDriftWarning = now;
+            logger.warn("Timestamps are {} microseconds ahead of the clock, they are requested faster than the clock resolution allows", drift);
+        }
+    }
+
+    static class Anchor {
+        final long micros;
+        final long nanos;
+
+        Anchor(long micros, long nanos) {
+            this.micros = micros;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Functions;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.*;
+
+/**
+ * Scans a whole table by splitting the token ring into sub-ranges and querying them in parallel.
+ * <p>
+ * Each sub-range (or "split") is read with a {@code token(pk) > ? AND token(pk) <= ?} query. Splits
+ * are assigned to the local replicas of their range (as defined by the load balancing policy) in a
+ * balanced way, each query is sent to the replica its split was assigned to, and at most
+ * {@link #getMaxConcurrencyPerHost()} splits are read concurrently for each replica, so that the
+ * scan doesn't hotspot a single coordinator. If that replica is down, or if a split has no local
+ * replica, the query is routed by the load balancing policy (to a replica of the range if it is a
+ * {@link com.datastax.driver.core.policies.TokenAwarePolicy}, see {@link Statement#setRoutingToken}).
+ * <p>
+ * Results are delivered page by page to a {@link PageHandler}, which is also notified when each
+ * split has been entirely read. Applications can record completed splits to resume an interrupted
+ * scan later with {@link #scan(Collection, PageHandler)}, provided they use the same splits (for
+ * example by persisting the ones returned by {@link #getSplits()}).
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * TableScanner scanner = new TableScanner(session, "ks", "users", "id", "name")
+ *     .setSplitsPerHost(32)
+ *     .setMaxConcurrencyPerHost(4);
+ * scanner.scan(new TableScanner.PageHandler() {
+ *     public void onPage(TokenRange split, List<Row> rows) { ... }
+ *     public void onSplitCompleted(TokenRange split) { ... }
+ * }).get();
+ * }
+ * </pre>
+ */
+public class TableScanner {
+
+    /**
+     * The default number of splits per host.
+     */
+    public static final int DEFAULT_SPLITS_PER_HOST = 16;
+
+    /**
+     * The default number of splits read concurrently for each host.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY_PER_HOST = 2;
+
+    private final Session session;
+    private final String keyspace;
+    private final String table;
+    private final List<String> columns;
+
+    private volatile int splitsPerHost = DEFAULT_SPLITS_PER_HOST;
+    private volatile int maxConcurrencyPerHost = DEFAULT_MAX_CONCURRENCY_PER_HOST;
+    private volatile int fetchSize;
+    private volatile ConsistencyLevel consistency;
+    private volatile Executor executor = MoreExecutors.sameThreadExecutor();
+
+    /**
+     * Creates a new scanner.
+     *
+     * @param session the session to use for the scan.
+     * @param keyspace the keyspace of the table to scan.
+     * @param table the table to scan.
+     * @param columns the columns to select. These are inserted as-is in the {@code SELECT} clause,
+     * so case-sensitive names must be quoted (see {@link Metadata#quote}). If no column is provided,
+     * all the columns are selected.
+     */
+    public TableScanner(Session session, String keyspace, String table, String... columns) {
+        this.session = session;
+        this.keyspace = keyspace;
+        this.table = table;
+        this.columns = ImmutableList.copyOf(columns);
+    }
+
+    /**
+     * Sets the number of splits to create for each host of the cluster.
+     * <p>
+     * The ring is split so that there are at least {@code splitsPerHost * number of local hosts} splits
+     * (hosts at distance {@link HostDistance#LOCAL} for the load balancing policy).
+     * With virtual nodes, the ring might already contain more ranges than that, in which case
+     * they are not split further.
+     *
+     * @param splitsPerHost the number of splits per host.
+     * @return this {@code TableScanner} object.
+     *
+     * @throws IllegalArgumentException if {@code splitsPerHost < 1}.
+     */
+    public TableScanner setSplitsPerHost(int splitsPerHost) {
+        if (splitsPerHost < 1)
+            throw new IllegalArgumentException("splitsPerHost must be strictly positive, got " + splitsPerHost);
+        this.splitsPerHost = splitsPerHost;
+        return this;
+    }
+
+    /**
+     * Returns the number of splits to create for each host of the cluster.
+     *
+     * @return the number of splits per host.
+     */
+    public int getSplitsPerHost() {
+        return splitsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of splits read concurrently for each host.
+     *
+     * @param maxConcurrencyPerHost the maximum number of concurrent splits per host.
+     * @return this {@code TableScanner} object.
+     *
+     * @throws IllegalArgumentException if {@code maxConcurrencyPerHost < 1}.
+     */
+    public TableScanner setMaxConcurrencyPerHost(int maxConcurrencyPerHost) {
+        if (maxConcurrencyPerHost < 1)
+            throw new IllegalArgumentException("maxConcurrencyPerHost must be strictly positive, got " + maxConcurrencyPerHost);
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of splits read concurrently for each host.
+     *
+     * @return the maximum number of concurrent splits per host.
+     */
+    public int getMaxConcurrencyPerHost() {
+        return maxConcurrencyPerHost;
+    }
+
+    /**
+     * Sets the fetch size of the scan queries.
+     *
+     * @param fetchSize the fetch size. If less than or equal to 0, the default fetch size
+     * ({@link QueryOptions#getFetchSize}) is used.
+     * @return this {@code TableScanner} object.
+     */
+    public TableScanner setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Sets the consistency level of the scan queries.
+     *
+     * @param consistency the consistency level, or {@code null} to use the default one
+     * ({@link QueryOptions#getConsistencyLevel}).
+     * @return this {@code TableScanner} object.
+     */
+    public TableScanner setConsistencyLevel(ConsistencyLevel consistency) {
+        this.consistency = consistency;
+        return this;
+    }
+
+    /**
+     * Sets the executor on which the {@link PageHandler} callbacks are invoked.
+     * <p>
+     * By default, callbacks run on the driver's I/O threads, which is only appropriate for
+     * handlers that are fast and never block. Any other handler should be run on a dedicated
+     * executor.
+     *
+     * @param executor the executor.
+     * @return this {@code TableScanner} object.
+     */
+    public TableScanner setExecutor(Executor executor) {
+        if (executor == null)
+            throw new NullPointerException("executor");
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Computes the splits that {@link #scan(PageHandler)} would read, based on the current
+     * token metadata.
+     *
+     * @return the splits. None of them wraps around the ring.
+     *
+     * @throws IllegalStateException if the token metadata is not available (this would typically
+     * happen if metadata was explicitly disabled with {@link QueryOptions#setMetadataEnabled(boolean)}).
+     */
+    public List<TokenRange> getSplits() {
+        Metadata metadata = session.getCluster().getMetadata();
+        Set<TokenRange> ranges = metadata.getTokenRanges();
+        if (ranges.isEmpty())
+            throw new IllegalStateException("Token metadata not available. This should only happen if metadata was explicitly disabled");
+
+        int localHosts = 0;
+        for (Host host : metadata.allHosts())
+            if (isLocal(host))
+                localHosts += 1;
+        // Hosts are all ignored if the load balancing policy is not initialized yet
+        int target = splitsPerHost * (localHosts == 0 ? metadata.allHosts().size() : localHosts);
+        int splitsPerRange = Math.max(1, (target + ranges.size() - 1) / ranges.size());
+
+        List<TokenRange> splits = new ArrayList<TokenRange>();
+        for (TokenRange range : ranges) {
+            for (TokenRange split : range.splitEvenly(splitsPerRange)) {
+                for (TokenRange unwrapped : split.unwrap()) {
+                    if (!unwrapped.isEmpty())
+                        splits.add(unwrapped);
+                }
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Scans the whole table.
+     * <p>
+     * This method does not block: it returns a future that completes once all the splits have been
+     * read (and all the pages passed to the handler). If a query fails, or if the handler throws, the
+     * future fails and no new split is started.
+     *
+     * @param handler the handler that will receive the results.
+     * @return a future on the completion of the scan.
+     */
+    public ListenableFuture<Void> scan(PageHandler handler) {
+        return scan(getSplits(), handler);
+    }
+
+    /**
+     * Scans the given splits of the table.
+     * <p>
+     * This is typically used to resume a previous scan, by passing the splits that were not completed.
+     *
+     * @param splits the splits to read. They must not wrap around the ring (see {@link TokenRange#unwrap()}).
+     * @param handler the handler that will receive the results.
+     * @return a future on the completion of the scan.
+     */
+    public ListenableFuture<Void> scan(Collection<TokenRange> splits, PageHandler handler) {
+        if (splits.isEmpty())
+            return Futures.immediateFuture(null);
+
+        final Scan scan = new Scan(splits, handler);
+
+        ListenableFuture<List<PreparedStatement>> prepared = Futures.allAsList(
+            session.prepareAsync(buildQuery(true)),
+            session.prepareAsync(buildQuery(false)));
+        Futures.addCallback(prepared, new FutureCallback<List<PreparedStatement>>() {
+            @Override
+            public void onSuccess(List<PreparedStatement> statements) {
+                scan.start(statements.get(0), statements.get(1));
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                scan.result.setException(t);
+            }
+        });
+        return scan.result;
+    }
+
+    private boolean isLocal(Host host) {
+        return session.getCluster().getConfiguration().getPolicies().getLoadBalancingPolicy().distance(host) == HostDistance.LOCAL;
+    }
+
+    private String buildQuery(boolean bounded) {
+        KeyspaceMetadata ksm = session.getCluster().getMetadata().getKeyspace(keyspace);
+        TableMetadata tm = ksm == null ? null : ksm.getTable(table);
+        if (tm == null)
+            throw new IllegalArgumentException(String.format("Unknown table %s.%s", keyspace, table));
+
+        List<String> pk = new ArrayList<String>();
+        for (ColumnMetadata column : tm.getPartitionKey())
+            pk.add(Metadata.escapeId(column.getName()));
+        String token = "token(" + Joiner.on(", ").join(pk) + ")";
+
+        StringBuilder sb = new StringBuilder("SELECT ");
+        sb.append(columns.isEmpty() ? "*" : Joiner.on(", ").join(columns));
+        sb.append(" FROM ").append(Metadata.escapeId(ksm.getName())).append('.').append(Metadata.escapeId(tm.getName()));
+        sb.append(" WHERE ").append(token).append(" > ?");
+        if (bounded)
+            sb.append(" AND ").append(token).append(" <= ?");
+        return sb.toString();
+    }
+
+    /**
+     * Receives the results of a scan.
+     * <p>
+     * The methods of this interface are called concurrently for different splits, but sequentially
+     * for a given split.
+     */
+    public interface PageHandler {
+
+        /**
+         * Called for each page of results.
+         *
+         * @param split the split this page belongs to.
+         * @param rows the rows of the page.
+         */
+        public void onPage(TokenRange split, List<Row> rows);
+
+        /**
+         * Called once all the rows of a split have been passed to {@link #onPage}.
+         *
+         * @param split the split.
+         */
+        public void onSplitCompleted(TokenRange split);
+    }
+
+    private class Scan {
+        final SettableFuture<Void> result = SettableFuture.create();
+        final PageHandler handler;
+        final Map<Host, Queue<TokenRange>> queues = new HashMap<Host, Queue<TokenRange>>();
+        final AtomicInteger remaining;
+        final Token minToken;
+        PreparedStatement bounded, unbounded;
+
+        Scan(Collection<TokenRange> splits, PageHandler handler) {
+            this.handler = handler;
+            this.remaining = new AtomicInteger(splits.size());
+            Metadata metadata = session.getCluster().getMetadata();
+            Token.Factory factory = metadata.tokenFactory();
+            this.minToken = factory == null ? null : factory.minToken();
+
+            // Assign each split to its least loaded local replica. Splits with no such replica are
+            // grouped under a null key, and routed by the load balancing policy.
+            Map<Host, Integer> load = new HashMap<Host, Integer>();
+            for (TokenRange split : splits) {
+                Host owner = null;
+                int ownerLoad = Integer.MAX_VALUE;
+                for (Host replica : metadata.getReplicas(keyspace, split.getEnd())) {
+                    if (!replica.isUp() || !isLocal(replica))
+                        continue;
+                    Integer l = load.get(replica);
+                    int replicaLoad = (l == null) ? 0 : l;
+                    if (replicaLoad < ownerLoad) {
+                        owner = replica;
+                        ownerLoad = replicaLoad;
+                    }
+                }
+                if (owner != null)
+                    load.put(owner, ownerLoad + 1);
+
+                Queue<TokenRange> queue = queues.get(owner);
+                if (queue == null) {
+                    queue = new LinkedList<TokenRange>();
+                    queues.put(owner, queue);
+                }
+                queue.add(split);
+            }
+        }
+
+        void start(PreparedStatement bounded, PreparedStatement unbounded) {
+            this.bounded = bounded;
+            this.unbounded = unbounded;
+            for (Host host : queues.keySet())
+                for (int i = 0; i < maxConcurrencyPerHost; i++)
+                    startNext(host);
+        }
+
+        void startNext(Host host) {
+            if (result.isDone())
+                return;
+
+            TokenRange split;
+            Queue<TokenRange> queue = queues.get(host);
+            synchronized (queue) {
+                split = queue.poll();
+            }
+            if (split == null)
+                return;
+
+            BoundStatement statement;
+            if (split.getEnd().equals(minToken)) {
+                // ]start, minToken] covers the end of the ring, there is no upper bound to apply
+                statement = unbounded.bind().setToken(0, split.getStart());
+            } else {
+                statement = bounded.bind().setToken(0, split.getStart()).setToken(1, split.getEnd());
+            }
+            statement.setRoutingToken(split.getEnd());
+            // Send the query to the replica the split was assigned to, so that the concurrency per host
+            // is bounded (the load balancing policy would pick any replica)
+            statement.host = host;
+            if (fetchSize > 0)
+                statement.setFetchSize(fetchSize);
+            if (consistency != null)
+                statement.setConsistencyLevel(consistency);
+
+            try {
+                onPage(host, split, session.executeAsync(statement));
+            } catch (RuntimeException e) {
+                result.setException(e);
+            }
+        }
+
+        void onPage(final Host host, final TokenRange split, ListenableFuture<ResultSet> future) {
+            Futures.addCallback(future, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet rs) {
+                    if (result.isDone())
+                        return;
+                    try {
+                        int available = rs.getAvailableWithoutFetching();
+                        List<Row> rows = new ArrayList<Row>(available);
+                        for (int i = 0; i < available; i++)
+                            rows.add(rs.one());
+
+                        // Request the next page before handing this one over, so that the network
+                        // round trip overlaps with the processing of the current page.
+                        ListenableFuture<ResultSet> next = null;
+                        if (!rs.isFullyFetched())
+                            next = Futures.transform(rs.fetchMoreResults(), Functions.constant(rs));
+
+                        handler.onPage(split, rows);
+
+                        if (next != null) {
+                            onPage(host, split, next);
+                        } else {
+                            handler.onSplitCompleted(split);
+                            if (remaining.decrementAndGet() == 0)
+                                result.set(null);
+                            else
+                                startNext(host);
+                        }
+                    } catch (Throwable t) {
+                        result.setException(t);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setException(t);
+                }
+            }, executor);
+        }
+    }
+}
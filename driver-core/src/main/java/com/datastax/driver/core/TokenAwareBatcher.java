@@ -0,0 +1,362 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Objects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Groups individual {@link BoundStatement}s into single-partition {@code UNLOGGED}
+ * {@link BatchStatement}s.
+ * <p>
+ * Statements added to this object are grouped by keyspace and partition {@link Token}
+ * (computed from the routing key of each statement). A pending batch is sent as soon as
+ * it reaches {@link #getMaxStatements() a number of statements}, {@link #getMaxBytes() a
+ * size in bytes} or has been waiting for {@link #getLingerMillis() a given delay}, whichever
+ * comes first.
+ * <p>
+ * Since all the statements of a batch target the same partition, the batch has the same
+ * routing key as any of them. Provided the cluster uses a {@link com.datastax.driver.core.policies.TokenAwarePolicy},
+ * each batch is thus coordinated by a replica of its partition. This makes such batches a lot
+ * cheaper than the equivalent individual writes, contrarily to multi-partition batches which
+ * put a lot of pressure on the coordinator.
+ * <p>
+ * Statements for which no routing key can be computed (or added before the token metadata is
+ * known) cannot be grouped and are executed individually right away.
+ * <p>
+ * This class is thread-safe.
+ */
+public class TokenAwareBatcher implements Closeable {
+
+    /**
+     * The default maximum number of statements in a batch.
+     */
+    public static final int DEFAULT_MAX_STATEMENTS = 100;
+
+    /**
+     * The default maximum size of the values of a batch, in bytes.
+     */
+    public static final int DEFAULT_MAX_BYTES = 5 * 1024;
+
+    /**
+     * The default delay after which a pending batch is sent, in milliseconds.
+     */
+    public static final long DEFAULT_LINGER_MILLIS = 10;
+
+    private final Session session;
+    private final Cluster.Manager manager;
+    private final int maxStatements;
+    private final int maxBytes;
+    private final long lingerMillis;
+
+    // All accesses are synchronized on this object
+    private final Map<PartitionKey, PendingBatch> pending = new HashMap<PartitionKey, PendingBatch>();
+    private boolean closed;
+
+    /**
+     * Creates a new batcher using the default limits.
+     *
+     * @param session the session to execute batches with.
+     */
+    public TokenAwareBatcher(Session session) {
+        this(session, DEFAULT_MAX_STATEMENTS, DEFAULT_MAX_BYTES, DEFAULT_LINGER_MILLIS);
+    }
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param session the session to execute batches with.
+     * @param maxStatements the maximum number of statements in a batch.
+     * @param maxBytes the maximum cumulated size of the bound values of a batch, in bytes. Note
+     * that a statement whose values are bigger than this is still sent, alone in its batch.
+     * @param lingerMillis the maximum delay a statement can wait for its batch to fill up before
+     * it gets sent, in milliseconds.
+     *
+     * @throws IllegalArgumentException if {@code maxStatements} is not in the range [1, 65535], or
+     * if {@code maxBytes} or {@code lingerMillis} is negative.
+     */
+    public TokenAwareBatcher(Session session, int maxStatements, int maxBytes, long lingerMillis) {
+        if (maxStatements < 1 || maxStatements > 0xFFFF)
+            throw new IllegalArgumentException("Invalid maxStatements, should be between 1 and " + 0xFFFF + ", got " + maxStatements);
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("Invalid maxBytes, should be >= 0, got " + maxBytes);
+        if (lingerMillis < 0)
+            throw new IllegalArgumentException("Invalid lingerMillis, should be >= 0, got " + lingerMillis);
+        this.session = session;
+        this.manager = session.getCluster().manager;
+        this.maxStatements = maxStatements;
+        this.maxBytes = maxBytes;
+        this.lingerMillis = lingerMillis;
+    }
+
+    /**
+     * Returns the maximum number of statements in a batch.
+     *
+     * @return the maximum number of statements in a batch.
+     */
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    /**
+     * Returns the maximum cumulated size of the bound values of a batch, in bytes.
+     *
+     * @return the maximum size of a batch.
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the maximum delay a statement waits for its batch to fill up, in milliseconds.
+     *
+     * @return the linger delay.
+     */
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * Adds a statement to the batch of its partition.
+     * <p>
+     * This method never blocks: it may trigger the asynchronous execution of the batch
+     * the statement belongs to (or of the statement itself if it cannot be grouped).
+     * <p>
+     * Note that all the variables of {@code statement} must have been bound, and that the
+     * options of the statement (consistency level, retry policy, ...) are ignored when it is
+     * part of a batch, except for the first statement of each batch whose options are used
+     * for the whole batch.
+     *
+     * @param statement the statement to add.
+     * @return a future on the result of the batch {@code statement} ended up in. Note that
+     * this result is shared by all the statements of the batch.
+     *
+     * @throws IllegalStateException if this batcher has been closed.
+     */
+    public ListenableFuture<ResultSet> add(BoundStatement statement) {
+        PartitionKey key = partitionKey(statement);
+        if (key == null) {
+            synchronized (this) {
+                checkNotClosed();
+            }
+            return session.executeAsync(statement);
+        }
+
+        int size = sizeOf(statement);
+        SettableFuture<ResultSet> future = SettableFuture.create();
+        PendingBatch toSend = null, toSendFirst = null;
+        synchronized (this) {
+            checkNotClosed();
+            PendingBatch batch = pending.get(key);
+            if (batch != null && batch.bytes > 0 && batch.bytes + size > maxBytes) {
+                // Adding the statement would exceed the size limit, send what we have first
+                toSendFirst = remove(key, batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new PendingBatch(key);
+                pending.put(key, batch);
+                if (maxStatements > 1)
+                    batch.timeout = schedule(batch);
+            }
+            batch.add(statement, size, future);
+            if (batch.statements.size() >= maxStatements || batch.bytes >= maxBytes)
+                toSend = remove(key, batch);
+        }
+        if (toSendFirst != null)
+            send(toSendFirst);
+        if (toSend != null)
+            send(toSend);
+        return future;
+    }
+
+    /**
+     * Sends all the pending batches right away.
+     *
+     * @return a future that completes when all the batches pending at the time of the call
+     * have been executed. If any of them fails, the future fails with that error.
+     */
+    public ListenableFuture<List<ResultSet>> flush() {
+        List<PendingBatch> toSend;
+        synchronized (this) {
+            toSend = new ArrayList<PendingBatch>(pending.values());
+            for (PendingBatch batch : toSend)
+                remove(batch.key, batch);
+        }
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>(toSend.size());
+        for (PendingBatch batch : toSend)
+            futures.add(send(batch));
+        return Futures.allAsList(futures);
+    }
+
+    /**
+     * Flushes the pending batches and prevents new statements from being added.
+     * <p>
+     * This method does not wait for the pending batches to complete; use {@link #flush()}
+     * before closing if you need to do so.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+        }
+        flush();
+    }
+
+    private void checkNotClosed() {
+        if (closed)
+            throw new IllegalStateException("Can't add statements to a closed batcher");
+    }
+
+    // Must be called while holding the lock
+    private PendingBatch remove(PartitionKey key, PendingBatch batch) {
+        pending.remove(key);
+        if (batch.timeout != null)
+            batch.timeout.cancel(false);
+        return batch;
+    }
+
+    private ScheduledFuture<?> schedule(final PendingBatch batch) {
+        return manager.scheduledTasksExecutor.schedule(new ExceptionCatchingRunnable() {
+            @Override
+            public void runMayThrow() {
+                boolean expired;
+                synchronized (TokenAwareBatcher.this) {
+                    expired = pending.get(batch.key) == batch;
+                    if (expired)
+                        pending.remove(batch.key);
+                }
+                if (expired)
+                    send(batch);
+            }
+        }, lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private ListenableFuture<ResultSet> send(final PendingBatch batch) {
+        Statement statement;
+        if (batch.statements.size() == 1) {
+            statement = batch.statements.get(0);
+        } else {
+            BatchStatement bs = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            bs.addAll(batch.statements);
+            Statement first = batch.statements.get(0);
+            if (first.getConsistencyLevel() != null)
+                bs.setConsistencyLevel(first.getConsistencyLevel());
+            if (first.getSerialConsistencyLevel() != null)
+                bs.setSerialConsistencyLevel(first.getSerialConsistencyLevel());
+            if (first.getRetryPolicy() != null)
+                bs.setRetryPolicy(first.getRetryPolicy());
+            if (first.getDefaultTimestamp() != Long.MIN_VALUE)
+                bs.setDefaultTimestamp(first.getDefaultTimestamp());
+            statement = bs;
+        }
+
+        ListenableFuture<ResultSet> future;
+        try {
+            future = session.executeAsync(statement);
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                for (SettableFuture<ResultSet> f : batch.futures)
+                    f.set(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                for (SettableFuture<ResultSet> f : batch.futures)
+                    f.setException(t);
+            }
+        });
+        return future;
+    }
+
+    private PartitionKey partitionKey(BoundStatement statement) {
+        String keyspace = statement.getKeyspace();
+        ByteBuffer routingKey = statement.getRoutingKey();
+        Token.Factory factory = manager.metadata.tokenFactory();
+        if (keyspace == null || routingKey == null || factory == null)
+            return null;
+        return new PartitionKey(keyspace, factory.hash(routingKey));
+    }
+
+    private static int sizeOf(BoundStatement statement) {
+        int size = 0;
+        for (ByteBuffer value : statement.wrapper.values)
+            if (value != null)
+                size += value.remaining();
+        return size;
+    }
+
+    private static final class PartitionKey {
+        final String keyspace;
+        final Token token;
+
+        PartitionKey(String keyspace, Token token) {
+            this.keyspace = keyspace;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this)
+                return true;
+            if (!(other instanceof PartitionKey))
+                return false;
+            PartitionKey that = (PartitionKey)other;
+            return keyspace.equals(that.keyspace) && token.equals(that.token);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(keyspace, token);
+        }
+    }
+
+    private static class PendingBatch {
+        final PartitionKey key;
+        final List<Statement> statements = new ArrayList<Statement>();
+        final List<SettableFuture<ResultSet>> futures = new ArrayList<SettableFuture<ResultSet>>();
+        int bytes;
+        ScheduledFuture<?> timeout;
+
+        PendingBatch(PartitionKey key) {
+            this.key = key;
+        }
+
+        void add(BoundStatement statement, int size, SettableFuture<ResultSet> future) {
+            statements.add(statement);
+            futures.add(future);
+            bytes += size;
+        }
+    }
+}
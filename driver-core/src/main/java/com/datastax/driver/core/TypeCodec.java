@@ -30,9 +30,11 @@ import com.datastax.driver.core.utils.Bytes;
 
 abstract class TypeCodec<T> {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     // Somehow those don't seem to get properly initialized if they're not here. The reason
     // escape me right now so let's just leave it here for now
-    public static final StringCodec utf8Instance = new StringCodec(Charset.forName("UTF-8"));
+    public static final StringCodec utf8Instance = new StringCodec(UTF_8);
     public static final StringCodec asciiInstance = new StringCodec(Charset.forName("US-ASCII"));
 
     private static final Map<DataType.Name, TypeCodec<?>> primitiveCodecs = new EnumMap<DataType.Name, TypeCodec<?>>(DataType.Name.class);
@@ -264,7 +266,7 @@ abstract class TypeCodec<T> {
         return length | (bb.get() & 0xFF);
     }
 
-    private static int readCollectionSize(ByteBuffer input, ProtocolVersion version) {
+    static int readCollectionSize(ByteBuffer input, ProtocolVersion version) {
         switch (version) {
             case V1:
             case V2:
@@ -309,6 +311,114 @@ abstract class TypeCodec<T> {
         }
     }
 
+    // Bulk (de)serialization of collections of fixed-size numeric values to and from primitive arrays. The encoding
+    // is the one of lists and sets, but this avoids boxing the elements and allocating a buffer for each of them.
+
+    private static ByteBuffer allocateArray(int elements, int elementSize, ProtocolVersion version) {
+        int sizeOfSize = sizeOfCollectionSize(elements, version);
+        ByteBuffer result = ByteBuffer.allocate(sizeOfSize + elements * (sizeOfSize + elementSize));
+        writeCollectionSize(result, elements, version);
+        return result;
+    }
+
+    private static void readElementSize(ByteBuffer input, int expected, ProtocolVersion version) {
+        int size = readCollectionSize(input, version);
+        if (size != expected)
+            throw new InvalidTypeException(String.format("Invalid collection element size, expecting %d bytes but got %d", expected, size));
+    }
+
+    static ByteBuffer serializeLongArray(long[] values, ProtocolVersion version) {
+        ByteBuffer result = allocateArray(values.length, 8, version);
+        for (long value : values) {
+            writeCollectionSize(result, 8, version);
+            result.putLong(value);
+        }
+        return (ByteBuffer)result.flip();
+    }
+
+    static long[] deserializeLongArray(ByteBuffer bytes, ProtocolVersion version) {
+        try {
+            ByteBuffer input = bytes.duplicate();
+            long[] result = new long[readCollectionSize(input, version)];
+            for (int i = 0; i < result.length; i++) {
+                readElementSize(input, 8, version);
+                result[i] = input.getLong();
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTypeException("Not enough bytes to deserialize collection");
+        }
+    }
+
+    static ByteBuffer serializeIntArray(int[] values, ProtocolVersion version) {
+        ByteBuffer result = allocateArray(values.length, 4, version);
+        for (int value : values) {
+            writeCollectionSize(result, 4, version);
+            result.putInt(value);
+        }
+        return (ByteBuffer)result.flip();
+    }
+
+    static int[] deserializeIntArray(ByteBuffer bytes, ProtocolVersion version) {
+        try {
+            ByteBuffer input = bytes.duplicate();
+            int[] result = new int[readCollectionSize(input, version)];
+            for (int i = 0; i < result.length; i++) {
+                readElementSize(input, 4, version);
+                result[i] = input.getInt();
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTypeException("Not enough bytes to deserialize collection");
+        }
+    }
+
+    static ByteBuffer serializeDoubleArray(double[] values, ProtocolVersion version) {
+        ByteBuffer result = allocateArray(values.length, 8, version);
+        for (double value : values) {
+            writeCollectionSize(result, 8, version);
+            result.putDouble(value);
+        }
+        return (ByteBuffer)result.flip();
+    }
+
+    static double[] deserializeDoubleArray(ByteBuffer bytes, ProtocolVersion version) {
+        try {
+            ByteBuffer input = bytes.duplicate();
+            double[] result = new double[readCollectionSize(input, version)];
+            for (int i = 0; i < result.length; i++) {
+                readElementSize(input, 8, version);
+                result[i] = input.getDouble();
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTypeException("Not enough bytes to deserialize collection");
+        }
+    }
+
+    static ByteBuffer serializeFloatArray(float[] values, ProtocolVersion version) {
+        ByteBuffer result = allocateArray(values.length, 4, version);
+        for (float value : values) {
+            writeCollectionSize(result, 4, version);
+            result.putFloat(value);
+        }
+        return (ByteBuffer)result.flip();
+    }
+
+    static float[] deserializeFloatArray(ByteBuffer bytes, ProtocolVersion version) {
+        try {
+            ByteBuffer input = bytes.duplicate();
+            float[] result = new float[readCollectionSize(input, version)];
+            for (int i = 0; i < result.length; i++) {
+                readElementSize(input, 4, version);
+                result[i] = input.getFloat();
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTypeException("Not enough bytes to deserialize collection");
+        }
+    }
+
     private static ByteBuffer readBytes(ByteBuffer bb, int length) {
         ByteBuffer copy = bb.duplicate();
         copy.limit(copy.position() + length);
@@ -316,7 +426,7 @@ abstract class TypeCodec<T> {
         return copy;
     }
 
-    private static ByteBuffer readCollectionValue(ByteBuffer input, ProtocolVersion version) {
+    static ByteBuffer readCollectionValue(ByteBuffer input, ProtocolVersion version) {
         int size;
         switch (version) {
             case V1:
@@ -407,7 +517,22 @@ abstract class TypeCodec<T> {
 
         @Override
         public String deserialize(ByteBuffer bytes) {
-            return new String(Bytes.getArray(bytes), charset);
+            byte[] array;
+            int offset;
+            if (bytes.hasArray()) {
+                array = bytes.array();
+                offset = bytes.arrayOffset() + bytes.position();
+            } else {
+                array = Bytes.getArray(bytes);
+                offset = 0;
+            }
+            int length = bytes.remaining();
+
+            // Avoid the charset machinery for the common cases
+            if (charset == UTF_8)
+                return CBUtil.decodeUtf8(array, offset, length);
+            String str = CBUtil.decodeAscii(array, offset, length);
+            return str != null ? str : new String(array, offset, length, charset);
         }
     }
 
@@ -35,7 +35,9 @@ import com.datastax.driver.core.*;
  *   return the {@code LOCAL} replicas for the query (based on {@link Statement#getRoutingKey})
  *   <i>if possible</i> (i.e. if the query {@code getRoutingKey} method
  *   doesn't return {@code null} and if {@link Metadata#getReplicas}
- *   returns a non empty set of replicas for that partition key). If no
+ *   returns a non empty set of replicas for that partition key). Queries
+ *   without a routing key but with a {@link Statement#getRoutingToken routing token}
+ *   are routed to the replicas of that token instead. If no
  *   local replica can be either found or successfully contacted, the rest
  *   of the query plan will fallback to one of the child policy.</li>
  * </ul>
@@ -123,10 +125,13 @@ public class TokenAwarePolicy implements ChainableLoadBalancingPolicy, Closeable
         if (keyspace == null)
             keyspace = loggedKeyspace;
 
-        if (partitionKey == null || keyspace == null)
+        Token routingToken = partitionKey == null ? statement.getRoutingToken() : null;
+        if ((partitionKey == null && routingToken == null) || keyspace == null)
             return childPolicy.newQueryPlan(keyspace, statement);
 
-        final Set<Host> replicas = clusterMetadata.getReplicas(Metadata.quote(keyspace), partitionKey);
+        final Set<Host> replicas = partitionKey == null
+            ? clusterMetadata.getReplicas(Metadata.quote(keyspace), routingToken)
+            : clusterMetadata.getReplicas(Metadata.quote(keyspace), partitionKey);
         if (replicas.isEmpty())
             return childPolicy.newQueryPlan(loggedKeyspace, statement);
 
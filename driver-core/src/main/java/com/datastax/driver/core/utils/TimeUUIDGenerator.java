@@ -0,0 +1,87 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core.utils;
+
+import java.util.UUID;
+
+/**
+ * A generator of time-based (version 1) UUIDs for applications that generate
+ * many of them from many threads.
+ * <p>
+ * {@link UUIDs#timeBased()} reserves the timestamp of each UUID on a counter
+ * shared by all threads. This generator reserves blocks of consecutive
+ * timestamps on that counter instead, and each thread then uses its own block.
+ * The generated UUIDs are unique among all threads (including UUIDs generated
+ * by {@link UUIDs}), increase for a given thread, and have the timestamp of the
+ * millisecond in which they were generated: a thread drops the rest of its
+ * block when the clock moves on to the next millisecond.
+ * <p>
+ * Since at most 10000 UUIDs can be generated for a given millisecond (the
+ * precision of version 1 UUIDs is 100 nanoseconds), the block size should stay
+ * small: timestamps reserved but not used by a thread are lost for the other
+ * threads, which have to wait for the next millisecond if all of them are
+ * reserved.
+ */
+public final class TimeUUIDGenerator {
+
+    private final int blockSize;
+
+    // We're deliberately avoiding an anonymous subclass with initialValue(), because this can introduce
+    // classloader leaks in managed environments like Tomcat
+    private final ThreadLocal<Block> blocks = new ThreadLocal<Block>();
+
+    /**
+     * Creates a new generator.
+     *
+     * @param blockSize the number of timestamps to reserve at once for a
+     * thread.
+     *
+     * @throws IllegalArgumentException if {@code blockSize} is not in the range
+     * [1, 10000].
+     */
+    public TimeUUIDGenerator(int blockSize) {
+        if (blockSize < 1 || blockSize > 10000)
+            throw new IllegalArgumentException("Invalid block size, should be between 1 and 10000, got " + blockSize);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates a new time-based UUID.
+     *
+     * @return a new time-based UUID.
+     */
+    public UUID next() {
+        Block block = blocks.get();
+        if (block == null) {
+            block = new Block();
+            blocks.set(block);
+        }
+
+        if (block.next == block.end
+            || UUIDs.millisOf(block.next) < UUIDs.millisOf(UUIDs.fromUnixTimestamp(System.currentTimeMillis()))) {
+            long first = UUIDs.reserveTimestamps(blockSize);
+            block.next = first;
+            block.end = first + UUIDs.reservedCount(first, blockSize);
+        }
+        return UUIDs.makeTimeBased(block.next++);
+    }
+
+    // Only accessed by its thread
+    private static class Block {
+        long next;
+        long end;
+    }
+}
@@ -142,7 +142,42 @@ public final class UUIDs {
      * @return a new time-based UUID.
      */
     public static UUID timeBased() {
-        return new UUID(makeMSB(getCurrentTimestamp()), CLOCK_SEQ_AND_NODE);
+        return makeTimeBased(getCurrentTimestamp());
+    }
+
+    /**
+     * Creates new time-based (version 1) UUIDs.
+     * <p>
+     * This is equivalent to calling {@link #timeBased()} {@code n} times, but
+     * the timestamps of the UUIDs are reserved in bulk, which is much cheaper
+     * when many threads generate UUIDs concurrently. The UUIDs are returned in
+     * increasing timestamp order.
+     * <p>
+     * Note that at most 10000 UUIDs can be generated for a given millisecond
+     * (the precision of version 1 UUIDs is 100 nanoseconds): generating more
+     * UUIDs than that waits for the following milliseconds.
+     *
+     * @param n the number of UUIDs to generate.
+     * @return the new time-based UUIDs.
+     *
+     * @throws IllegalArgumentException if {@code n < 0}.
+     */
+    public static List<UUID> timeBased(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Invalid number of UUIDs: " + n);
+        UUID[] uuids = new UUID[n];
+        int i = 0;
+        while (i < n) {
+            long first = reserveTimestamps(n - i);
+            int count = reservedCount(first, n - i);
+            for (int j = 0; j < count; j++)
+                uuids[i++] = makeTimeBased(first + j);
+        }
+        return Arrays.asList(uuids);
+    }
+
+    static UUID makeTimeBased(long timestamp) {
+        return new UUID(makeMSB(timestamp), CLOCK_SEQ_AND_NODE);
     }
 
     /**
@@ -232,6 +267,10 @@ public final class UUIDs {
         return (timestamp / 10000) + START_EPOCH;
     }
 
+    private static long getCurrentTimestamp() {
+        return reserveTimestamps(1);
+    }
+
     /*
      * Note that currently we use System.currentTimeMillis() for a base time in
      * milliseconds, and then if we are in the same milliseconds that the
@@ -242,37 +281,47 @@ public final class UUIDs {
      * admittedly unlikely in a real application, is very achievable on even
      * modest machines), then we stall the generator (busy spin) until the next
      * millisecond as required by the RFC.
+     *
+     * This reserves up to n consecutive timestamps in the same millisecond (see
+     * reservedCount), and returns the first one.
      */
-    private static long getCurrentTimestamp() {
+    static long reserveTimestamps(int n) {
         while (true) {
             long now = fromUnixTimestamp(System.currentTimeMillis());
             long last = lastTimestamp.get();
+            long first;
             if (now > last) {
-                if (lastTimestamp.compareAndSet(last, now))
-                    return now;
+                first = now;
             } else {
-                long lastMillis = millisOf(last);
-                // If the clock went back in time, bail out
-                if (millisOf(now) < millisOf(last))
-                    return lastTimestamp.incrementAndGet();
-
-                long candidate = last + 1;
+                first = last + 1;
                 // If we've generated more than 10k uuid in that millisecond,
-                // we restart the whole process until we get to the next millis.
-                // Otherwise, we try use our candidate ... unless we've been
-                // beaten by another thread in which case we try again.
-                if (millisOf(candidate) == lastMillis && lastTimestamp.compareAndSet(last, candidate))
-                    return candidate;
+                // we restart the whole process until we get to the next millis
+                // (unless the clock went back in time, in which case we bail out
+                // and keep incrementing).
+                if (millisOf(now) >= millisOf(last) && millisOf(first) != millisOf(last))
+                    continue;
             }
+            // We try use our candidates ... unless we've been beaten by another
+            // thread in which case we try again.
+            if (lastTimestamp.compareAndSet(last, first + reservedCount(first, n) - 1))
+                return first;
         }
     }
 
+    /*
+     * The number of timestamps reserved by reserveTimestamps(n) when it returns
+     * first: the reservation stops at the end of the millisecond.
+     */
+    static int reservedCount(long first, int n) {
+        return (int)Math.min(n, 10000 - first % 10000);
+    }
+
     // Package visible for testing
     static long fromUnixTimestamp(long tstamp) {
         return (tstamp - START_EPOCH) * 10000;
     }
 
-    private static long millisOf(long timestamp) {
+    static long millisOf(long timestamp) {
         return timestamp / 10000;
     }
 
@@ -0,0 +1,72 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.charset.Charset;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CBUtilTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test(groups = "unit")
+    public void should_decode_utf8_like_the_jdk() {
+        String[] strings = { "", "ascii only", "caf\u00e9", "\u20ac 100", "\ud83d\ude00 emoji", "mixed \u00e9\u20ac\ud83d\ude00 text" };
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(UTF_8);
+            assertThat(CBUtil.decodeUtf8(bytes, 0, bytes.length)).isEqualTo(s);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void should_replace_malformed_utf8_like_the_jdk() {
+        byte[][] malformed = {
+            { 'a', (byte)0xc3 },                 // truncated sequence
+            { (byte)0xc0, (byte)0x80 },          // overlong encoding
+            { (byte)0xed, (byte)0xa0, (byte)0x80 }, // encoded surrogate
+            { (byte)0xff, 'b' }                  // invalid byte
+        };
+        for (byte[] bytes : malformed)
+            assertThat(CBUtil.decodeUtf8(bytes, 0, bytes.length)).isEqualTo(new String(bytes, UTF_8));
+    }
+
+    @Test(groups = "unit")
+    public void should_decode_ascii_only_if_7_bit() {
+        byte[] bytes = "xxascii".getBytes(UTF_8);
+        assertThat(CBUtil.decodeAscii(bytes, 2, 5)).isEqualTo("ascii");
+        assertThat(CBUtil.decodeAscii(new byte[]{ 'a', (byte)0xe9 }, 0, 2)).isNull();
+    }
+
+    @Test(groups = "unit")
+    public void should_read_cached_strings() {
+        ByteBuf cb = Unpooled.buffer();
+        CBUtil.writeString("column_name", cb);
+        CBUtil.writeString("column_name", cb);
+        CBUtil.writeString("caf\u00e9", cb);
+
+        String first = CBUtil.readCachedString(cb);
+        String second = CBUtil.readCachedString(cb);
+        assertThat(first).isEqualTo("column_name");
+        assertThat(second).isSameAs(first);
+        assertThat(CBUtil.readCachedString(cb)).isEqualTo("caf\u00e9");
+        assertThat(cb.readableBytes()).isEqualTo(0);
+    }
+}
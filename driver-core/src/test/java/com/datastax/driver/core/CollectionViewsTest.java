@@ -0,0 +1,113 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static com.datastax.driver.core.DataType.*;
+
+public class CollectionViewsTest {
+
+    @Test(groups = "unit")
+    public void should_view_list() {
+        for (ProtocolVersion version : new ProtocolVersion[]{ ProtocolVersion.V2, ProtocolVersion.V3 }) {
+            List<String> list = Lists.newArrayList("a", "b", "c");
+            ByteBuffer bytes = list(text()).serialize(list, version);
+
+            List<String> view = CollectionViews.listView(bytes, text(), version);
+            assertThat(view).hasSize(3);
+            assertThat(view.get(1)).isEqualTo("b");
+            assertThat(view).isEqualTo(list);
+            assertThat(view.hashCode()).isEqualTo(list.hashCode());
+        }
+    }
+
+    @Test(groups = "unit")
+    public void should_view_set() {
+        for (ProtocolVersion version : new ProtocolVersion[]{ ProtocolVersion.V2, ProtocolVersion.V3 }) {
+            Set<Integer> set = Sets.newLinkedHashSet(Arrays.asList(1, 2, 3));
+            ByteBuffer bytes = set(cint()).serialize(set, version);
+
+            Set<Integer> view = CollectionViews.setView(bytes, cint(), version);
+            assertThat(view).hasSize(3);
+            assertThat(view.contains(2)).isTrue();
+            assertThat(view.contains(4)).isFalse();
+            assertThat(view.contains("2")).isFalse();
+            assertThat(view).isEqualTo(set);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void should_view_map() {
+        for (ProtocolVersion version : new ProtocolVersion[]{ ProtocolVersion.V2, ProtocolVersion.V3 }) {
+            Map<String, Double> map = ImmutableMap.of("a", 1.0, "b", 2.0);
+            ByteBuffer bytes = map(text(), cdouble()).serialize(map, version);
+
+            Map<String, Double> view = CollectionViews.mapView(bytes, text(), cdouble(), version);
+            assertThat(view).hasSize(2);
+            assertThat(view.get("b")).isEqualTo(2.0);
+            assertThat(view.get("c")).isNull();
+            assertThat(view.containsKey("a")).isTrue();
+            assertThat(view).isEqualTo(map);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void should_lookup_keys_that_are_not_byte_comparable() {
+        Map<Double, String> map = ImmutableMap.of(1.0, "a", Double.NaN, "b");
+        ByteBuffer bytes = map(cdouble(), text()).serialize(map, ProtocolVersion.V3);
+
+        Map<Double, String> view = CollectionViews.mapView(bytes, cdouble(), text(), ProtocolVersion.V3);
+        assertThat(view.get(Double.NaN)).isEqualTo("b");
+        assertThat(view.get(1.0)).isEqualTo("a");
+    }
+
+    @Test(groups = "unit")
+    public void should_decode_each_element_once() {
+        ByteBuffer bytes = list(timestamp()).serialize(Lists.newArrayList(new Date(1), new Date(2)), ProtocolVersion.V3);
+
+        List<Date> view = CollectionViews.listView(bytes, timestamp(), ProtocolVersion.V3);
+        assertThat(view.get(1)).isSameAs(view.get(1));
+    }
+
+    @Test(groups = "unit")
+    public void should_lookup_large_collections() {
+        Map<String, Integer> map = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < 1000; i++)
+            map.put("key" + i, i);
+        ByteBuffer bytes = map(text(), cint()).serialize(map, ProtocolVersion.V3);
+
+        Map<String, Integer> view = CollectionViews.mapView(bytes, text(), cint(), ProtocolVersion.V3);
+        for (int i = 0; i < 1000; i++)
+            assertThat(view.get("key" + i)).isEqualTo(i);
+        assertThat(view.containsKey("key1000")).isFalse();
+        assertThat(view.containsKey(1)).isFalse();
+    }
+
+    @Test(groups = "unit", expectedExceptions = UnsupportedOperationException.class)
+    public void should_be_read_only() {
+        ByteBuffer bytes = list(cint()).serialize(Lists.newArrayList(1), ProtocolVersion.V3);
+        CollectionViews.<Integer>listView(bytes, cint(), ProtocolVersion.V3).add(2);
+    }
+}
@@ -16,6 +16,7 @@
 package com.datastax.driver.core;
 
 import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 public class ColumnDefinitionsTest {
@@ -68,4 +69,64 @@ public class ColumnDefinitionsTest {
 
         assertTrue(defs.getType("column").equals(DataType.text()));
     }
+
+    @Test(groups = "unit")
+    public void handleTest() {
+
+        ColumnDefinitions defs1 = new ColumnDefinitions(new ColumnDefinitions.Definition[]{
+            new ColumnDefinitions.Definition("ks", "cf", "foo", DataType.text()),
+            new ColumnDefinitions.Definition("ks", "cf", "FOO", DataType.cint())
+        });
+        ColumnDefinitions defs2 = new ColumnDefinitions(new ColumnDefinitions.Definition[]{
+            new ColumnDefinitions.Definition("ks", "cf", "FOO", DataType.cint())
+        });
+
+        ColumnHandle foo = ColumnHandle.of("Foo");
+        ColumnHandle quoted = ColumnHandle.of("\"FOO\"");
+        ColumnHandle missing = ColumnHandle.of("bar");
+
+        assertEquals(foo.getIndexOf(defs1), 0);
+        assertEquals(foo.getIndexOf(defs1), 0);
+        assertEquals(quoted.getIndexOf(defs1), 1);
+        assertEquals(missing.getIndexOf(defs1), -1);
+
+        // Resolved again when the definitions change
+        assertEquals(foo.getIndexOf(defs2), 0);
+        assertEquals(quoted.getIndexOf(defs2), 0);
+        assertEquals(missing.getIndexOf(defs2), -1);
+        assertEquals(quoted.getIndexOf(defs1), 1);
+    }
+
+    @Test(groups = "unit")
+    public void handleShouldRememberSeveralDefinitionsTest() {
+        final int[] lookups = new int[1];
+        ColumnDefinitions[] defs = new ColumnDefinitions[5];
+        for (int i = 0; i < defs.length; i++) {
+            ColumnDefinitions.Definition[] columns = new ColumnDefinitions.Definition[i + 1];
+            for (int j = 0; j < i; j++)
+                columns[j] = new ColumnDefinitions.Definition("ks", "cf", "c" + j, DataType.text());
+            columns[i] = new ColumnDefinitions.Definition("ks", "cf", "foo", DataType.text());
+            defs[i] = new ColumnDefinitions(columns) {
+                @Override
+                int findFirstIdx(String name) {
+                    lookups[0] += 1;
+                    return super.findFirstIdx(name);
+                }
+            };
+        }
+        ColumnHandle foo = ColumnHandle.of("foo");
+
+        // Alternating between four definitions only looks the name up once in each
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++)
+                assertEquals(foo.getIndexOf(defs[i]), i);
+        }
+        assertEquals(lookups[0], 4);
+
+        // A fifth one replaces the oldest entry
+        assertEquals(foo.getIndexOf(defs[4]), 4);
+        assertEquals(foo.getIndexOf(defs[1]), 1);
+        assertEquals(foo.getIndexOf(defs[0]), 0);
+        assertEquals(lookups[0], 6);
+    }
 }
@@ -17,6 +17,9 @@ package com.datastax.driver.core;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
@@ -68,4 +71,80 @@ public class FetchingTest extends CCMBridge.PerClassSingleNodeCluster {
             throw e;
         }
     }
+
+    @Test(groups = "short")
+    public void should_prefetch_next_page_when_under_threshold() throws Throwable {
+        QueryOptions queryOptions = cluster.getConfiguration().getQueryOptions();
+        try {
+            String key = "prefetch_test";
+            for (int i = 0; i < 20; i++)
+                session.execute(String.format("INSERT INTO test (k, v) VALUES ('%s', %d)", key, i));
+
+            queryOptions.setPrefetchThreshold(0.5f);
+            SimpleStatement st = new SimpleStatement(String.format("SELECT v FROM test WHERE k='%s'", key));
+            st.setFetchSize(10);
+            ResultSet rs = session.execute(st);
+
+            // Consuming 5 rows out of 10 crosses the threshold
+            for (int i = 0; i < 5; i++)
+                assertEquals(rs.one().getInt(0), i);
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (rs.getAvailableWithoutFetching() == 5 && System.currentTimeMillis() < deadline)
+                Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            assertEquals(rs.getAvailableWithoutFetching(), 15);
+
+            for (int i = 5; i < 20; i++)
+                assertEquals(rs.one().getInt(0), i);
+            assertTrue(rs.isExhausted());
+
+        } catch (UnsupportedFeatureException e) {
+            // This is expected when testing the protocol v1
+            if (cluster.getConfiguration().getProtocolOptions().getProtocolVersionEnum() != ProtocolVersion.V1)
+                throw e;
+        } catch (Throwable e) {
+            errorOut();
+            throw e;
+        } finally {
+            queryOptions.setPrefetchThreshold(QueryOptions.DEFAULT_PREFETCH_THRESHOLD);
+        }
+    }
+
+    @Test(groups = "short")
+    public void should_adapt_fetch_size_to_page_size_in_bytes() throws Throwable {
+        QueryOptions queryOptions = cluster.getConfiguration().getQueryOptions();
+        try {
+            String key = "bytes_test";
+            for (int i = 0; i < 100; i++)
+                session.execute(String.format("INSERT INTO test (k, v) VALUES ('%s', %d)", key, i));
+
+            // Each row is a single int, serialized as 8 bytes (length + value): aim for 5 rows per page
+            queryOptions.setFetchSizeInBytes(40);
+            SimpleStatement st = new SimpleStatement(String.format("SELECT v FROM test WHERE k='%s'", key));
+            st.setFetchSize(20);
+            ResultSet rs = session.execute(st);
+
+            // The first page uses the statement's fetch size
+            assertEquals(rs.getAvailableWithoutFetching(), 20);
+            assertTrue(session.getState().getBufferedResultBytes() > 0);
+            for (int i = 0; i < 20; i++)
+                assertEquals(rs.one().getInt(0), i);
+
+            assertFalse(rs.isExhausted());
+            assertEquals(rs.getAvailableWithoutFetching(), 5);
+            for (int i = 20; i < 100; i++)
+                assertEquals(rs.one().getInt(0), i);
+            assertTrue(rs.isExhausted());
+
+        } catch (UnsupportedFeatureException e) {
+            // This is expected when testing the protocol v1
+            if (cluster.getConfiguration().getProtocolOptions().getProtocolVersionEnum() != ProtocolVersion.V1)
+                throw e;
+        } catch (Throwable e) {
+            errorOut();
+            throw e;
+        } finally {
+            queryOptions.setFetchSizeInBytes(QueryOptions.DEFAULT_FETCH_SIZE_IN_BYTES);
+        }
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.*;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PagePublisherTest {
+
+    @Test(groups = "unit")
+    public void should_fetch_pages_on_demand_only() {
+        FakeResultSet rs = new FakeResultSet(3, 2);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher(Futures.<ResultSet>immediateFuture(rs)).subscribe(subscriber);
+
+        assertThat(subscriber.pages).isEmpty();
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.pages).hasSize(1);
+        assertThat(rs.pendingFetch).isNull();
+
+        subscriber.subscription.request(1);
+        // The second page needs to be fetched
+        assertThat(rs.pendingFetch).isNotNull();
+        assertThat(subscriber.pages).hasSize(1);
+        rs.completeFetch();
+        assertThat(subscriber.pages).hasSize(2);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        rs.completeFetch();
+        assertThat(subscriber.pages).hasSize(3);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test(groups = "unit")
+    public void should_support_reentrant_requests() {
+        FakeResultSet rs = new FakeResultSet(2, 2);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onPage(List<Row> rows) {
+                super.onPage(rows);
+                subscription.request(1);
+            }
+        };
+        new PagePublisher(Futures.<ResultSet>immediateFuture(rs)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        rs.completeFetch();
+
+        assertThat(subscriber.pages).hasSize(2);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test(groups = "unit")
+    public void should_signal_query_failure() {
+        RuntimeException failure = new RuntimeException("mock failure");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher(Futures.<ResultSet>immediateFailedFuture(failure)).subscribe(subscriber);
+
+        assertThat(subscriber.error).isSameAs(failure);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test(groups = "unit")
+    public void should_signal_subscriber_failure_and_stop_publishing() {
+        final RuntimeException failure = new RuntimeException("mock failure");
+        FakeResultSet rs = new FakeResultSet(3, 2);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onPage(List<Row> rows) {
+                super.onPage(rows);
+                throw failure;
+            }
+        };
+        new PagePublisher(Futures.<ResultSet>immediateFuture(rs)).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.pages).hasSize(1);
+        assertThat(subscriber.error).isSameAs(failure);
+
+        // The subscription was cancelled, but the publisher still responds
+        assertThat(rs.pendingFetch).isNull();
+        subscriber.subscription.request(1);
+        assertThat(subscriber.pages).hasSize(1);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test(groups = "unit")
+    public void should_reject_second_subscriber() {
+        PagePublisher publisher = new PagePublisher(Futures.<ResultSet>immediateFuture(new FakeResultSet(1, 1)));
+        publisher.subscribe(new RecordingSubscriber());
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    static class RecordingSubscriber implements PagePublisher.Subscriber {
+        PagePublisher.Subscription subscription;
+        final List<List<Row>> pages = new ArrayList<List<Row>>();
+        volatile boolean completed;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(PagePublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onPage(List<Row> rows) {
+            pages.add(rows);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * A result set with {@code pages} pages of {@code pageSize} rows, whose fetches are
+     * completed manually.
+     */
+    static class FakeResultSet implements ResultSet {
+        private final int pageSize;
+        private int remainingPages;
+        private final Queue<Row> rows = new LinkedList<Row>();
+        SettableFuture<Void> pendingFetch;
+
+        FakeResultSet(int pages, int pageSize) {
+            this.pageSize = pageSize;
+            this.remainingPages = pages - 1;
+            addPage();
+        }
+
+        private void addPage() {
+            for (int i = 0; i < pageSize; i++)
+                rows.add(mock(Row.class));
+        }
+
+        void completeFetch() {
+            SettableFuture<Void> future = pendingFetch;
+            pendingFetch = null;
+            remainingPages -= 1;
+            addPage();
+            future.set(null);
+        }
+
+        @Override
+        public ColumnDefinitions getColumnDefinitions() {
+            return ColumnDefinitions.EMPTY;
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return rows.isEmpty() && isFullyFetched();
+        }
+
+        @Override
+        public Row one() {
+            return rows.poll();
+        }
+
+        @Override
+        public List<Row> all() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getAvailableWithoutFetching() {
+            return rows.size();
+        }
+
+        @Override
+        public boolean isFullyFetched() {
+            return remainingPages == 0;
+        }
+
+        @Override
+        public ListenableFuture<Void> fetchMoreResults() {
+            assertThat(pendingFetch).isNull();
+            pendingFetch = SettableFuture.create();
+            return pendingFetch;
+        }
+
+        @Override
+        public ExecutionInfo getExecutionInfo() {
+            return null;
+        }
+
+        @Override
+        public List<ExecutionInfo> getAllExecutionInfo() {
+            return null;
+        }
+
+        @Override
+        public boolean wasApplied() {
+            return true;
+        }
+    }
+}
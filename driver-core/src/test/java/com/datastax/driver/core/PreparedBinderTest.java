@@ -0,0 +1,104 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import com.google.common.collect.Lists;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.fail;
+
+import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+
+public class PreparedBinderTest {
+
+    private static final ProtocolVersion V3 = ProtocolVersion.V3;
+
+    private final PreparedBinder binder = new PreparedBinder(new ColumnDefinitions(new Definition[]{
+        new Definition("ks", "t", "i", DataType.cint()),
+        new Definition("ks", "t", "l", DataType.bigint()),
+        new Definition("ks", "t", "s", DataType.text()),
+        new Definition("ks", "t", "d", DataType.timestamp()),
+        new Definition("ks", "t", "li", DataType.list(DataType.cint()))
+    }), V3);
+
+    @Test(groups = "unit")
+    public void should_serialize_values_like_codecs() {
+        Date date = new Date(1234L);
+        ByteBuffer[] serialized = new ByteBuffer[5];
+        binder.bind(serialized, 42, 1L << 40, "foo", date, Lists.newArrayList(1, 2));
+
+        assertThat(serialized[0]).isEqualTo(TypeCodec.IntCodec.instance.serializeNoBoxing(42));
+        assertThat(serialized[1]).isEqualTo(TypeCodec.LongCodec.instance.serializeNoBoxing(1L << 40));
+        assertThat(serialized[2]).isEqualTo(DataType.text().serialize("foo", V3));
+        assertThat(serialized[3]).isEqualTo(TypeCodec.DateCodec.instance.serialize(date));
+        assertThat(serialized[4]).isEqualTo(DataType.list(DataType.cint()).serialize(Lists.newArrayList(1, 2), V3));
+    }
+
+    @Test(groups = "unit")
+    public void should_write_fixed_size_values_in_a_single_buffer() {
+        ByteBuffer[] serialized = new ByteBuffer[5];
+        binder.bind(serialized, 42, 1L, "foo", new Date());
+
+        assertThat(serialized[0].array()).isSameAs(serialized[1].array()).isSameAs(serialized[3].array());
+        assertThat(serialized[0].position()).isEqualTo(0);
+        assertThat(serialized[0].remaining()).isEqualTo(4);
+        assertThat(serialized[1].remaining()).isEqualTo(8);
+        assertThat(serialized[4]).isNull();
+    }
+
+    @Test(groups = "unit")
+    public void should_bind_null_values() {
+        ByteBuffer[] serialized = new ByteBuffer[5];
+        binder.bind(serialized, null, 1L);
+
+        assertThat(serialized[0]).isNull();
+        assertThat(serialized[1].getLong(serialized[1].position())).isEqualTo(1L);
+    }
+
+    @Test(groups = "unit", expectedExceptions = InvalidTypeException.class)
+    public void should_reject_value_of_wrong_type() {
+        binder.bind(new ByteBuffer[5], 1L);
+    }
+
+    @Test(groups = "unit", expectedExceptions = InvalidTypeException.class)
+    public void should_reject_list_of_wrong_type() {
+        binder.bind(new ByteBuffer[5], 1, 1L, "foo", new Date(), Lists.newArrayList("bar"));
+    }
+
+    @Test(groups = "unit")
+    public void should_leave_values_untouched_if_one_is_invalid() {
+        ByteBuffer[] serialized = new ByteBuffer[5];
+        binder.bind(serialized, 1, 2L);
+        ByteBuffer[] before = serialized.clone();
+        try {
+            binder.bind(serialized, 3, 4L, "foo", new Date(), Lists.newArrayList("bar"));
+            fail("Expected an InvalidTypeException");
+        } catch (InvalidTypeException e) {
+            // expected
+        }
+        assertThat(serialized).isEqualTo(before);
+    }
+
+    @Test(groups = "unit", expectedExceptions = IllegalArgumentException.class)
+    public void should_reject_too_many_values() {
+        binder.bind(new ByteBuffer[5], 1, 1L, "foo", new Date(), null, null);
+    }
+}
@@ -15,10 +15,14 @@
  */
 package com.datastax.driver.core;
 
+import java.io.File;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import com.codahale.metrics.Gauge;
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
+import com.google.common.io.Files;
 import org.scassandra.http.client.PreparedStatementPreparation;
 import org.testng.annotations.*;
 
@@ -212,6 +216,167 @@ public class QueryOptionsTest {
         valideReprepareOnUp(false);
     }
 
+    /**
+     * <p>
+     * Validates that preparing the same query twice in a session only sends one
+     * PREPARE request per host, and returns the same object.
+     * </p>
+     *
+     * @test_category prepared_statements:prepared
+     * @expected_result the second call is served from the session's cache.
+     */
+    @Test(groups = "short")
+    public void should_not_prepare_twice_when_statement_is_cached() {
+        queryOptions.setPrepareOnAllHosts(false);
+        String query = "select sansa_stark from the_known_world";
+        PreparedStatement first = session.prepare(query);
+        PreparedStatement second = session.prepare(query);
+
+        assertThat(second).isSameAs(first);
+        int preparations = 0;
+        for (int host : Lists.newArrayList(1, 2, 3))
+            preparations += scassandra.retrievePreparedStatementPreparations(host).size();
+        assertThat(preparations).isEqualTo(1);
+    }
+
+    /**
+     * <p>
+     * Validates that statements that are not re-prepared before a node is marked up
+     * (see {@link QueryOptions#setMaxEagerReprepares(int)}) are re-prepared in the background.
+     * </p>
+     *
+     * @test_category prepared_statements:prepared
+     * @expected_result all queries are eventually reprepared on the restarted node.
+     */
+    @Test(groups = "short")
+    public void should_reprepare_in_background_when_over_max_eager_reprepares() throws InterruptedException {
+        queryOptions.setMaxEagerReprepares(1).setMaxConcurrentReprepares(2);
+        for (int i = 0; i < 5; i++)
+            session.prepare("select sansa_stark from the_known_world where k = " + i);
+
+        scassandra.clearAllRecordedActivity();
+        scassandra.stop(1);
+        assertThat(cluster).host(1).goesDownWithin(10, TimeUnit.SECONDS);
+
+        scassandra.start(1);
+        assertThat(cluster).host(1).comesUpWithin(60, TimeUnit.SECONDS);
+
+        Gauge<Integer> pending = cluster.getMetrics().getPendingReprepares(host1);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (pending.getValue() > 0 && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(pending.getValue()).isEqualTo(0);
+        assertThat(scassandra.retrievePreparedStatementPreparations(1)).hasSize(5);
+    }
+
+    /**
+     * <p>
+     * Validates that statements recorded by {@link QueryOptions#setPreparedStatementRegistry(File)}
+     * are prepared when the next cluster starts, so that preparing them again does not contact Cassandra.
+     * </p>
+     *
+     * @test_category prepared_statements:prepared
+     * @expected_result the statement is prepared on all hosts at startup, and not prepared again afterwards.
+     */
+    @Test(groups = "short")
+    public void should_prepare_recorded_statements_at_startup() throws Exception {
+        File registry = File.createTempFile("prepared-statements", ".txt");
+        registry.deleteOnExit();
+        String query = "select sansa_stark from the_known_world";
+
+        Cluster first = Cluster.builder()
+            .addContactPoint(CCMBridge.ipOfNode(2))
+            .withQueryOptions(new QueryOptions().setPreparedStatementRegistry(registry))
+            .build();
+        try {
+            first.connect().prepare(query);
+        } finally {
+            first.close();
+        }
+        scassandra.clearAllRecordedActivity();
+
+        Cluster second = Cluster.builder()
+            .addContactPoint(CCMBridge.ipOfNode(2))
+            .withQueryOptions(new QueryOptions().setPreparedStatementRegistry(registry))
+            .build();
+        try {
+            Session session = second.connect();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (countPreparations() < 3 && System.currentTimeMillis() < deadline)
+                TimeUnit.MILLISECONDS.sleep(100);
+            assertThat(countPreparations()).isEqualTo(3);
+
+            session.prepare(query);
+            assertThat(countPreparations()).isEqualTo(3);
+        } finally {
+            second.close();
+        }
+    }
+
+    /**
+     * <p>
+     * Validates that {@link QueryOptions#setMaxRecordedStatements(int)} caps the number of statements
+     * in the registry, and that the least recently used ones are dropped when the cluster is closed.
+     * </p>
+     *
+     * @test_category prepared_statements:prepared
+     * @expected_result the registry only contains the most recently used statements.
+     */
+    @Test(groups = "short")
+    public void should_keep_most_recently_used_statements_in_registry() throws Exception {
+        File registry = File.createTempFile("prepared-statements", ".txt");
+        registry.deleteOnExit();
+
+        Cluster first = Cluster.builder()
+            .addContactPoint(CCMBridge.ipOfNode(2))
+            .withQueryOptions(new QueryOptions().setPreparedStatementRegistry(registry).setMaxRecordedStatements(2))
+            .build();
+        try {
+            Session session = first.connect();
+            session.prepare("select arya_stark from the_known_world");
+            session.prepare("select bran_stark from the_known_world");
+            session.prepare("select rickon_stark from the_known_world");
+        } finally {
+            first.close();
+        }
+        scassandra.clearAllRecordedActivity();
+        assertThat(Files.readLines(registry, Charsets.UTF_8)).containsExactly(
+            "\tselect bran_stark from the_known_world",
+            "\tselect rickon_stark from the_known_world");
+
+        Cluster second = Cluster.builder()
+            .addContactPoint(CCMBridge.ipOfNode(2))
+            .withQueryOptions(new QueryOptions().setPreparedStatementRegistry(registry).setMaxRecordedStatements(2))
+            .build();
+        try {
+            Session session = second.connect();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (countPreparations() < 6 && System.currentTimeMillis() < deadline)
+                TimeUnit.MILLISECONDS.sleep(100);
+            // Using a warm statement makes it the most recently used one
+            session.prepare("select bran_stark from the_known_world");
+            session.prepare("select sansa_stark from the_known_world");
+        } finally {
+            second.close();
+        }
+        assertThat(Files.readLines(registry, Charsets.UTF_8)).containsExactly(
+            "\tselect bran_stark from the_known_world",
+            "\tselect sansa_stark from the_known_world");
+    }
+
+    @Test(groups = "unit", expectedExceptions = IllegalArgumentException.class)
+    public void should_reject_invalid_max_recorded_statements() {
+        new QueryOptions().setMaxRecordedStatements(0);
+    }
+
+    private int countPreparations() {
+        int preparations = 0;
+        for (int host : Lists.newArrayList(1, 2, 3))
+            preparations += scassandra.retrievePreparedStatementPreparations(host).size();
+        return preparations;
+    }
+
     @AfterMethod(groups = "short")
     public void afterMethod() {
         if (cluster != null)
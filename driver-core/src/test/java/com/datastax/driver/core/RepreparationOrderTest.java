@@ -0,0 +1,122 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+public class RepreparationOrderTest {
+
+    @Test(groups = "unit")
+    public void should_credit_each_statement_with_its_own_executions() {
+        PreparedId a = preparedId();
+        PreparedId b = preparedId();
+        for (int i = 0; i < 100; i++) {
+            a.recordExecution();
+            b.recordExecution();
+            b.recordExecution();
+        }
+        assertThat(a.executions()).isEqualTo(100);
+        assertThat(b.executions()).isEqualTo(200);
+    }
+
+    @Test(groups = "unit")
+    public void should_count_executions_from_concurrent_threads() throws InterruptedException {
+        final PreparedId id = preparedId();
+        Thread[] threads = new Thread[2 * PreparedId.EXECUTION_STRIPES];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++)
+                        id.recordExecution();
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertThat(id.executions()).isEqualTo(threads.length * 1000);
+    }
+
+    @Test(groups = "unit")
+    public void should_reprepare_most_executed_statements_first() {
+        PreparedStatement rare = statement(1);
+        PreparedStatement frequent = statement(100);
+        PreparedStatement never = statement(0);
+        PreparedStatement common = statement(10);
+
+        assertThat(Cluster.repreparationOrder(newArrayList(rare, frequent, never, common)))
+            .containsExactly(frequent, common, rare, never);
+    }
+
+    @Test(groups = "unit")
+    public void should_sort_statements_that_are_executed_concurrently() throws InterruptedException {
+        // The executing thread only touches the ids: mocks shouldn't be called concurrently
+        final List<PreparedId> ids = newArrayList();
+        List<PreparedStatement> statements = newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            PreparedId id = preparedId();
+            ids.add(id);
+            statements.add(statement(id));
+        }
+
+        // Keep changing the counts while sorting: this must never break the sort
+        final AtomicBoolean done = new AtomicBoolean();
+        Thread executor = new Thread() {
+            @Override
+            public void run() {
+                Random random = new Random();
+                while (!done.get())
+                    ids.get(random.nextInt(ids.size())).recordExecution();
+            }
+        };
+        executor.start();
+        try {
+            for (int i = 0; i < 100; i++)
+                assertThat(Cluster.repreparationOrder(statements)).hasSize(statements.size());
+        } finally {
+            done.set(true);
+            executor.join();
+        }
+    }
+
+    private static PreparedStatement statement(int executions) {
+        PreparedId id = preparedId();
+        for (int i = 0; i < executions; i++)
+            id.recordExecution();
+        return statement(id);
+    }
+
+    private static PreparedStatement statement(PreparedId id) {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getPreparedId()).thenReturn(id);
+        return statement;
+    }
+
+    private static PreparedId preparedId() {
+        return new PreparedId(null, null, null, null, ProtocolVersion.V3);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.Responses.Result.Rows.Metadata;
+
+public class ResponsesTest {
+
+    private static final int GLOBAL_TABLES_SPEC = 0x0001;
+
+    @Test(groups = "unit")
+    public void should_reuse_column_definitions_of_identical_metadata() {
+        ColumnDefinitions first = Metadata.decode(metadata("ks", "t", "c1", "c2")).columns;
+        ColumnDefinitions second = Metadata.decode(metadata("ks", "t", "c1", "c2")).columns;
+
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.getName(1)).isEqualTo("c2");
+        assertThat(first.getType("c1")).isEqualTo(DataType.map(DataType.text(), DataType.list(DataType.cint())));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test(groups = "unit")
+    public void should_not_reuse_column_definitions_of_different_metadata() {
+        ColumnDefinitions first = Metadata.decode(metadata("ks", "t", "c1", "c2")).columns;
+        ColumnDefinitions second = Metadata.decode(metadata("ks", "t", "c1", "c3")).columns;
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName(1)).isEqualTo("c3");
+    }
+
+    @Test(groups = "unit")
+    public void should_consume_metadata_bytes() {
+        // The second decoding hits the cache
+        for (int i = 0; i < 2; i++) {
+            ByteBuf body = metadata("ks", "t", "c1", "c2").writeInt(42);
+            Metadata.decode(body);
+            assertThat(body.readInt()).isEqualTo(42);
+        }
+    }
+
+    // Metadata with a map<text, list<int>> column followed by int columns
+    private static ByteBuf metadata(String keyspace, String table, String... names) {
+        ByteBuf body = Unpooled.buffer();
+        body.writeInt(GLOBAL_TABLES_SPEC);
+        body.writeInt(names.length);
+        CBUtil.writeString(keyspace, body);
+        CBUtil.writeString(table, body);
+        for (int i = 0; i < names.length; i++) {
+            CBUtil.writeString(names[i], body);
+            if (i == 0) {
+                body.writeShort(DataType.Name.MAP.protocolId);
+                body.writeShort(DataType.Name.TEXT.protocolId);
+                body.writeShort(DataType.Name.LIST.protocolId);
+            }
+            body.writeShort(DataType.Name.INT.protocolId);
+        }
+        return body;
+    }
+}
@@ -84,6 +84,17 @@ public class StatementWrapperTest extends CCMBridge.PerClassSingleNodeCluster {
         assertThat(retryPolicy.customStatementsHandled.get()).isEqualTo(1);
     }
 
+    @Test(groups = "short")
+    public void should_forward_assigned_host_of_wrapped_statement() {
+        Host host = cluster.getMetadata().getAllHosts().iterator().next();
+        SimpleStatement s = new SimpleStatement("select * from system.local");
+        s.host = host;
+
+        CustomStatement wrapper = new CustomStatement(s);
+        assertThat(wrapper.getHost()).isSameAs(host);
+        assertThat(session.execute(wrapper).getExecutionInfo().getQueriedHost()).isEqualTo(host);
+    }
+
     /** A custom wrapper that's just used to mark statements. */
     static class CustomStatement extends StatementWrapper {
         protected CustomStatement(Statement wrapped) {
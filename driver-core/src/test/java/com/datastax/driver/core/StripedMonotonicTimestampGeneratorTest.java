@@ -0,0 +1,182 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class StripedMonotonicTimestampGeneratorTest {
+
+    @Test(groups = "unit")
+    public void should_round_stripes_to_power_of_two() {
+        assertEquals(new StripedMonotonicTimestampGenerator(1).getStripes(), 1);
+        assertEquals(new StripedMonotonicTimestampGenerator(3).getStripes(), 4);
+        assertEquals(new StripedMonotonicTimestampGenerator(8).getStripes(), 8);
+    }
+
+    @Test(groups = "unit", expectedExceptions = IllegalArgumentException.class)
+    public void should_reject_invalid_stripes() {
+        new StripedMonotonicTimestampGenerator(0);
+    }
+
+    @Test(groups = "unit")
+    public void should_be_session_wide_by_default() {
+        assertTrue(new StripedMonotonicTimestampGenerator().isSessionWide());
+        assertTrue(new StripedMonotonicTimestampGenerator(4).isSessionWide());
+        assertFalse(new StripedMonotonicTimestampGenerator(4, false).isSessionWide());
+    }
+
+    @Test(groups = "unit")
+    public void should_generate_incrementing_timestamps_among_threads() throws Exception {
+        final StripedMonotonicTimestampGenerator generator = new StripedMonotonicTimestampGenerator(8);
+        generator.clock = new MockClocks.FixedTimeClock(1);
+
+        // Each thread runs ahead of the clock on its own stripe, then hands off to the next one
+        ExecutorService[] executors = new ExecutorService[4];
+        for (int i = 0; i < executors.length; i++)
+            executors[i] = Executors.newSingleThreadExecutor();
+        try {
+            Callable<Long> batch = new Callable<Long>() {
+                @Override
+                public Long call() {
+                    long timestamp = 0;
+                    for (int i = 0; i < 100; i++)
+                        timestamp = generator.next();
+                    return timestamp;
+                }
+            };
+            long last = Long.MIN_VALUE;
+            for (int round = 0; round < 20; round++) {
+                for (ExecutorService executor : executors) {
+                    long first = executor.submit(new Callable<Long>() {
+                        @Override
+                        public Long call() {
+                            return generator.next();
+                        }
+                    }).get();
+                    assertTrue(first > last, String.format("%d should be greater than %d", first, last));
+                    last = executor.submit(batch).get();
+                }
+            }
+        } finally {
+            for (ExecutorService executor : executors)
+                executor.shutdownNow();
+        }
+    }
+
+    @Test(groups = "unit")
+    public void should_not_reset_anchor_within_clock_granularity() throws InterruptedException {
+        StripedMonotonicTimestampGenerator generator = new StripedMonotonicTimestampGenerator(1);
+        // A clock that only ticks every 15 milliseconds, like on some Windows systems
+        generator.clock = new Clock() {
+            @Override
+            public long currentTime() {
+                long millis = System.nanoTime() / 1000000;
+                return millis - millis % 15;
+            }
+        };
+        generator.resyncThresholdMicros = StripedMonotonicTimestampGenerator.measureGranularityMicros(generator.clock) + 1000;
+        assertTrue(generator.resyncThresholdMicros >= 16000, "Unexpected threshold " + generator.resyncThresholdMicros);
+
+        // Let the anchor settle on a tick boundary
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        while (System.nanoTime() < deadline)
+            generator.currentTimeMicros();
+
+        int resets = 0;
+        StripedMonotonicTimestampGenerator.Anchor anchor = generator.anchor;
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (System.nanoTime() < deadline) {
+            generator.currentTimeMicros();
+            if (generator.anchor != anchor) {
+                anchor = generator.anchor;
+                resets += 1;
+            }
+        }
+        assertEquals(resets, 0);
+    }
+
+    @Test(groups = "unit")
+    public void should_generate_timestamps_close_to_the_clock() {
+        StripedMonotonicTimestampGenerator generator = new StripedMonotonicTimestampGenerator(4);
+        long before = System.currentTimeMillis() * 1000;
+        long timestamp = generator.next();
+        long after = System.currentTimeMillis() * 1000 + 1000;
+
+        assertTrue(timestamp >= before - 1000 && timestamp <= after + 4, "Unexpected timestamp " + timestamp);
+    }
+
+    @Test(groups = "unit")
+    public void should_generate_incrementing_timestamps_per_thread_and_distinct_among_threads() throws InterruptedException {
+        // Even with a clock that does not move, timestamps keep increasing
+        final StripedMonotonicTimestampGenerator generator = new StripedMonotonicTimestampGenerator(4, false);
+        generator.clock = new MockClocks.FixedTimeClock(1);
+
+        final int testThreadsCount = 8;
+        final int timestampsPerThread = 1000;
+        final Set<Long> allTimestamps = new ConcurrentSkipListSet<Long>();
+        ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(testThreadsCount));
+
+        List<ListenableFuture<?>> futures = Lists.newArrayListWithExpectedSize(testThreadsCount);
+        for (int i = 0; i < testThreadsCount; i++) {
+            futures.add(executor.submit(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        long last = Long.MIN_VALUE;
+                        for (int i = 0; i < timestampsPerThread; i++) {
+                            long timestamp = generator.next();
+                            assertTrue(timestamp > last, String.format("%d should be greater than %d", timestamp, last));
+                            allTimestamps.add(timestamp);
+                            last = timestamp;
+                        }
+                    }
+                }));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        try {
+            Futures.allAsList(futures).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AssertionError)
+                throw (AssertionError)cause;
+            else
+                fail("Error in a test thread", cause);
+        }
+
+        assertEquals(allTimestamps.size(), testThreadsCount * timestampsPerThread);
+    }
+}
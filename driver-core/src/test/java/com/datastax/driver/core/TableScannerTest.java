@@ -0,0 +1,181 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.fail;
+
+public class TableScannerTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    private static final int ROWS = 1000;
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Collections.singletonList("CREATE TABLE scanned (k int PRIMARY KEY, v int)");
+    }
+
+    @BeforeClass(groups = "short")
+    public void insertRows() {
+        PreparedStatement insert = session.prepare("INSERT INTO scanned (k, v) VALUES (?, ?)");
+        for (int i = 0; i < ROWS; i++)
+            session.execute(insert.bind(i, i));
+    }
+
+    @Test(groups = "short")
+    public void should_read_all_rows_exactly_once() throws Exception {
+        TableScanner scanner = new TableScanner(session, keyspace, "scanned", "k")
+            .setSplitsPerHost(8)
+            .setFetchSize(50);
+        final Map<Integer, Boolean> seen = new ConcurrentHashMap<Integer, Boolean>();
+        final Set<TokenRange> completed = Collections.synchronizedSet(new HashSet<TokenRange>());
+        List<TokenRange> splits = scanner.getSplits();
+
+        scanner.scan(splits, new TableScanner.PageHandler() {
+            @Override
+            public void onPage(TokenRange split, List<Row> rows) {
+                for (Row row : rows)
+                    assertThat(seen.put(row.getInt("k"), true)).isNull();
+            }
+
+            @Override
+            public void onSplitCompleted(TokenRange split) {
+                completed.add(split);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        assertThat(seen).hasSize(ROWS);
+        assertThat(completed).containsOnly(splits.toArray(new TokenRange[splits.size()]));
+    }
+
+    @Test(groups = "short")
+    public void should_resume_an_interrupted_scan() throws Exception {
+        TableScanner scanner = new TableScanner(session, keyspace, "scanned", "k")
+            .setSplitsPerHost(8)
+            .setFetchSize(50);
+        List<TokenRange> splits = scanner.getSplits();
+
+        // Rows are only committed when their split completes, like an application that records its progress
+        final Map<Integer, Boolean> committed = new ConcurrentHashMap<Integer, Boolean>();
+        final Set<TokenRange> completed = Collections.synchronizedSet(new HashSet<TokenRange>());
+        final int completedBeforeFailure = splits.size() / 2;
+        final RuntimeException failure = new RuntimeException("interrupted");
+        try {
+            scanner.scan(splits, new CommittingHandler(committed, completed) {
+                @Override
+                public void onPage(TokenRange split, List<Row> rows) {
+                    if (completed.size() >= completedBeforeFailure) {
+                        interrupted = true;
+                        throw failure;
+                    }
+                    super.onPage(split, rows);
+                }
+            }).get(30, TimeUnit.SECONDS);
+            fail("Expected the scan to fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isSameAs(failure);
+        }
+        // Splits that were being read concurrently might have completed too
+        assertThat(completed.size()).isGreaterThanOrEqualTo(completedBeforeFailure).isLessThan(splits.size());
+
+        List<TokenRange> remaining = new ArrayList<TokenRange>(splits);
+        remaining.removeAll(completed);
+        scanner.scan(remaining, new CommittingHandler(committed, completed)).get(30, TimeUnit.SECONDS);
+
+        assertThat(committed).hasSize(ROWS);
+        assertThat(completed).containsOnly(splits.toArray(new TokenRange[splits.size()]));
+    }
+
+    @Test(groups = "short")
+    public void should_bound_concurrency_per_host() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            TableScanner scanner = new TableScanner(session, keyspace, "scanned", "k")
+                .setSplitsPerHost(16)
+                .setMaxConcurrencyPerHost(3)
+                .setFetchSize(20)
+                .setExecutor(executor);
+
+            // With a single node, all splits are assigned to the same host
+            final Set<TokenRange> active = Collections.synchronizedSet(new HashSet<TokenRange>());
+            final AtomicInteger maxActive = new AtomicInteger();
+            scanner.scan(new TableScanner.PageHandler() {
+                @Override
+                public void onPage(TokenRange split, List<Row> rows) {
+                    active.add(split);
+                    int current = active.size();
+                    int max;
+                    while ((max = maxActive.get()) < current && !maxActive.compareAndSet(max, current))
+                        ;
+                    Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void onSplitCompleted(TokenRange split) {
+                    active.remove(split);
+                }
+            }).get(30, TimeUnit.SECONDS);
+
+            assertThat(maxActive.get()).isLessThanOrEqualTo(3);
+            assertThat(maxActive.get()).isGreaterThan(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static class CommittingHandler implements TableScanner.PageHandler {
+        final Map<Integer, Boolean> committed;
+        final Set<TokenRange> completed;
+        final Map<TokenRange, List<Integer>> pending = new ConcurrentHashMap<TokenRange, List<Integer>>();
+        volatile boolean interrupted;
+
+        CommittingHandler(Map<Integer, Boolean> committed, Set<TokenRange> completed) {
+            this.committed = committed;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onPage(TokenRange split, List<Row> rows) {
+            List<Integer> keys = pending.get(split);
+            if (keys == null) {
+                keys = new ArrayList<Integer>();
+                pending.put(split, keys);
+            }
+            for (Row row : rows)
+                keys.add(row.getInt("k"));
+        }
+
+        @Override
+        public void onSplitCompleted(TokenRange split) {
+            // Splits that complete after the failure are not recorded, they will be read again
+            if (interrupted)
+                return;
+            List<Integer> keys = pending.remove(split);
+            if (keys != null) {
+                for (Integer k : keys)
+                    assertThat(committed.put(k, true)).isNull();
+            }
+            completed.add(split);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.utils.CassandraVersion;
+
+@CassandraVersion(major=2.0, description="Batches require protocol v2")
+public class TokenAwareBatcherTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Collections.singletonList("CREATE TABLE batcher (k int, c int, v int, PRIMARY KEY (k, c))");
+    }
+
+    @Test(groups = "short")
+    public void should_group_statements_by_partition() throws Exception {
+        PreparedStatement ps = session.prepare("INSERT INTO batcher (k, c, v) VALUES (?, ?, ?)");
+        TokenAwareBatcher batcher = new TokenAwareBatcher(session, 10, Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(1));
+
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>();
+        for (int k = 0; k < 3; k++)
+            for (int c = 0; c < 15; c++)
+                futures.add(batcher.add(ps.bind(k, c, c)));
+
+        // The first 10 statements of each partition have been sent, the remaining 5 are pending
+        for (int k = 0; k < 3; k++) {
+            assertThat(futures.get(k * 15 + 9).get(10, TimeUnit.SECONDS)).isNotNull();
+            assertThat(futures.get(k * 15 + 14).isDone()).isFalse();
+        }
+
+        batcher.flush().get(10, TimeUnit.SECONDS);
+        Futures.allAsList(futures).get(10, TimeUnit.SECONDS);
+
+        for (int k = 0; k < 3; k++)
+            assertThat(session.execute("SELECT * FROM batcher WHERE k = ?", k).all()).hasSize(15);
+    }
+
+    @Test(groups = "short")
+    public void should_send_pending_batch_after_linger_delay() throws Exception {
+        PreparedStatement ps = session.prepare("INSERT INTO batcher (k, c, v) VALUES (?, ?, ?)");
+        TokenAwareBatcher batcher = new TokenAwareBatcher(session, 100, Integer.MAX_VALUE, 50);
+
+        ListenableFuture<ResultSet> future = batcher.add(ps.bind(42, 1, 1));
+        future.get(10, TimeUnit.SECONDS);
+
+        assertThat(session.execute("SELECT * FROM batcher WHERE k = 42").all()).hasSize(1);
+    }
+
+    @Test(groups = "short", expectedExceptions = IllegalStateException.class)
+    public void should_reject_statements_when_closed() {
+        PreparedStatement ps = session.prepare("INSERT INTO batcher (k, c, v) VALUES (?, ?, ?)");
+        TokenAwareBatcher batcher = new TokenAwareBatcher(session);
+        batcher.close();
+        batcher.add(ps.bind(1, 1, 1));
+    }
+}
@@ -26,6 +26,8 @@ import com.google.common.base.Strings;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import static com.datastax.driver.core.DataType.text;
 
 public class TypeCodecTest {
@@ -71,4 +73,25 @@ public class TypeCodecTest {
 
         listType.serialize(list);
     }
+
+    @Test(groups = "unit")
+    public void should_serialize_primitive_arrays_like_collections() {
+        for (ProtocolVersion version : new ProtocolVersion[]{ ProtocolVersion.V2, ProtocolVersion.V3 }) {
+            TypeCodec<List<Long>> longs = TypeCodec.listOf(DataType.bigint(), version);
+            Assert.assertEquals(TypeCodec.serializeLongArray(new long[]{ 1, 2, 3 }, version), longs.serialize(Lists.newArrayList(1L, 2L, 3L)));
+            assertThat(TypeCodec.deserializeLongArray(longs.serialize(Lists.newArrayList(1L, 2L, 3L)), version)).containsExactly(1, 2, 3);
+
+            TypeCodec<List<Integer>> ints = TypeCodec.listOf(DataType.cint(), version);
+            Assert.assertEquals(TypeCodec.serializeIntArray(new int[]{ 4, 5 }, version), ints.serialize(Lists.newArrayList(4, 5)));
+            assertThat(TypeCodec.deserializeIntArray(ints.serialize(Lists.newArrayList(4, 5)), version)).containsExactly(4, 5);
+
+            TypeCodec<List<Double>> doubles = TypeCodec.listOf(DataType.cdouble(), version);
+            assertThat(TypeCodec.deserializeDoubleArray(doubles.serialize(Lists.newArrayList(1.5, 2.5)), version)).containsExactly(1.5, 2.5);
+
+            TypeCodec<List<Float>> floats = TypeCodec.listOf(DataType.cfloat(), version);
+            assertThat(TypeCodec.deserializeFloatArray(floats.serialize(Lists.newArrayList(1.5f)), version)).containsExactly(1.5f);
+
+            assertThat(TypeCodec.deserializeLongArray(TypeCodec.serializeLongArray(new long[0], version), version)).isEmpty();
+        }
+    }
 }
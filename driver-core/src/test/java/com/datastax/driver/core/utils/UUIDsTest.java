@@ -93,6 +93,65 @@ public class UUIDsTest {
         }
     }
 
+    @Test(groups = "unit")
+    public void bulkTest() {
+        // More than can be generated in a single millisecond
+        int nbGenerated = 25000;
+        List<UUID> uuids = UUIDs.timeBased(nbGenerated);
+
+        assertEquals(uuids.size(), nbGenerated);
+        assertEquals(new HashSet<UUID>(uuids).size(), nbGenerated);
+        long previous = 0;
+        for (UUID uuid : uuids) {
+            assertEquals(uuid.version(), 1);
+            assert previous < uuid.timestamp() : String.format("previous = %d >= %d = current", previous, uuid.timestamp());
+            previous = uuid.timestamp();
+        }
+        assertTrue(UUIDs.timeBased(0).isEmpty());
+    }
+
+    @Test(groups = "unit")
+    public void generatorTest() throws Exception {
+        int nbThread = 10;
+        final int nbGenerated = 10000;
+        final Set<UUID> generated = new ConcurrentSkipListSet<UUID>();
+        final TimeUUIDGenerator generator = new TimeUUIDGenerator(64);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+        Thread[] threads = new Thread[nbThread];
+        for (int i = 0; i < nbThread; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        long previous = 0;
+                        long start = System.currentTimeMillis();
+                        for (int i = 0; i < nbGenerated; ++i) {
+                            UUID uuid = generator.next();
+                            assert previous < uuid.timestamp() : String.format("previous = %d >= %d = current", previous, uuid.timestamp());
+                            assert UUIDs.unixTimestamp(uuid) >= start : String.format("start = %d > %d = uuid", start, UUIDs.unixTimestamp(uuid));
+                            previous = uuid.timestamp();
+                            generated.add(uuid);
+                        }
+                        // Also check against the UUIDs that don't go through the generator
+                        generated.add(UUIDs.timeBased());
+                    } catch (Throwable t) {
+                        errors.add(t);
+                    }
+                }
+            };
+        }
+
+        for (int i = 0; i < nbThread; i++)
+            threads[i].start();
+
+        for (int i = 0; i < nbThread; i++)
+            threads[i].join();
+
+        assertTrue(errors.isEmpty(), errors.toString());
+        assertEquals(generated.size(), nbThread * (nbGenerated + 1));
+    }
+
     @Test(groups = "unit")
     public void startEndOfTest() {
 
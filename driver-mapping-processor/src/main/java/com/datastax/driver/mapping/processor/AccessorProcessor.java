@@ -0,0 +1,252 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.datastax.driver.mapping.GeneratedAccessor;
+import com.datastax.driver.mapping.MappingManager;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+import com.datastax.driver.mapping.annotations.QueryParameters;
+
+/**
+ * An annotation processor that generates implementations of the interfaces annotated with
+ * {@link Accessor}.
+ * <p>
+ * The generated classes follow the naming convention described in {@link GeneratedAccessor}, so
+ * {@link MappingManager#createAccessor(Class)} picks them up automatically: their methods are
+ * plain method calls instead of going through a dynamic proxy, their query strings are compiled
+ * in, and creating them neither parses annotations nor prepares queries.
+ * <p>
+ * Like the proxies created by the mapper, the generated classes execute the {@link Query} of the
+ * methods declared by the interface itself, and throw {@link UnsupportedOperationException} from
+ * its other abstract methods. Interfaces that can't be implemented that way (generic interfaces,
+ * generic methods, or methods that return a primitive type) are skipped with a warning.
+ */
+@SupportedAnnotationTypes("com.datastax.driver.mapping.annotations.Accessor")
+public class AccessorProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE)
+                    continue;
+                TypeElement accessor = (TypeElement)element;
+                List<ExecutableElement> methods = abstractMethods(accessor);
+                String problem = checkImplementable(accessor, methods);
+                if (problem != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        String.format("Not generating an implementation for %s: %s", accessor.getQualifiedName(), problem), accessor);
+                    continue;
+                }
+                try {
+                    generate(accessor, methods);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        String.format("Could not generate an implementation for %s: %s", accessor.getQualifiedName(), e), accessor);
+                }
+            }
+        }
+        // Leave the annotations to other processors
+        return false;
+    }
+
+    // The methods that the implementation must provide: abstract methods of the interface and its
+    // super-interfaces, except the ones that redeclare a method of Object
+    private List<ExecutableElement> abstractMethods(TypeElement accessor) {
+        List<ExecutableElement> objectMethods = ElementFilter.methodsIn(
+            processingEnv.getElementUtils().getTypeElement(Object.class.getName()).getEnclosedElements());
+        List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(accessor))) {
+            if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+                || !method.getModifiers().contains(Modifier.ABSTRACT)
+                || overridesAny(method, objectMethods, accessor))
+                continue;
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    private boolean overridesAny(ExecutableElement method, List<ExecutableElement> candidates, TypeElement type) {
+        for (ExecutableElement candidate : candidates) {
+            if (processingEnv.getElementUtils().overrides(method, candidate, type))
+                return true;
+        }
+        return false;
+    }
+
+    private String checkImplementable(TypeElement accessor, List<ExecutableElement> methods) {
+        if (!accessor.getTypeParameters().isEmpty())
+            return "it is generic";
+        for (Element e = accessor; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE))
+                return "it is not visible from its package";
+        }
+        for (ExecutableElement method : methods) {
+            if (!method.getTypeParameters().isEmpty())
+                return String.format("method %s is generic", method.getSimpleName());
+            if (method.getReturnType().getKind().isPrimitive())
+                return String.format("method %s returns a primitive type", method.getSimpleName());
+        }
+        return null;
+    }
+
+    private void generate(TypeElement accessor, List<ExecutableElement> methods) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(accessor).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(accessor).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + "_Impl";
+        String accessorName = accessor.getQualifiedName().toString();
+        String baseName = GeneratedAccessor.class.getName();
+
+        // Only the queries declared by the interface itself are executed, like with the mapper's proxies
+        List<ExecutableElement> queryMethods = new ArrayList<ExecutableElement>();
+        for (ExecutableElement method : methods) {
+            if (method.getEnclosingElement().equals(accessor) && method.getAnnotation(Query.class) != null)
+                queryMethods.add(method);
+        }
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+            packageName.isEmpty() ? simpleName : packageName + "." + simpleName, accessor);
+        PrintWriter out = new PrintWriter(file.openWriter());
+        try {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n", packageName);
+                out.println();
+            }
+            out.printf("/**%n * Implementation of {@link %s}, generated by %s.%n */%n", accessorName, getClass().getName());
+            out.printf("public class %s extends %s implements %s {%n", simpleName, baseName, accessorName);
+            out.println();
+
+            out.printf("    private static final %s.Query[] QUERIES = {%n", baseName);
+            for (ExecutableElement method : queryMethods) {
+                QueryParameters options = method.getAnnotation(QueryParameters.class);
+                out.printf("        new %s.Query(%s, %s, %s, %s, %d, %b),%n",
+                           baseName, literal(method.getSimpleName().toString()), parameterClasses(method),
+                           literal(method.getAnnotation(Query.class).value()),
+                           literal(options == null ? "" : options.consistency()),
+                           options == null ? -1 : options.fetchSize(),
+                           options != null && options.tracing());
+            }
+            out.println("    };");
+            out.println();
+
+            out.printf("    public %s(%s manager) {%n", simpleName, MappingManager.class.getName());
+            out.printf("        super(manager, %s.class, QUERIES);%n", accessorName);
+            out.println("    }");
+
+            for (ExecutableElement method : methods) {
+                out.println();
+                generateMethod(out, method, queryMethods.indexOf(method));
+            }
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    private void generateMethod(PrintWriter out, ExecutableElement method, int index) {
+        TypeMirror returnType = method.getReturnType();
+        boolean returnsValue = returnType.getKind() != TypeKind.VOID;
+
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+                arguments.append(", ");
+            }
+            parameters.append(parameter.asType()).append(' ').append(parameter.getSimpleName());
+            arguments.append(parameter.getSimpleName());
+        }
+
+        if (index >= 0 && returnsValue)
+            out.println("    @SuppressWarnings(\"unchecked\")");
+        out.printf("    public %s %s(%s) {%n", returnType, method.getSimpleName(), parameters);
+        if (index < 0) {
+            out.println("        throw new UnsupportedOperationException();");
+        } else {
+            String args = arguments.length() == 0 ? "NO_ARGS" : "new Object[]{ " + arguments + " }";
+            if (returnsValue)
+                out.printf("        return (%s)invoke(%d, %s);%n", returnType, index, args);
+            else
+                out.printf("        invoke(%d, %s);%n", index, args);
+        }
+        out.println("    }");
+    }
+
+    // The array of the method's parameter classes, as an expression
+    private String parameterClasses(ExecutableElement method) {
+        if (method.getParameters().isEmpty())
+            return "new Class<?>[0]";
+        StringBuilder classes = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            classes.append(classes.length() == 0 ? "new Class<?>[]{ " : ", ");
+            classes.append(processingEnv.getTypeUtils().erasure(parameter.asType())).append(".class");
+        }
+        return classes.append(" }").toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < ' ')
+                        literal.append(String.format("\\u%04x", (int)c));
+                    else
+                        literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.datastax.driver.mapping.EntityProperties;
+import com.datastax.driver.mapping.annotations.Table;
+import com.datastax.driver.mapping.annotations.Transient;
+import com.datastax.driver.mapping.annotations.UDT;
+
+/**
+ * An annotation processor that generates the {@link EntityProperties} of the classes annotated
+ * with {@link Table} or {@link UDT}.
+ * <p>
+ * The generated classes follow the naming convention described in {@link EntityProperties}, so
+ * mappers pick them up automatically: entities are then created and accessed with plain method
+ * calls instead of reflection, and mappers don't need to introspect their getters and setters
+ * when they are created.
+ * <p>
+ * Properties are generated for the fields that the mapper would access through a getter and a
+ * setter. Classes that the mapper can't instantiate (abstract, generic, non-static inner or
+ * private classes, or classes without a no-argument constructor) are skipped with a warning.
+ * <p>
+ * The processor is registered as a service, so it runs as soon as this module is on the
+ * compilation classpath.
+ */
+@SupportedAnnotationTypes({
+    "com.datastax.driver.mapping.annotations.Table",
+    "com.datastax.driver.mapping.annotations.UDT"
+})
+public class EntityPropertiesProcessor extends AbstractProcessor {
+
+    // The primitive types that have typed methods in EntityProperties
+    private static final TypeKind[] TYPED_KINDS = {
+        TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE, TypeKind.BOOLEAN
+    };
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS)
+                    continue;
+                TypeElement entity = (TypeElement)element;
+                String problem = checkInstantiable(entity);
+                if (problem != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        String.format("Not generating properties for %s: %s", entity.getQualifiedName(), problem), entity);
+                    continue;
+                }
+                try {
+                    generate(entity);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        String.format("Could not generate properties for %s: %s", entity.getQualifiedName(), e), entity);
+                }
+            }
+        }
+        // Leave the annotations to other processors
+        return false;
+    }
+
+    private String checkInstantiable(TypeElement entity) {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT))
+            return "it is abstract";
+        if (!entity.getTypeParameters().isEmpty())
+            return "it is generic";
+        for (Element e = entity; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE))
+                return "it is not visible from its package";
+            if (e.getEnclosingElement().getKind() != ElementKind.PACKAGE && !e.getModifiers().contains(Modifier.STATIC))
+                return "it is a non-static inner class";
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE))
+                return null;
+        }
+        return "it has no no-argument constructor";
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + "_Properties";
+        String entityName = entity.getQualifiedName().toString();
+
+        List<Property> properties = properties(entity);
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+            packageName.isEmpty() ? simpleName : packageName + "." + simpleName, entity);
+        PrintWriter out = new PrintWriter(file.openWriter());
+        try {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n", packageName);
+                out.println();
+            }
+            out.printf("/**%n * {@link %s} for {@link %s}, generated by %s.%n */%n",
+                       EntityProperties.class.getName(), entityName, getClass().getName());
+            out.printf("public class %s implements %s<%s> {%n", simpleName, EntityProperties.class.getName(), entityName);
+            out.println();
+
+            out.printf("    public %s newInstance() {%n", entityName);
+            out.printf("        return new %s();%n", entityName);
+            out.println("    }");
+            out.println();
+
+            out.println("    public int indexOf(String fieldName) {");
+            for (int i = 0; i < properties.size(); i++) {
+                out.printf("        if (\"%s\".equals(fieldName))%n", properties.get(i).fieldName);
+                out.printf("            return %d;%n", i);
+            }
+            out.println("        return -1;");
+            out.println("    }");
+            out.println();
+
+            out.printf("    public Object get(%s entity, int index) {%n", entityName);
+            out.println("        switch (index) {");
+            for (int i = 0; i < properties.size(); i++) {
+                out.printf("            case %d:%n", i);
+                out.printf("                return entity.%s();%n", properties.get(i).getter);
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unknown field index \" + index);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.printf("    public void set(%s entity, int index, Object value) {%n", entityName);
+            out.println("        switch (index) {");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                out.printf("            case %d:%n", i);
+                out.printf("                entity.%s((%s)value);%n", property.setter, property.castType);
+                out.println("                break;");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unknown field index \" + index);");
+            out.println("        }");
+            out.println("    }");
+
+            for (TypeKind kind : TYPED_KINDS)
+                generateTypedAccessors(out, entityName, kind, properties);
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    // Generates getX and setX for the properties of the given primitive type: the mapper calls them
+    // instead of get and set for these properties, to avoid boxing
+    private void generateTypedAccessors(PrintWriter out, String entityName, TypeKind kind, List<Property> properties) {
+        String type = processingEnv.getTypeUtils().getPrimitiveType(kind).toString();
+        String suffix = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+
+        out.println();
+        out.printf("    public %s get%s(%s entity, int index) {%n", type, suffix, entityName);
+        out.println("        switch (index) {");
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).kind != kind)
+                continue;
+            out.printf("            case %d:%n", i);
+            out.printf("                return entity.%s();%n", properties.get(i).getter);
+        }
+        out.println("            default:");
+        out.printf("                throw new IllegalArgumentException(\"Unknown %s field index \" + index);%n", type);
+        out.println("        }");
+        out.println("    }");
+        out.println();
+
+        out.printf("    public void set%s(%s entity, int index, %s value) {%n", suffix, entityName, type);
+        out.println("        switch (index) {");
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).kind != kind)
+                continue;
+            out.printf("            case %d:%n", i);
+            out.printf("                entity.%s(value);%n", properties.get(i).setter);
+            out.println("                break;");
+        }
+        out.println("            default:");
+        out.printf("                throw new IllegalArgumentException(\"Unknown %s field index \" + index);%n", type);
+        out.println("        }");
+        out.println("    }");
+    }
+
+    /**
+     * The fields that the mapper accesses through their getter and setter, with the same
+     * conventions as {@link java.beans.PropertyDescriptor}.
+     */
+    private List<Property> properties(TypeElement entity) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(entity));
+        List<Property> properties = new ArrayList<Property>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getAnnotation(Transient.class) != null)
+                continue;
+
+            String name = field.getSimpleName().toString();
+            String capitalized = name.substring(0, 1).toUpperCase() + name.substring(1);
+            TypeMirror type = field.asType();
+
+            ExecutableElement getter = null;
+            if (type.getKind() == TypeKind.BOOLEAN)
+                getter = findMethod(methods, "is" + capitalized, null);
+            if (getter == null)
+                getter = findMethod(methods, "get" + capitalized, null);
+            ExecutableElement setter = findMethod(methods, "set" + capitalized, type);
+            if (getter == null || setter == null
+                || !processingEnv.getTypeUtils().isSameType(getter.getReturnType(), type))
+                continue;
+
+            String castType = type.getKind().isPrimitive()
+                ? processingEnv.getTypeUtils().boxedClass((PrimitiveType)type).getQualifiedName().toString()
+                : type.toString();
+            properties.add(new Property(name, getter.getSimpleName().toString(), setter.getSimpleName().toString(), castType, type.getKind()));
+        }
+        return properties;
+    }
+
+    // Finds a public instance method with no parameters, or a single parameter of the given type
+    private ExecutableElement findMethod(List<ExecutableElement> methods, String name, TypeMirror parameterType) {
+        for (ExecutableElement method : methods) {
+            if (!method.getSimpleName().contentEquals(name)
+                || !method.getModifiers().contains(Modifier.PUBLIC)
+                || method.getModifiers().contains(Modifier.STATIC))
+                continue;
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameterType == null ? parameters.isEmpty()
+                : parameters.size() == 1 && processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), parameterType))
+                return method;
+        }
+        return null;
+    }
+
+    private static class Property {
+        final String fieldName;
+        final String getter;
+        final String setter;
+        final String castType;
+        final TypeKind kind;
+
+        Property(String fieldName, String getter, String setter, String castType, TypeKind kind) {
+            this.fieldName = fieldName;
+            this.getter = getter;
+            this.setter = setter;
+            this.castType = castType;
+            this.kind = kind;
+        }
+    }
+}
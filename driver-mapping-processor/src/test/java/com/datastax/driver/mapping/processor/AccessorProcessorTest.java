@@ -0,0 +1,94 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping.processor;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.fail;
+
+import com.datastax.driver.mapping.GeneratedAccessor;
+import com.datastax.driver.mapping.MappingManager;
+
+public class AccessorProcessorTest {
+
+    private static final String ACCESSOR_SOURCE = "package test;\n"
+        + "import java.util.List;\n"
+        + "import com.datastax.driver.core.ResultSet;\n"
+        + "import com.datastax.driver.mapping.annotations.*;\n"
+        + "public class Accessors {\n"
+        + "    public interface Base {\n"
+        + "        @Query(\"SELECT * FROM ks.base\")\n"
+        + "        ResultSet inherited();\n"
+        + "    }\n"
+        + "    @Accessor\n"
+        + "    public interface UserAccessor extends Base {\n"
+        + "        @Query(\"SELECT * FROM ks.\\\"user\\\" WHERE login = ?\")\n"
+        + "        @QueryParameters(consistency = \"QUORUM\", fetchSize = 10)\n"
+        + "        ResultSet byLogin(@Param(\"login\") String login);\n"
+        + "        @Query(\"DELETE FROM ks.user WHERE id IN ?\")\n"
+        + "        void delete(List<Integer> ids);\n"
+        + "        ResultSet notAQuery();\n"
+        + "        String toString();\n"
+        + "    }\n"
+        + "    @Accessor\n"
+        + "    public interface GenericAccessor<T> {\n"
+        + "        @Query(\"SELECT * FROM ks.user\")\n"
+        + "        T all();\n"
+        + "    }\n"
+        + "}\n";
+
+    @Test(groups = "unit")
+    public void should_generate_accessor_implementations() throws Exception {
+        File dir = ProcessorTestUtils.compile("Accessors", ACCESSOR_SOURCE, new AccessorProcessor());
+        ClassLoader classLoader = new URLClassLoader(new URL[]{ dir.toURI().toURL() }, getClass().getClassLoader());
+
+        Class<?> accessorClass = classLoader.loadClass("test.Accessors$UserAccessor");
+        Class<?> implementationClass = classLoader.loadClass("test.Accessors_UserAccessor_Impl");
+        assertThat(accessorClass.isAssignableFrom(implementationClass)).isTrue();
+        assertThat(GeneratedAccessor.class.isAssignableFrom(implementationClass)).isTrue();
+
+        // Creating the implementation doesn't need a session, queries are prepared lazily
+        Object accessor = implementationClass.getConstructor(MappingManager.class).newInstance((MappingManager)null);
+        assertThat(accessor.toString()).isEqualTo("UserAccessor implementation generated by the Cassandra driver mapper");
+
+        // Like with proxies, only the queries declared by the interface itself are executed
+        for (String method : new String[]{ "inherited", "notAQuery" }) {
+            try {
+                implementationClass.getMethod(method).invoke(accessor);
+                fail("Expected UnsupportedOperationException");
+            } catch (InvocationTargetException e) {
+                assertThat(e.getCause()).isInstanceOf(UnsupportedOperationException.class);
+            }
+        }
+
+        // The query strings and options are compiled in
+        String source = Files.toString(new File(dir, "test/Accessors_UserAccessor_Impl.java"), Charsets.UTF_8);
+        assertThat(source).contains("\"SELECT * FROM ks.\\\"user\\\" WHERE login = ?\", \"QUORUM\", 10, false");
+        assertThat(source).contains("\"DELETE FROM ks.user WHERE id IN ?\", \"\", -1, false");
+        assertThat(source).doesNotContain("ks.base");
+
+        // Generic interfaces are skipped
+        assertThat(new File(dir, "test/Accessors_GenericAccessor_Impl.class")).doesNotExist();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping.processor;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.fail;
+
+import com.datastax.driver.mapping.EntityProperties;
+
+public class EntityPropertiesProcessorTest {
+
+    private static final String USER_SOURCE = "package test;\n"
+        + "import java.util.List;\n"
+        + "import com.datastax.driver.mapping.annotations.*;\n"
+        + "public class Users {\n"
+        + "    @Table(keyspace = \"ks\", name = \"user\")\n"
+        + "    public static class User {\n"
+        + "        @PartitionKey private String login;\n"
+        + "        private int age;\n"
+        + "        private List<String> tags;\n"
+        + "        @Transient private String transientField;\n"
+        + "        private String readOnly;\n"
+        + "        public String getLogin() { return login; }\n"
+        + "        public void setLogin(String login) { this.login = login; }\n"
+        + "        public int getAge() { return age; }\n"
+        + "        public void setAge(int age) { this.age = age; }\n"
+        + "        public List<String> getTags() { return tags; }\n"
+        + "        public void setTags(List<String> tags) { this.tags = tags; }\n"
+        + "        public String getTransientField() { return transientField; }\n"
+        + "        public void setTransientField(String transientField) { this.transientField = transientField; }\n"
+        + "        public String getReadOnly() { return readOnly; }\n"
+        + "    }\n"
+        + "    @Table(keyspace = \"ks\", name = \"inner\")\n"
+        + "    public class Inner {\n"
+        + "    }\n"
+        + "}\n";
+
+    @Test(groups = "unit")
+    @SuppressWarnings("unchecked")
+    public void should_generate_properties_for_mapped_fields() throws Exception {
+        File dir = ProcessorTestUtils.compile("Users", USER_SOURCE, new EntityPropertiesProcessor());
+        ClassLoader classLoader = new URLClassLoader(new URL[]{ dir.toURI().toURL() }, getClass().getClassLoader());
+
+        EntityProperties<Object> properties = (EntityProperties<Object>)classLoader.loadClass("test.Users_User_Properties").newInstance();
+
+        Object user = properties.newInstance();
+        assertThat(user.getClass().getName()).isEqualTo("test.Users$User");
+
+        int login = properties.indexOf("login");
+        int age = properties.indexOf("age");
+        int tags = properties.indexOf("tags");
+        assertThat(login).isGreaterThanOrEqualTo(0);
+        assertThat(age).isGreaterThanOrEqualTo(0);
+        assertThat(tags).isGreaterThanOrEqualTo(0);
+        assertThat(properties.indexOf("transientField")).isEqualTo(-1);
+        assertThat(properties.indexOf("readOnly")).isEqualTo(-1);
+
+        properties.set(user, login, "jdoe");
+        properties.setInt(user, age, 42);
+        properties.set(user, tags, Arrays.asList("a", "b"));
+        assertThat(properties.get(user, login)).isEqualTo("jdoe");
+        assertThat(properties.getInt(user, age)).isEqualTo(42);
+        assertThat(properties.get(user, tags)).isEqualTo(Arrays.asList("a", "b"));
+        assertThat(user.getClass().getMethod("getLogin").invoke(user)).isEqualTo("jdoe");
+        assertThat(user.getClass().getMethod("getAge").invoke(user)).isEqualTo(42);
+        try {
+            properties.getInt(user, login);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) { /* expected */ }
+
+        // Non-static inner classes can't be instantiated by the mapper
+        assertThat(new File(dir, "test/Users_Inner_Properties.class")).doesNotExist();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping.processor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.annotation.processing.Processor;
+import javax.tools.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.mapping.EntityProperties;
+
+class ProcessorTestUtils {
+
+    /**
+     * Compiles a class of the {@code test} package with a processor, and returns the directory
+     * that contains the generated sources and the class files.
+     */
+    static File compile(String className, String source, Processor processor) throws IOException {
+        File dir = File.createTempFile("processor-test", "");
+        if (!dir.delete() || !dir.mkdir())
+            throw new IOException("Could not create " + dir);
+        File sourceDir = new File(dir, "test");
+        if (!sourceDir.mkdir())
+            throw new IOException("Could not create " + sourceDir);
+        File sourceFile = new File(sourceDir, className + ".java");
+        Writer writer = new FileWriter(sourceFile);
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            // The generated code only needs the mapping and core modules
+            String classPath = location(EntityProperties.class) + File.pathSeparator + location(Session.class);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-d", dir.getPath(), "-s", dir.getPath(), "-classpath", classPath),
+                null, fileManager.getJavaFileObjects(sourceFile));
+            task.setProcessors(Collections.singletonList(processor));
+            assertThat(task.call()).isTrue();
+        } finally {
+            fileManager.close();
+        }
+        return dir;
+    }
+
+    private static String location(Class<?> klass) {
+        return new File(klass.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+    }
+}
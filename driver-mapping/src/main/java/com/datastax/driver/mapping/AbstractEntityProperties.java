@@ -0,0 +1,78 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+/**
+ * Base class for hand-written {@link EntityProperties}, that reads and writes primitive fields
+ * through {@link #get(Object, int)} and {@link #set(Object, int, Object)}.
+ * <p>
+ * Values of primitive fields are boxed with this implementation; override the typed methods
+ * for the fields where it matters.
+ *
+ * @param <T> the entity class.
+ */
+public abstract class AbstractEntityProperties<T> implements EntityProperties<T> {
+
+    @Override
+    public int getInt(T entity, int index) {
+        return (Integer)get(entity, index);
+    }
+
+    @Override
+    public void setInt(T entity, int index, int value) {
+        set(entity, index, value);
+    }
+
+    @Override
+    public long getLong(T entity, int index) {
+        return (Long)get(entity, index);
+    }
+
+    @Override
+    public void setLong(T entity, int index, long value) {
+        set(entity, index, value);
+    }
+
+    @Override
+    public float getFloat(T entity, int index) {
+        return (Float)get(entity, index);
+    }
+
+    @Override
+    public void setFloat(T entity, int index, float value) {
+        set(entity, index, value);
+    }
+
+    @Override
+    public double getDouble(T entity, int index) {
+        return (Double)get(entity, index);
+    }
+
+    @Override
+    public void setDouble(T entity, int index, double value) {
+        set(entity, index, value);
+    }
+
+    @Override
+    public boolean getBoolean(T entity, int index) {
+        return (Boolean)get(entity, index);
+    }
+
+    @Override
+    public void setBoolean(T entity, int index, boolean value) {
+        set(entity, index, value);
+    }
+}
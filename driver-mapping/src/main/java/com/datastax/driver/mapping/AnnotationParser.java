@@ -256,43 +256,42 @@ class AnnotationParser {
             if (query == null)
                 continue;
 
-            String queryString = query.value();
-
-            Annotation[][] paramAnnotations = m.getParameterAnnotations();
-            Type[] paramTypes = m.getGenericParameterTypes();
-            ParamMapper[] paramMappers = new ParamMapper[paramAnnotations.length];
-            Boolean hasParamAnnotation = null;
-            for (int i = 0; i < paramMappers.length; i++) {
-                String paramName = null;
-                for (Annotation a : paramAnnotations[i]) {
-                    if (a.annotationType().equals(Param.class)) {
-                        paramName = ((Param) a).value();
-                        break;
-                    }
-                }
-                if (hasParamAnnotation == null)
-                    hasParamAnnotation = (paramName != null);
-                if (hasParamAnnotation != (paramName != null))
-                    throw new IllegalArgumentException(String.format("For method '%s', either all or none of the paramaters of a method must have a @Param annotation", m.getName()));
-
-                paramMappers[i] = newParamMapper(accClass.getName(), m.getName(), i, paramName, paramTypes[i], paramAnnotations[i], mappingManager);
-            }
+            QueryParameters options = m.getAnnotation(QueryParameters.class);
+            methods.add(options == null
+                ? parseAccessorMethod(accClass, m, query.value(), "", -1, false, mappingManager)
+                : parseAccessorMethod(accClass, m, query.value(), options.consistency(), options.fetchSize(), options.tracing(), mappingManager));
+        }
 
-            ConsistencyLevel cl = null;
-            int fetchSize = -1;
-            boolean tracing = false;
+        return factory.create(accClass, methods);
+    }
 
-            QueryParameters options = m.getAnnotation(QueryParameters.class);
-            if (options != null) {
-                cl = options.consistency().isEmpty() ? null : ConsistencyLevel.valueOf(options.consistency().toUpperCase());
-                fetchSize = options.fetchSize();
-                tracing = options.tracing();
+    /**
+     * Creates the mapper of a single accessor method, given the values of its {@link Query} and
+     * {@link QueryParameters} annotations.
+     */
+    static MethodMapper parseAccessorMethod(Class<?> accClass, Method m, String queryString, String consistency, int fetchSize, boolean tracing, MappingManager mappingManager) {
+        Annotation[][] paramAnnotations = m.getParameterAnnotations();
+        Type[] paramTypes = m.getGenericParameterTypes();
+        ParamMapper[] paramMappers = new ParamMapper[paramAnnotations.length];
+        Boolean hasParamAnnotation = null;
+        for (int i = 0; i < paramMappers.length; i++) {
+            String paramName = null;
+            for (Annotation a : paramAnnotations[i]) {
+                if (a.annotationType().equals(Param.class)) {
+                    paramName = ((Param) a).value();
+                    break;
+                }
             }
+            if (hasParamAnnotation == null)
+                hasParamAnnotation = (paramName != null);
+            if (hasParamAnnotation != (paramName != null))
+                throw new IllegalArgumentException(String.format("For method '%s', either all or none of the paramaters of a method must have a @Param annotation", m.getName()));
 
-            methods.add(new MethodMapper(m, queryString, paramMappers, cl, fetchSize, tracing));
+            paramMappers[i] = newParamMapper(accClass.getName(), m.getName(), i, paramName, paramTypes[i], paramAnnotations[i], mappingManager);
         }
 
-        return factory.create(accClass, methods);
+        ConsistencyLevel cl = consistency.isEmpty() ? null : ConsistencyLevel.valueOf(consistency.toUpperCase());
+        return new MethodMapper(m, queryString, paramMappers, cl, fetchSize, tracing);
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
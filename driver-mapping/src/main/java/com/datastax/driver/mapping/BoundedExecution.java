@@ -0,0 +1,93 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Executes a list of statements with a bounded number of them in flight at once.
+ * <p>
+ * The resulting future completes with the result sets in the order of the statements. If a
+ * statement fails, the future fails with its error, and the statements that have not been
+ * started yet are not executed.
+ */
+class BoundedExecution {
+
+    private final Session session;
+    private final List<? extends Statement> statements;
+    private final ResultSet[] results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final SettableFuture<List<ResultSet>> future = SettableFuture.create();
+
+    private BoundedExecution(Session session, List<? extends Statement> statements) {
+        this.session = session;
+        this.statements = statements;
+        this.results = new ResultSet[statements.size()];
+        this.remaining = new AtomicInteger(statements.size());
+    }
+
+    static ListenableFuture<List<ResultSet>> execute(Session session, List<? extends Statement> statements, int maxConcurrency) {
+        if (statements.isEmpty())
+            return Futures.<List<ResultSet>>immediateFuture(Arrays.<ResultSet>asList());
+
+        BoundedExecution execution = new BoundedExecution(session, statements);
+        for (int i = 0; i < Math.min(maxConcurrency, statements.size()); i++)
+            execution.executeNext();
+        return execution.future;
+    }
+
+    private void executeNext() {
+        if (future.isDone())
+            return;
+        final int i = next.getAndIncrement();
+        if (i >= statements.size())
+            return;
+
+        ListenableFuture<ResultSet> f;
+        try {
+            f = session.executeAsync(statements.get(i));
+        } catch (RuntimeException e) {
+            f = Futures.immediateFailedFuture(e);
+        }
+        Futures.addCallback(f, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                results[i] = result;
+                if (remaining.decrementAndGet() == 0)
+                    future.set(Arrays.asList(results));
+                else
+                    executeNext();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.setException(t);
+            }
+        });
+    }
+}
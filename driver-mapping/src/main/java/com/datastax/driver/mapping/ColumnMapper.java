@@ -16,9 +16,12 @@
 package com.datastax.driver.mapping;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.datastax.driver.core.ColumnHandle;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.quote;
 
@@ -37,6 +40,10 @@ abstract class ColumnMapper<T> {
     protected final Kind kind;
     protected final int position;
 
+    // Used to find the column in result rows without looking its name up for every row
+    private final ColumnHandle handle;
+    private final ColumnHandle aliasHandle;
+
     protected ColumnMapper(Field field, DataType dataType, int position, AtomicInteger columnCounter) {
         this.columnName = AnnotationParser.columnName(field);
         this.alias = (columnCounter != null)
@@ -47,12 +54,25 @@ abstract class ColumnMapper<T> {
         this.dataType = dataType;
         this.kind = AnnotationParser.kind(field);
         this.position = position;
+        this.handle = ColumnHandle.of(getColumnName());
+        this.aliasHandle = alias == null ? null : ColumnHandle.of(alias);
     }
 
     public abstract Object getValue(T entity);
 
     public abstract void setValue(T entity, Object value);
 
+    // Reads and serializes the value of the field, or returns null if it is null. Mappers that
+    // can read the field without boxing it override this (and deserializeValue).
+    ByteBuffer serializeValue(T entity, ProtocolVersion protocolVersion) {
+        Object value = getValue(entity);
+        return value == null ? null : dataType.serialize(value, protocolVersion);
+    }
+
+    void deserializeValue(T entity, ByteBuffer bytes, ProtocolVersion protocolVersion) {
+        setValue(entity, dataType.deserialize(bytes, protocolVersion));
+    }
+
     public String getColumnName() {
         return kind == Kind.COMPUTED
             ? columnName
@@ -63,6 +83,10 @@ abstract class ColumnMapper<T> {
         return alias;
     }
 
+    ColumnHandle getHandle(boolean useAlias) {
+        return alias != null && useAlias ? aliasHandle : handle;
+    }
+
     public DataType getDataType() {
         return dataType;
     }
@@ -0,0 +1,182 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+/**
+ * Reads and writes the mapped fields of an entity class without reflection.
+ * <p>
+ * By default, mappers create entities and access their fields by invoking constructors, getters
+ * and setters through reflection. If an implementation of this interface exists for an entity
+ * class (and {@link MappingManager#setUseGeneratedCode(boolean)} was not disabled), the
+ * mappers of that class use it instead; fields that it does not know about are still accessed
+ * through reflection.
+ * <p>
+ * Implementations are typically generated at build time, but can also be written by hand. They
+ * must:
+ * <ul>
+ *     <li>be named after the entity class, with {@code _Properties} appended. For a nested class,
+ *     each {@code $} of the binary name is replaced by {@code _}: the implementation for
+ *     {@code com.example.User} is {@code com.example.User_Properties}, the one for
+ *     {@code com.example.Outer.User} is {@code com.example.Outer_User_Properties};</li>
+ *     <li>have a public no-argument constructor.</li>
+ * </ul>
+ * Values are exchanged with the mapper as they are declared in the entity: enums, mapped UDT
+ * classes and collections of them are converted by the mapper.
+ * <p>
+ * {@link #get(Object, int)} and {@link #set(Object, int, Object)} must handle every field that
+ * {@link #indexOf(String)} returns an index for, primitive ones included. When saving and reading
+ * rows, fields of type {@code int}, {@code long}, {@code float}, {@code double} and
+ * {@code boolean} are accessed through the typed methods ({@link #getInt(Object, int)},
+ * {@link #setInt(Object, int, int)}...) instead, so that their values are not boxed; but the
+ * mapper still reads them through {@code get} where it needs them as objects, for example the
+ * primary key of an entity passed to {@link Mapper#delete(Object)}.
+ * {@link AbstractEntityProperties} implements the typed methods on top of {@code get} and
+ * {@code set} for hand-written implementations that don't need them.
+ *
+ * @param <T> the entity class.
+ */
+public interface EntityProperties<T> {
+
+    /**
+     * Creates a new, empty instance of the entity class.
+     *
+     * @return the new instance.
+     */
+    public T newInstance();
+
+    /**
+     * Returns the index used to access a field in {@link #get(Object, int)} and
+     * {@link #set(Object, int, Object)}.
+     * <p>
+     * This is only called when the mapper is created.
+     *
+     * @param fieldName the name of the field in the entity class.
+     * @return the index of the field, or -1 if this implementation does not handle it.
+     */
+    public int indexOf(String fieldName);
+
+    /**
+     * Reads a field of an entity.
+     * <p>
+     * This must handle every field, including primitive ones (see the class-level documentation).
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public Object get(T entity, int index);
+
+    /**
+     * Writes a field of an entity.
+     * <p>
+     * This must handle every field, including primitive ones (see the class-level documentation).
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void set(T entity, int index, Object value);
+
+    /**
+     * Reads a field of type {@code int} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public int getInt(T entity, int index);
+
+    /**
+     * Writes a field of type {@code int} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void setInt(T entity, int index, int value);
+
+    /**
+     * Reads a field of type {@code long} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public long getLong(T entity, int index);
+
+    /**
+     * Writes a field of type {@code long} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void setLong(T entity, int index, long value);
+
+    /**
+     * Reads a field of type {@code float} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public float getFloat(T entity, int index);
+
+    /**
+     * Writes a field of type {@code float} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void setFloat(T entity, int index, float value);
+
+    /**
+     * Reads a field of type {@code double} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public double getDouble(T entity, int index);
+
+    /**
+     * Writes a field of type {@code double} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void setDouble(T entity, int index, double value);
+
+    /**
+     * Reads a field of type {@code boolean} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @return the value of the field.
+     */
+    public boolean getBoolean(T entity, int index);
+
+    /**
+     * Writes a field of type {@code boolean} of an entity.
+     *
+     * @param entity the entity.
+     * @param index the index of the field, as returned by {@link #indexOf(String)}.
+     * @param value the new value of the field.
+     */
+    public void setBoolean(T entity, int index, boolean value);
+}
@@ -0,0 +1,237 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.util.concurrent.*;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.mapping.annotations.Accessor;
+
+/**
+ * Base class of accessor implementations generated at build time.
+ * <p>
+ * By default, {@link MappingManager#createAccessor(Class)} parses the annotations of an
+ * {@link Accessor} interface, prepares all its queries and returns a dynamic proxy. If a generated
+ * implementation exists for the interface (and {@link MappingManager#setUseGeneratedCode(boolean)}
+ * was not disabled), it is returned instead: its methods are plain method calls, their query
+ * strings and options are compiled in, and each query is only prepared the first time its method
+ * is called. That preparation doesn't block methods that return a future: their result is chained
+ * on it. As a consequence, an invalid query is reported by the first call of its method (or by the
+ * future it returns) rather than by {@code createAccessor}.
+ * <p>
+ * Implementations are generated by the annotation processor of the
+ * {@code cassandra-driver-mapping-processor} module. They must:
+ * <ul>
+ *     <li>be named after the accessor interface, with {@code _Impl} appended, following the same
+ *     rules as {@link EntityProperties}: the implementation for {@code com.example.UserAccessor}
+ *     is {@code com.example.UserAccessor_Impl};</li>
+ *     <li>implement the interface, and have a public constructor that takes a {@link MappingManager};</li>
+ *     <li>call {@link #invoke(int, Object[])} from each method annotated with
+ *     {@link com.datastax.driver.mapping.annotations.Query}.</li>
+ * </ul>
+ * This class is not meant to be used directly.
+ *
+ * @since 2.1.9
+ */
+public abstract class GeneratedAccessor {
+
+    protected static final Object[] NO_ARGS = new Object[0];
+
+    private final MappingManager manager;
+    private final Class<?> accessorClass;
+    private final Query[] queries;
+
+    // Prepared lazily, by the first call of each method. Concurrent first calls share the same preparation.
+    private final AtomicReferenceArray<PreparingMethod> methods;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param manager the manager that creates this accessor.
+     * @param accessorClass the accessor interface.
+     * @param queries the queries of the interface's methods, in the order of the indexes used
+     *                with {@link #invoke(int, Object[])}.
+     */
+    protected GeneratedAccessor(MappingManager manager, Class<?> accessorClass, Query[] queries) {
+        this.manager = manager;
+        this.accessorClass = accessorClass;
+        this.queries = queries;
+        this.methods = new AtomicReferenceArray<PreparingMethod>(queries.length);
+    }
+
+    /**
+     * Executes the query of a method.
+     *
+     * @param index the index of the method's query in the array passed to the constructor.
+     * @param args the arguments of the method.
+     * @return the value to return from the method.
+     */
+    protected final Object invoke(int index, final Object[] args) {
+        PreparingMethod method = prepareAsync(index);
+
+        if (method.future.isDone() || !method.async) {
+            try {
+                return Uninterruptibles.getUninterruptibly(method.future).invoke(args);
+            } catch (ExecutionException e) {
+                if (!method.async)
+                    throw Mapper.propagateCause(e);
+                // Fall through, to report the error through the returned future
+            }
+        }
+
+        ListenableFuture<Object> result = Futures.transform(method.future, new AsyncFunction<MethodMapper, Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public ListenableFuture<Object> apply(MethodMapper mapper) {
+                return (ListenableFuture<Object>)mapper.invoke(args);
+            }
+        });
+        if (method.resultSetFuture) {
+            @SuppressWarnings("unchecked")
+            ListenableFuture<ResultSet> resultSet = (ListenableFuture<ResultSet>)(ListenableFuture<?>)result;
+            return new ChainedResultSetFuture(resultSet);
+        }
+        return result;
+    }
+
+    private PreparingMethod prepareAsync(final int index) {
+        PreparingMethod existing = methods.get(index);
+        if (existing != null)
+            return existing;
+
+        final Query query = queries[index];
+        final String errorMessage = String.format("Error preparing query for method %s of accessor %s", query.methodName, accessorClass.getSimpleName());
+        Method m;
+        try {
+            m = accessorClass.getMethod(query.methodName, query.parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+
+        final PreparingMethod method = new PreparingMethod(m.getReturnType());
+        if (!methods.compareAndSet(index, null, method))
+            return methods.get(index);
+
+        try {
+            final MethodMapper mapper = AnnotationParser.parseAccessorMethod(accessorClass, m, query.queryString, query.consistency, query.fetchSize, query.tracing, manager);
+            Futures.addCallback(manager.getSession().prepareAsync(query.queryString), new FutureCallback<PreparedStatement>() {
+                @Override
+                public void onSuccess(PreparedStatement statement) {
+                    try {
+                        mapper.prepare(manager, statement);
+                    } catch (RuntimeException e) {
+                        onFailure(e);
+                        return;
+                    }
+                    method.future.set(mapper);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    // Let the next call try again
+                    methods.compareAndSet(index, method, null);
+                    method.future.setException(new RuntimeException(errorMessage, t));
+                }
+            });
+        } catch (RuntimeException e) {
+            methods.compareAndSet(index, method, null);
+            method.future.setException(new RuntimeException(errorMessage, e));
+        }
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return accessorClass.getSimpleName() + " implementation generated by the Cassandra driver mapper";
+    }
+
+    /**
+     * Loads the generated implementation of an accessor interface, following the naming
+     * convention described above.
+     *
+     * @return the implementation, or {@code null} if there is no such class.
+     */
+    static <T> T find(Class<T> accessorClass, MappingManager manager) {
+        String name = accessorClass.getName();
+        int i = name.lastIndexOf('.') + 1;
+        String implementationName = name.substring(0, i) + name.substring(i).replace('$', '_') + "_Impl";
+
+        Class<?> implementationClass;
+        try {
+            implementationClass = Class.forName(implementationName, true, accessorClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!accessorClass.isAssignableFrom(implementationClass) || !GeneratedAccessor.class.isAssignableFrom(implementationClass))
+            throw new IllegalArgumentException(String.format("Class %s must implement %s and extend %s",
+                implementationName, accessorClass.getName(), GeneratedAccessor.class.getName()));
+        try {
+            return accessorClass.cast(implementationClass.getConstructor(MappingManager.class).newInstance(manager));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Can't create an instance of " + implementationName, e);
+        }
+    }
+
+    private static class PreparingMethod {
+        final SettableFuture<MethodMapper> future = SettableFuture.create();
+        // Whether the method returns a future, in which case it must not block on the preparation
+        final boolean async;
+        final boolean resultSetFuture;
+
+        PreparingMethod(Class<?> returnType) {
+            this.async = ListenableFuture.class.isAssignableFrom(returnType);
+            this.resultSetFuture = ResultSetFuture.class.isAssignableFrom(returnType);
+        }
+    }
+
+    /**
+     * The query of an accessor method, as declared by its annotations.
+     */
+    public static final class Query {
+        final String methodName;
+        final Class<?>[] parameterTypes;
+        final String queryString;
+        final String consistency;
+        final int fetchSize;
+        final boolean tracing;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param methodName the name of the method.
+         * @param parameterTypes the parameter types of the method.
+         * @param queryString the value of its {@link com.datastax.driver.mapping.annotations.Query} annotation.
+         * @param consistency the consistency of its {@link com.datastax.driver.mapping.annotations.QueryParameters}
+         *                    annotation, or an empty string.
+         * @param fetchSize the fetch size of its {@code QueryParameters} annotation, or -1.
+         * @param tracing the tracing flag of its {@code QueryParameters} annotation, or {@code false}.
+         */
+        public Query(String methodName, Class<?>[] parameterTypes, String queryString, String consistency, int fetchSize, boolean tracing) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+            this.queryString = queryString;
+            this.consistency = consistency;
+            this.fetchSize = fetchSize;
+            this.tracing = tracing;
+        }
+    }
+}
@@ -15,28 +15,43 @@
  */
 package com.datastax.driver.mapping;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Objects;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.DriverInternalError;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.mapping.Mapper.Option.Fields;
 import com.datastax.driver.mapping.Mapper.Option.SaveNullFields;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Computed;
 
+import static com.datastax.driver.mapping.Mapper.Option.Type.FIELDS;
 import static com.datastax.driver.mapping.Mapper.Option.Type.SAVE_NULL_FIELDS;
+import static com.datastax.driver.mapping.Mapper.Option.Type.TRACING;
 
 /**
  * An object handling the mapping of a particular class.
@@ -54,16 +69,68 @@ public class Mapper<T> {
     final EntityMapper<T> mapper;
     final TableMetadata tableMetadata;
 
-    // Cache prepared statements for each type of query we use.
-    private volatile Map<MapperQueryKey, PreparedStatement> preparedQueries = Collections.emptyMap();
+    // Cache prepared statements for each type of query we use. Concurrent callers share the same
+    // preparation, and failed preparations are removed so that they can be retried.
+    private final ConcurrentMap<MapperQueryKey, ListenableFuture<PreparedStatement>> preparedQueries =
+        new ConcurrentHashMap<MapperQueryKey, ListenableFuture<PreparedStatement>>();
 
     private static final Function<Object, Void> NOOP = Functions.constant(null);
 
+    // The maximum number of prepared SAVE queries kept by a mapper, see saveQueries
+    static final int MAX_SAVE_QUERIES = 64;
+
+    // The maximum number of prepared GET queries that select some fields only, see partialGetQueries
+    static final int MAX_PARTIAL_GET_QUERIES = 64;
+
+    // Limits for saveAll, deleteAll and getAll. Batches are kept small, since Cassandra warns about
+    // batches bigger than 5KB by default.
+    static final int MAX_BATCH_STATEMENTS = 20;
+    static final int MAX_CONCURRENT_REQUESTS = 32;
+
+    // Prepared SAVE queries, for each set of saved columns. With saveNullFields(false), entities with many
+    // optional fields can produce a lot of different sets: only the most recently used ones are kept.
+    private final Cache<MapperQueryKey, ListenableFuture<PreparedStatement>> saveQueries = CacheBuilder.newBuilder()
+        .maximumSize(MAX_SAVE_QUERIES)
+        .recordStats()
+        .build();
+
+    // Prepared GET queries that select some fields only (see Option.fields), for each set of selected columns.
+    // Callers choose these sets, so like SAVE queries only the most recently used ones are kept.
+    private final Cache<MapperQueryKey, ListenableFuture<PreparedStatement>> partialGetQueries = CacheBuilder.newBuilder()
+        .maximumSize(MAX_PARTIAL_GET_QUERIES)
+        .build();
+
+    // The columns saved when null fields are saved (that is, all but computed ones), as a bit per index in
+    // mapper.allColumns()
+    private final BitSet allSavedColumns;
+
+    private final AsyncFunction<Statement, ResultSet> executeFunction = new AsyncFunction<Statement, ResultSet>() {
+        @Override
+        public ListenableFuture<ResultSet> apply(Statement statement) {
+            return session().executeAsync(statement);
+        }
+    };
+
+    // The rows fetched by get, keyed by their serialized primary key (absent for entities that don't exist).
+    // Rows rather than entities are cached, so that each caller gets its own instance. Null when disabled.
+    private volatile Cache<List<ByteBuffer>, Optional<Row>> entityCache;
+
+    // Versions of the cache entries, striped by key: a stripe is incremented before each invalidation of one of its
+    // keys. A get only caches the row it fetched if its key's stripe did not change since it started, otherwise that
+    // row might be older than the write that caused the invalidation. Striping keeps writes to unrelated entities
+    // from preventing gets from caching their rows.
+    private static final int INVALIDATION_STRIPES = 64;
+    private final AtomicLongArray cacheInvalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    // Maps the cached rows, that come from GET queries
+    private final Result<T> cachedRowMapper;
+
     private volatile EnumMap<Option.Type, Option> defaultSaveOptions;
     private volatile EnumMap<Option.Type, Option> defaultGetOptions;
     private volatile EnumMap<Option.Type, Option> defaultDeleteOptions;
 
     private static final EnumMap<Option.Type, Option> NO_OPTIONS = new EnumMap<Option.Type, Option>(Option.Type.class);
+    private static final BitSet NO_COLUMNS = new BitSet(0);
 
     final Function<ResultSet, T> mapOneFunction;
     final Function<ResultSet, T> mapOneFunctionWithoutAliases;
@@ -94,38 +161,166 @@ public class Mapper<T> {
             }
         };
 
+        this.cachedRowMapper = new Result<T>(null, mapper, protocolVersion, !manager.isCassandraV1);
+
         this.defaultSaveOptions = NO_OPTIONS;
         this.defaultGetOptions = NO_OPTIONS;
         this.defaultDeleteOptions = NO_OPTIONS;
+
+        List<ColumnMapper<T>> columns = mapper.allColumns();
+        this.allSavedColumns = new BitSet(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).kind != ColumnMapper.Kind.COMPUTED)
+                allSavedColumns.set(i);
+        }
     }
 
     Session session() {
         return manager.getSession();
     }
 
-    PreparedStatement getPreparedQuery(QueryType type, Set<ColumnMapper<?>> columns, EnumMap<Option.Type, Option> options) {
-
-        MapperQueryKey pqk = new MapperQueryKey(type, columns, options);
+    /**
+     * @param columns the columns of a SAVE query, or the selected columns of a GET query (empty for
+     *                all of them), as a bit per index in {@code mapper.allColumns()}.
+     */
+    ListenableFuture<PreparedStatement> getPreparedQueryAsync(QueryType type, BitSet columns, EnumMap<Option.Type, Option> options) {
+
+        final MapperQueryKey pqk = new MapperQueryKey(type, columns, options);
+
+        final ConcurrentMap<MapperQueryKey, ListenableFuture<PreparedStatement>> queries;
+        ListenableFuture<PreparedStatement> existing;
+        if (type == QueryType.SAVE) {
+            queries = saveQueries.asMap();
+            existing = saveQueries.getIfPresent(pqk);
+        } else if (type == QueryType.GET && !columns.isEmpty()) {
+            queries = partialGetQueries.asMap();
+            existing = partialGetQueries.getIfPresent(pqk);
+        } else {
+            queries = preparedQueries;
+            existing = preparedQueries.get(pqk);
+        }
+        if (existing != null)
+            return existing;
+
+        final SettableFuture<PreparedStatement> future = SettableFuture.create();
+        existing = queries.putIfAbsent(pqk, future);
+        if (existing != null)
+            return existing;
+
+        ListenableFuture<PreparedStatement> prepared;
+        try {
+            List<ColumnMapper<?>> columnMappers = new ArrayList<ColumnMapper<?>>(columns.cardinality());
+            for (int i = columns.nextSetBit(0); i >= 0; i = columns.nextSetBit(i + 1))
+                columnMappers.add(mapper.allColumns().get(i));
+            String queryString = type.makePreparedQueryString(tableMetadata, mapper, manager, columnMappers, options.values());
+            logger.debug("Preparing query {}", queryString);
+            prepared = session().prepareAsync(queryString);
+        } catch (RuntimeException e) {
+            queries.remove(pqk, future);
+            future.setException(e);
+            throw e;
+        }
+        Futures.addCallback(prepared, new FutureCallback<PreparedStatement>() {
+            @Override
+            public void onSuccess(PreparedStatement stmt) {
+                future.set(stmt);
+            }
 
-        PreparedStatement stmt = preparedQueries.get(pqk);
-        if (stmt == null) {
-            synchronized (preparedQueries) {
-                stmt = preparedQueries.get(pqk);
-                if (stmt == null) {
-                    String queryString = type.makePreparedQueryString(tableMetadata, mapper, manager, columns, options.values());
-                    logger.debug("Preparing query {}", queryString);
-                    stmt = session().prepare(queryString);
-                    Map<MapperQueryKey, PreparedStatement> newQueries = new HashMap<MapperQueryKey, PreparedStatement>(preparedQueries);
-                    newQueries.put(pqk, stmt);
-                    preparedQueries = newQueries;
-                }
+            @Override
+            public void onFailure(Throwable t) {
+                queries.remove(pqk, future);
+                future.setException(t);
             }
+        });
+        return future;
+    }
+
+    ListenableFuture<PreparedStatement> getPreparedQueryAsync(QueryType type, EnumMap<Option.Type, Option> options) {
+        return getPreparedQueryAsync(type, NO_COLUMNS, options);
+    }
+
+    PreparedStatement getPreparedQuery(QueryType type, BitSet columns, EnumMap<Option.Type, Option> options) {
+        try {
+            return Uninterruptibles.getUninterruptibly(getPreparedQueryAsync(type, columns, options));
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
         }
-        return stmt;
     }
 
     PreparedStatement getPreparedQuery(QueryType type, EnumMap<Option.Type, Option> options) {
-        return getPreparedQuery(type, Collections.<ColumnMapper<?>>emptySet(), options);
+        return getPreparedQuery(type, NO_COLUMNS, options);
+    }
+
+    static RuntimeException propagateCause(ExecutionException e) {
+        Throwable cause = e.getCause();
+
+        if (cause instanceof Error)
+            throw ((Error)cause);
+
+        // Like the session, re-create driver exceptions so that their stacktrace mentions the current thread
+        if (cause instanceof DriverException)
+            throw ((DriverException)cause).copy();
+        else if (cause instanceof RuntimeException)
+            throw (RuntimeException)cause;
+        else
+            throw new DriverInternalError("Unexpected exception thrown", cause);
+    }
+
+    private ListenableFuture<ResultSet> executeAsync(ListenableFuture<? extends Statement> statement) {
+        return Futures.transform(statement, executeFunction);
+    }
+
+    private ListenableFuture<Void> executeAllAsync(List<ListenableFuture<BoundStatement>> statements) {
+        ListenableFuture<List<ResultSet>> results = Futures.transform(Futures.allAsList(statements), new AsyncFunction<List<BoundStatement>, List<ResultSet>>() {
+            @Override
+            public ListenableFuture<List<ResultSet>> apply(List<BoundStatement> bound) {
+                return BoundedExecution.execute(session(), groupByPartition(bound), MAX_CONCURRENT_REQUESTS);
+            }
+        });
+        return Futures.transform(results, NOOP);
+    }
+
+    /**
+     * Groups statements that have the same routing key (and therefore target the same partition) into
+     * UNLOGGED batches of at most {@link #MAX_BATCH_STATEMENTS} statements. Statements without a routing
+     * key are kept as is.
+     */
+    private static List<Statement> groupByPartition(List<BoundStatement> statements) {
+        List<Statement> grouped = new ArrayList<Statement>();
+        Map<ByteBuffer, List<BoundStatement>> partitions = new LinkedHashMap<ByteBuffer, List<BoundStatement>>();
+        for (BoundStatement statement : statements) {
+            ByteBuffer routingKey = statement.getRoutingKey();
+            if (routingKey == null) {
+                grouped.add(statement);
+                continue;
+            }
+            List<BoundStatement> partition = partitions.get(routingKey);
+            if (partition == null) {
+                partition = new ArrayList<BoundStatement>();
+                partitions.put(routingKey, partition);
+            }
+            partition.add(statement);
+        }
+
+        for (List<BoundStatement> partition : partitions.values()) {
+            for (int i = 0; i < partition.size(); i += MAX_BATCH_STATEMENTS) {
+                List<BoundStatement> chunk = partition.subList(i, Math.min(partition.size(), i + MAX_BATCH_STATEMENTS));
+                grouped.add(chunk.size() == 1 ? chunk.get(0) : unloggedBatch(chunk));
+            }
+        }
+        return grouped;
+    }
+
+    // The statements of a mapper call all have the same options, so the batch takes those of the first one
+    private static Statement unloggedBatch(List<BoundStatement> statements) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        batch.addAll(statements);
+        Statement first = statements.get(0);
+        if (first.getConsistencyLevel() != null)
+            batch.setConsistencyLevel(first.getConsistencyLevel());
+        if (first.isTracing())
+            batch.enableTracing();
+        return batch;
     }
 
     /**
@@ -146,6 +341,149 @@ public class Mapper<T> {
         return manager;
     }
 
+    /**
+     * Returns statistics about the prepared queries used to save entities.
+     * <p>
+     * A query is prepared for each set of saved columns. Unless null fields are ignored (see
+     * {@link Option#saveNullFields(boolean)}), all entities are saved with the same query. Otherwise,
+     * each distinct set of non-null fields needs its own query, and only the most recently used ones
+     * are kept (the others are evicted, and prepared again when needed). A high eviction count
+     * indicates that saving null fields might be more efficient.
+     *
+     * @return the statistics. Hits are saves that reused a prepared query, misses are saves that had to
+     * prepare one.
+     */
+    public CacheStats getSaveQueryStats() {
+        return saveQueries.stats();
+    }
+
+    /**
+     * Enables a read-through cache of the entities fetched by {@link #get(Object...)} and
+     * {@link #getAsync(Object...)}, or replaces the current one.
+     * <p>
+     * Entities are cached by primary key, including the ones that don't exist. The cache of an entity
+     * is invalidated when it is saved or deleted with one of the {@code save}, {@code delete},
+     * {@code saveAll} or {@code deleteAll} methods of this mapper. Writes made by other means (for
+     * instance with {@link #saveQuery}, another mapper, or another client) are only seen once the
+     * cached entity expires, so this is only suitable for data that is rarely updated, or for which
+     * stale reads are acceptable.
+     * <p>
+     * The cache is bypassed by gets that use the {@link Option#fields(String...) fields} or
+     * {@link Option#tracing(boolean) tracing} options, and by {@link #getAll(Iterable)}. Each
+     * get that hits the cache returns a new instance of the entity.
+     *
+     * @param maximumSize      the maximum number of entities in the cache.
+     * @param expireAfterWrite how long an entity stays in the cache after it was fetched.
+     * @param unit             the unit of {@code expireAfterWrite}.
+     * @throws IllegalArgumentException if {@code maximumSize} or {@code expireAfterWrite} is negative.
+     * @see #getEntityCacheStats()
+     * @since 2.1.9
+     */
+    public void enableEntityCache(long maximumSize, long expireAfterWrite, TimeUnit unit) {
+        checkArgument(maximumSize >= 0, "Invalid maximum size %s, should be positive", maximumSize);
+        checkArgument(expireAfterWrite >= 0, "Invalid expiration %s, should be positive", expireAfterWrite);
+        this.entityCache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite, unit)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Disables the cache of entities, and discards its content.
+     *
+     * @see #enableEntityCache(long, long, TimeUnit)
+     * @since 2.1.9
+     */
+    public void disableEntityCache() {
+        this.entityCache = null;
+    }
+
+    /**
+     * Returns statistics about the cache of entities.
+     *
+     * @return the statistics of the current cache (hits are gets that were served by the cache, misses
+     * are gets that queried Cassandra), or empty statistics if the cache is disabled.
+     * @see #enableEntityCache(long, long, TimeUnit)
+     * @since 2.1.9
+     */
+    public CacheStats getEntityCacheStats() {
+        Cache<List<ByteBuffer>, Optional<Row>> cache = this.entityCache;
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    // The key of an entity in the cache, or null if its primary key is incomplete (in which case it can't have
+    // been cached)
+    private List<ByteBuffer> cacheKey(List<Object> primaryKey) {
+        if (primaryKey.size() != mapper.primaryKeySize() || primaryKey.contains(null))
+            return null;
+        return Arrays.asList(serializePrimaryKey(primaryKey));
+    }
+
+    static int invalidationStripe(List<ByteBuffer> key) {
+        int h = key.hashCode();
+        // Spread the high bits, since only the low ones are used
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return h & (INVALIDATION_STRIPES - 1);
+    }
+
+    private void invalidate(Cache<List<ByteBuffer>, Optional<Row>> cache, List<List<ByteBuffer>> keys) {
+        for (List<ByteBuffer> key : keys) {
+            cacheInvalidations.incrementAndGet(invalidationStripe(key));
+            cache.invalidate(key);
+        }
+    }
+
+    private void invalidateCache(T entity) {
+        if (entityCache != null)
+            invalidateCache(primaryKey(entity));
+    }
+
+    private void invalidateCache(List<Object> primaryKey) {
+        Cache<List<ByteBuffer>, Optional<Row>> cache = this.entityCache;
+        if (cache == null)
+            return;
+        List<ByteBuffer> key = cacheKey(primaryKey);
+        if (key != null)
+            invalidate(cache, Collections.singletonList(key));
+    }
+
+    // Invalidates the cache of the written entities once the write completes, successfully or not (a failed write
+    // might have been applied). The returned future only completes after that, so that a get that follows it can't
+    // see the previous entity.
+    private ListenableFuture<Void> invalidateCacheOnCompletion(ListenableFuture<?> write, T entity) {
+        return invalidateCacheOnCompletion(write, entityCache == null ? null : Collections.singletonList(primaryKey(entity)));
+    }
+
+    private ListenableFuture<Void> invalidateCacheOnCompletion(ListenableFuture<?> write, List<List<Object>> primaryKeys) {
+        final Cache<List<ByteBuffer>, Optional<Row>> cache = this.entityCache;
+        if (cache == null || primaryKeys == null)
+            return Futures.transform(write, NOOP);
+
+        final List<List<ByteBuffer>> keys = new ArrayList<List<ByteBuffer>>(primaryKeys.size());
+        for (List<Object> primaryKey : primaryKeys) {
+            List<ByteBuffer> key = cacheKey(primaryKey);
+            if (key != null)
+                keys.add(key);
+        }
+        final SettableFuture<Void> future = SettableFuture.create();
+        Futures.addCallback(write, new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                invalidate(cache, keys);
+                future.set(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                invalidate(cache, keys);
+                future.setException(t);
+            }
+        });
+        return future;
+    }
+
     /**
      * Creates a query that can be used to save the provided entity.
      * <p>
@@ -187,31 +525,58 @@ public class Mapper<T> {
     }
 
     private Statement saveQuery(T entity, EnumMap<Option.Type, Option> options) {
-        Map<ColumnMapper<?>, Object> values = new HashMap<ColumnMapper<?>, Object>();
-        boolean saveNullFields = shouldSaveNullFields(options);
+        ByteBuffer[] values = saveValues(entity, options);
+        BitSet columns = savedColumns(values, options);
+        return bindSaveQuery(getPreparedQuery(QueryType.SAVE, columns, options), columns, values, options);
+    }
 
-        for (ColumnMapper<T> cm : mapper.allColumns()) {
-            Object value = cm.getValue(entity);
-            if (cm.kind != ColumnMapper.Kind.COMPUTED && (saveNullFields || value != null)) {
-                values.put(cm, value);
+    private ListenableFuture<BoundStatement> saveQueryAsync(T entity, final EnumMap<Option.Type, Option> options) {
+        final ByteBuffer[] values = saveValues(entity, options);
+        final BitSet columns = savedColumns(values, options);
+        return Futures.transform(getPreparedQueryAsync(QueryType.SAVE, columns, options), new Function<PreparedStatement, BoundStatement>() {
+            @Override
+            public BoundStatement apply(PreparedStatement stmt) {
+                return bindSaveQuery(stmt, columns, values, options);
             }
+        });
+    }
+
+    // Everything that can fail is done before preparing, so that async callers get errors right away
+    private ByteBuffer[] saveValues(T entity, EnumMap<Option.Type, Option> options) {
+        for (Option opt : options.values())
+            opt.checkValidFor(QueryType.SAVE, manager);
+
+        List<ColumnMapper<T>> columns = mapper.allColumns();
+        ByteBuffer[] values = new ByteBuffer[columns.size()];
+        for (int i = allSavedColumns.nextSetBit(0); i >= 0; i = allSavedColumns.nextSetBit(i + 1)) {
+            values[i] = columns.get(i).serializeValue(entity, protocolVersion);
         }
+        return values;
+    }
 
-        BoundStatement bs = getPreparedQuery(QueryType.SAVE, values.keySet(), options).bind();
-        int i = 0;
-        for (Map.Entry<ColumnMapper<?>, Object> entry : values.entrySet()) {
-            DataType type = entry.getKey().getDataType();
-            Object value = entry.getValue();
-            bs.setBytesUnsafe(i++, value == null ? null : type.serialize(value, protocolVersion));
+    private BitSet savedColumns(ByteBuffer[] values, EnumMap<Option.Type, Option> options) {
+        if (shouldSaveNullFields(options))
+            return allSavedColumns;
+
+        BitSet columns = new BitSet(values.length);
+        for (int i = allSavedColumns.nextSetBit(0); i >= 0; i = allSavedColumns.nextSetBit(i + 1)) {
+            if (values[i] != null)
+                columns.set(i);
         }
+        return columns;
+    }
+
+    private BoundStatement bindSaveQuery(PreparedStatement stmt, BitSet columns, ByteBuffer[] values, EnumMap<Option.Type, Option> options) {
+        BoundStatement bs = stmt.bind();
+        int i = 0;
+        for (int c = columns.nextSetBit(0); c >= 0; c = columns.nextSetBit(c + 1))
+            bs.setBytesUnsafe(i++, values[c]);
 
         if (mapper.writeConsistency != null)
             bs.setConsistencyLevel(mapper.writeConsistency);
 
-        for (Option opt : options.values()) {
-            opt.checkValidFor(QueryType.SAVE, manager);
+        for (Option opt : options.values())
             opt.addToPreparedStatement(bs, i++);
-        }
 
         return bs;
     }
@@ -229,7 +594,12 @@ public class Mapper<T> {
      * @param entity the entity to save.
      */
     public void save(T entity) {
-        session().execute(saveQuery(entity));
+        Statement statement = saveQuery(entity);
+        try {
+            session().execute(statement);
+        } finally {
+            invalidateCache(entity);
+        }
     }
 
     /**
@@ -247,7 +617,12 @@ public class Mapper<T> {
      * @param options the options object specified defining special options when saving.
      */
     public void save(T entity, Option... options) {
-        session().execute(saveQuery(entity, options));
+        Statement statement = saveQuery(entity, options);
+        try {
+            session().execute(statement);
+        } finally {
+            invalidateCache(entity);
+        }
     }
 
     /**
@@ -259,7 +634,7 @@ public class Mapper<T> {
      * @return a future on the completion of the save operation.
      */
     public ListenableFuture<Void> saveAsync(T entity) {
-        return Futures.transform(session().executeAsync(saveQuery(entity)), NOOP);
+        return invalidateCacheOnCompletion(executeAsync(saveQueryAsync(entity, this.defaultSaveOptions)), entity);
     }
 
     /**
@@ -272,7 +647,49 @@ public class Mapper<T> {
      * @return a future on the completion of the save operation.
      */
     public ListenableFuture<Void> saveAsync(T entity, Option... options) {
-        return Futures.transform(session().executeAsync(saveQuery(entity, options)), NOOP);
+        return invalidateCacheOnCompletion(executeAsync(saveQueryAsync(entity, toMapWithDefaults(options, this.defaultSaveOptions))), entity);
+    }
+
+    /**
+     * Saves several entities mapped by this mapper.
+     * <p>
+     * This method is basically equivalent to: {@code getUninterruptibly(saveAllAsync(entities, options))}.
+     *
+     * @param entities the entities to save.
+     * @param options the options to apply to all the saves.
+     */
+    public void saveAll(Iterable<T> entities, Option... options) {
+        try {
+            Uninterruptibles.getUninterruptibly(saveAllAsync(entities, options));
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
+    }
+
+    /**
+     * Saves several entities mapped by this mapper asynchronously.
+     * <p>
+     * The entities that belong to the same partition are saved with single-partition {@code UNLOGGED}
+     * batches (routed to a replica of that partition if the cluster uses a token-aware load balancing
+     * policy), and at most 32 batches or individual saves are executed concurrently. Note that these
+     * batches are not atomic: if the returned future fails, some of the entities might have been saved.
+     * <p>
+     * If several entities have the same primary key, which one is eventually persisted is undefined.
+     *
+     * @param entities the entities to save.
+     * @param options the options to apply to all the saves.
+     * @return a future on the completion of all the saves. It fails as soon as one of the writes fails.
+     */
+    public ListenableFuture<Void> saveAllAsync(Iterable<T> entities, Option... options) {
+        EnumMap<Option.Type, Option> saveOptions = toMapWithDefaults(options, this.defaultSaveOptions);
+        List<ListenableFuture<BoundStatement>> statements = new ArrayList<ListenableFuture<BoundStatement>>();
+        List<List<Object>> primaryKeys = entityCache == null ? null : new ArrayList<List<Object>>();
+        for (T entity : entities) {
+            statements.add(saveQueryAsync(entity, saveOptions));
+            if (primaryKeys != null)
+                primaryKeys.add(primaryKey(entity));
+        }
+        return invalidateCacheOnCompletion(executeAllAsync(statements), primaryKeys);
     }
 
     /**
@@ -304,7 +721,34 @@ public class Mapper<T> {
         // Order and duplicates matter for primary keys
         List<Object> pks = new ArrayList<Object>();
         EnumMap<Option.Type, Option> options = new EnumMap<Option.Type, Option>(defaultGetOptions);
+        splitPrimaryKeyAndOptions(objects, pks, options);
+        ByteBuffer[] values = getValues(pks, options);
+        return bindGetQuery(getPreparedQuery(QueryType.GET, selectedColumns(options), options), values, options);
+    }
+
+    private ListenableFuture<BoundStatement> getQueryAsync(Object... objects) {
+        List<Object> pks = new ArrayList<Object>();
+        EnumMap<Option.Type, Option> options = new EnumMap<Option.Type, Option>(defaultGetOptions);
+        splitPrimaryKeyAndOptions(objects, pks, options);
+        return getQueryAsync(getValues(pks, options), options);
+    }
 
+    private ListenableFuture<BoundStatement> getQueryAsync(final ByteBuffer[] values, final EnumMap<Option.Type, Option> options) {
+        return Futures.transform(getPreparedQueryAsync(QueryType.GET, selectedColumns(options), options), new Function<PreparedStatement, BoundStatement>() {
+            @Override
+            public BoundStatement apply(PreparedStatement stmt) {
+                return bindGetQuery(stmt, values, options);
+            }
+        });
+    }
+
+    private static List<Object> primaryKeyValues(Object[] objects) {
+        List<Object> pks = new ArrayList<Object>();
+        splitPrimaryKeyAndOptions(objects, pks, new EnumMap<Option.Type, Option>(Option.Type.class));
+        return pks;
+    }
+
+    private static void splitPrimaryKeyAndOptions(Object[] objects, List<Object> pks, EnumMap<Option.Type, Option> options) {
         for (Object o : objects) {
             if (o instanceof Option) {
                 Option option = (Option)o;
@@ -313,29 +757,60 @@ public class Mapper<T> {
                 pks.add(o);
             }
         }
-        return getQuery(pks, options);
     }
 
-    private Statement getQuery(List<Object> primaryKeys, EnumMap<Option.Type, Option> options) {
+    private ByteBuffer[] getValues(List<Object> primaryKeys, EnumMap<Option.Type, Option> options) {
+        ByteBuffer[] values = serializePrimaryKey(primaryKeys);
+        for (Option opt : options.values())
+            opt.checkValidFor(QueryType.GET, manager);
+        return values;
+    }
 
+    // The primary key columns are always selected, so that the entity is identified
+    private BitSet selectedColumns(EnumMap<Option.Type, Option> options) {
+        Fields fields = (Fields)options.get(FIELDS);
+        if (fields == null)
+            return NO_COLUMNS;
+
+        List<ColumnMapper<T>> columns = mapper.allColumns();
+        BitSet selected = new BitSet(columns.size());
+        Set<String> unknown = new LinkedHashSet<String>(fields.fieldNames);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMapper<T> cm = columns.get(i);
+            if (unknown.remove(cm.fieldName) || cm.kind == ColumnMapper.Kind.PARTITION_KEY || cm.kind == ColumnMapper.Kind.CLUSTERING_COLUMN)
+                selected.set(i);
+        }
+        if (!unknown.isEmpty())
+            throw new IllegalArgumentException(String.format("Unknown field(s) %s in %s", unknown, klass.getName()));
+        return selected;
+    }
+
+    private ByteBuffer[] serializePrimaryKey(List<Object> primaryKeys) {
         if (primaryKeys.size() != mapper.primaryKeySize())
             throw new IllegalArgumentException(String.format("Invalid number of PRIMARY KEY columns provided, %d expected but got %d", mapper.primaryKeySize(), primaryKeys.size()));
 
-        BoundStatement bs = getPreparedQuery(QueryType.GET, options).bind();
+        ByteBuffer[] values = new ByteBuffer[primaryKeys.size()];
         int i = 0;
         for (Object value : primaryKeys) {
             ColumnMapper<T> column = mapper.getPrimaryKeyColumn(i);
             if (value == null) {
                 throw new IllegalArgumentException(String.format("Invalid null value for PRIMARY KEY column %s (argument %d)", column.getColumnName(), i));
             }
-            bs.setBytesUnsafe(i++, column.getDataType().serialize(value, protocolVersion));
+            values[i++] = column.getDataType().serialize(value, protocolVersion);
         }
+        return values;
+    }
+
+    private BoundStatement bindGetQuery(PreparedStatement stmt, ByteBuffer[] primaryKey, EnumMap<Option.Type, Option> options) {
+        BoundStatement bs = stmt.bind();
+        int i = 0;
+        for (ByteBuffer value : primaryKey)
+            bs.setBytesUnsafe(i++, value);
 
         if (mapper.readConsistency != null)
             bs.setConsistencyLevel(mapper.readConsistency);
 
         for (Option opt : options.values()) {
-            opt.checkValidFor(QueryType.GET, manager);
             opt.addToPreparedStatement(bs, i);
             if (opt.isIncludedInQuery())
                 i++;
@@ -347,7 +822,8 @@ public class Mapper<T> {
     /**
      * Fetch an entity based on its primary key.
      * <p>
-     * This method is basically equivalent to: {@code map(getManager().getSession().execute(getQuery(objects))).one()}.
+     * This method is basically equivalent to: {@code map(getManager().getSession().execute(getQuery(objects))).one()},
+     * unless the {@link #enableEntityCache(long, long, TimeUnit) entity cache} is enabled.
      *
      * @param objects the primary key of the entity to fetch, or more precisely
      *                the values for the columns of said primary key in the order of the primary key.
@@ -358,7 +834,13 @@ public class Mapper<T> {
      *                                  at least one of those values is {@code null}.
      */
     public T get(Object... objects) {
-        return mapAliased(session().execute(getQuery(objects))).one();
+        if (entityCache == null)
+            return mapAliased(session().execute(getQuery(objects))).one();
+        try {
+            return Uninterruptibles.getUninterruptibly(getAsync(objects));
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
     }
 
     /**
@@ -376,7 +858,93 @@ public class Mapper<T> {
      *                                  at least one of those values is {@code null}.
      */
     public ListenableFuture<T> getAsync(Object... objects) {
-        return Futures.transform(session().executeAsync(getQuery(objects)), mapOneFunction);
+        final Cache<List<ByteBuffer>, Optional<Row>> cache = this.entityCache;
+        if (cache == null)
+            return Futures.transform(executeAsync(getQueryAsync(objects)), mapOneFunction);
+
+        List<Object> pks = new ArrayList<Object>();
+        EnumMap<Option.Type, Option> options = new EnumMap<Option.Type, Option>(defaultGetOptions);
+        splitPrimaryKeyAndOptions(objects, pks, options);
+        ByteBuffer[] values = getValues(pks, options);
+        if (options.containsKey(FIELDS) || options.containsKey(TRACING))
+            return Futures.transform(executeAsync(getQueryAsync(values, options)), mapOneFunction);
+
+        final List<ByteBuffer> key = Arrays.asList(values);
+        Optional<Row> cached = cache.getIfPresent(key);
+        if (cached != null)
+            return Futures.immediateFuture(cached.isPresent() ? cachedRowMapper.map(cached.get()) : null);
+
+        final int stripe = invalidationStripe(key);
+        final long invalidations = cacheInvalidations.get(stripe);
+        return Futures.transform(executeAsync(getQueryAsync(values, options)), new Function<ResultSet, T>() {
+            @Override
+            public T apply(ResultSet rs) {
+                Row row = rs.one();
+                if (cacheInvalidations.get(stripe) == invalidations) {
+                    Optional<Row> entry = Optional.fromNullable(row);
+                    cache.put(key, entry);
+                    // An invalidation that happened between the check and the put might have missed the entry
+                    if (cacheInvalidations.get(stripe) != invalidations)
+                        cache.asMap().remove(key, entry);
+                }
+                return row == null ? null : cachedRowMapper.map(row);
+            }
+        });
+    }
+
+    /**
+     * Fetches several entities based on their primary keys.
+     * <p>
+     * This method is basically equivalent to: {@code getUninterruptibly(getAllAsync(primaryKeys))}.
+     *
+     * @param primaryKeys the primary keys of the entities to fetch, each one in the format
+     *                    accepted by {@link #get(Object...)}.
+     * @return the entities, in the order of {@code primaryKeys}, with {@code null} for the entities
+     * that don't exist.
+     * @throws IllegalArgumentException if one of the primary keys is invalid (see {@link #get(Object...)}).
+     */
+    public List<T> getAll(Iterable<Object[]> primaryKeys) {
+        try {
+            return Uninterruptibles.getUninterruptibly(getAllAsync(primaryKeys));
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
+    }
+
+    /**
+     * Fetches several entities based on their primary keys asynchronously.
+     * <p>
+     * Each entity is fetched with its own query (routed to a replica of its partition if the cluster
+     * uses a token-aware load balancing policy), and at most 32 queries are executed concurrently.
+     * Unlike a single query with an {@code IN} clause on the partition key, this spreads the work
+     * among the replicas instead of having one coordinator wait for all of them.
+     *
+     * @param primaryKeys the primary keys of the entities to fetch, each one in the format
+     *                    accepted by {@link #get(Object...)}.
+     * @return a future on the entities, in the order of {@code primaryKeys}, with {@code null} for the
+     * entities that don't exist. It fails as soon as one of the queries fails.
+     * @throws IllegalArgumentException if one of the primary keys is invalid (see {@link #get(Object...)}).
+     */
+    public ListenableFuture<List<T>> getAllAsync(Iterable<Object[]> primaryKeys) {
+        List<ListenableFuture<BoundStatement>> statements = new ArrayList<ListenableFuture<BoundStatement>>();
+        for (Object[] primaryKey : primaryKeys)
+            statements.add(getQueryAsync(primaryKey));
+
+        ListenableFuture<List<ResultSet>> results = Futures.transform(Futures.allAsList(statements), new AsyncFunction<List<BoundStatement>, List<ResultSet>>() {
+            @Override
+            public ListenableFuture<List<ResultSet>> apply(List<BoundStatement> bound) {
+                return BoundedExecution.execute(session(), bound, MAX_CONCURRENT_REQUESTS);
+            }
+        });
+        return Futures.transform(results, new Function<List<ResultSet>, List<T>>() {
+            @Override
+            public List<T> apply(List<ResultSet> resultSets) {
+                List<T> entities = new ArrayList<T>(resultSets.size());
+                for (ResultSet rs : resultSets)
+                    entities.add(mapAliased(rs).one());
+                return entities;
+            }
+        });
     }
 
     /**
@@ -408,12 +976,7 @@ public class Mapper<T> {
      * provided USING options.
      */
     public Statement deleteQuery(T entity, Option... options) {
-        List<Object> pks = new ArrayList<Object>();
-        for (int i = 0; i < mapper.primaryKeySize(); i++) {
-            pks.add(mapper.getPrimaryKeyColumn(i).getValue(entity));
-        }
-
-        return deleteQuery(pks, toMapWithDefaults(options, defaultDeleteOptions));
+        return deleteQuery(primaryKey(entity), toMapWithDefaults(options, defaultDeleteOptions));
     }
 
     /**
@@ -432,12 +995,15 @@ public class Mapper<T> {
      * @return a query that delete {@code entity} (based on it's defined mapping).
      */
     public Statement deleteQuery(T entity) {
+        return deleteQuery(primaryKey(entity), defaultDeleteOptions);
+    }
+
+    private List<Object> primaryKey(T entity) {
         List<Object> pks = new ArrayList<Object>();
         for (int i = 0; i < mapper.primaryKeySize(); i++) {
             pks.add(mapper.getPrimaryKeyColumn(i).getValue(entity));
         }
-
-        return deleteQuery(pks, defaultDeleteOptions);
+        return pks;
     }
 
     /**
@@ -475,44 +1041,52 @@ public class Mapper<T> {
         // Order and duplicates matter for primary keys
         List<Object> pks = new ArrayList<Object>();
         EnumMap<Option.Type, Option> options = new EnumMap<Option.Type, Option>(defaultDeleteOptions);
-
-        for (Object o : objects) {
-            if (o instanceof Option) {
-                Option option = (Option)o;
-                options.put(option.type, option);
-            } else {
-                pks.add(o);
-            }
-        }
+        splitPrimaryKeyAndOptions(objects, pks, options);
         return deleteQuery(pks, options);
     }
 
     private Statement deleteQuery(List<Object> primaryKey, EnumMap<Option.Type, Option> options) {
-        if (primaryKey.size() != mapper.primaryKeySize())
-            throw new IllegalArgumentException(String.format("Invalid number of PRIMARY KEY columns provided, %d expected but got %d", mapper.primaryKeySize(), primaryKey.size()));
+        return bindDeleteQuery(getPreparedQuery(QueryType.DEL, options), deleteValues(primaryKey, options), options);
+    }
 
-        BoundStatement bs = getPreparedQuery(QueryType.DEL, options).bind();
+    private ListenableFuture<BoundStatement> deleteQueryAsync(List<Object> primaryKey, final EnumMap<Option.Type, Option> options) {
+        final ByteBuffer[] values = deleteValues(primaryKey, options);
+        return Futures.transform(getPreparedQueryAsync(QueryType.DEL, options), new Function<PreparedStatement, BoundStatement>() {
+            @Override
+            public BoundStatement apply(PreparedStatement stmt) {
+                return bindDeleteQuery(stmt, values, options);
+            }
+        });
+    }
+
+    private ListenableFuture<BoundStatement> deleteQueryAsync(Object... objects) {
+        List<Object> pks = new ArrayList<Object>();
+        EnumMap<Option.Type, Option> options = new EnumMap<Option.Type, Option>(defaultDeleteOptions);
+        splitPrimaryKeyAndOptions(objects, pks, options);
+        return deleteQueryAsync(pks, options);
+    }
+
+    private ByteBuffer[] deleteValues(List<Object> primaryKey, EnumMap<Option.Type, Option> options) {
+        for (Option opt : options.values())
+            opt.checkValidFor(QueryType.DEL, manager);
+        return serializePrimaryKey(primaryKey);
+    }
+
+    private BoundStatement bindDeleteQuery(PreparedStatement stmt, ByteBuffer[] primaryKey, EnumMap<Option.Type, Option> options) {
+        BoundStatement bs = stmt.bind();
 
         if (mapper.writeConsistency != null)
             bs.setConsistencyLevel(mapper.writeConsistency);
 
         int i = 0;
         for (Option opt : options.values()) {
-            opt.checkValidFor(QueryType.DEL, manager);
             opt.addToPreparedStatement(bs, i);
             if (opt.isIncludedInQuery())
                 i++;
         }
 
-        int columnNumber = 0;
-        for (Object value : primaryKey) {
-            ColumnMapper<T> column = mapper.getPrimaryKeyColumn(columnNumber);
-            if (value == null) {
-                throw new IllegalArgumentException(String.format("Invalid null value for PRIMARY KEY column %s (argument %d)", column.getColumnName(), i));
-            }
-            bs.setBytesUnsafe(i++, column.getDataType().serialize(value, protocolVersion));
-            columnNumber++;
-        }
+        for (ByteBuffer value : primaryKey)
+            bs.setBytesUnsafe(i++, value);
         return bs;
     }
 
@@ -524,7 +1098,12 @@ public class Mapper<T> {
      * @param entity the entity to delete.
      */
     public void delete(T entity) {
-        session().execute(deleteQuery(entity));
+        Statement statement = deleteQuery(entity);
+        try {
+            session().execute(statement);
+        } finally {
+            invalidateCache(entity);
+        }
     }
 
     /**
@@ -536,7 +1115,12 @@ public class Mapper<T> {
      * @param options the options to add to the DELETE query.
      */
     public void delete(T entity, Option... options) {
-        session().execute(deleteQuery(entity, options));
+        Statement statement = deleteQuery(entity, options);
+        try {
+            session().execute(statement);
+        } finally {
+            invalidateCache(entity);
+        }
     }
 
     /**
@@ -548,7 +1132,7 @@ public class Mapper<T> {
      * @return a future on the completion of the deletion.
      */
     public ListenableFuture<Void> deleteAsync(T entity) {
-        return Futures.transform(session().executeAsync(deleteQuery(entity)), NOOP);
+        return invalidateCacheOnCompletion(executeAsync(deleteQueryAsync(primaryKey(entity), defaultDeleteOptions)), entity);
     }
 
     /**
@@ -561,7 +1145,7 @@ public class Mapper<T> {
      * @return a future on the completion of the deletion.
      */
     public ListenableFuture<Void> deleteAsync(T entity, Option... options) {
-        return Futures.transform(session().executeAsync(deleteQuery(entity, options)), NOOP);
+        return invalidateCacheOnCompletion(executeAsync(deleteQueryAsync(primaryKey(entity), toMapWithDefaults(options, defaultDeleteOptions))), entity);
     }
 
     /**
@@ -578,7 +1162,13 @@ public class Mapper<T> {
      *                                  at least one of those values is {@code null}.
      */
     public void delete(Object... objects) {
-        session().execute(deleteQuery(objects));
+        Statement statement = deleteQuery(objects);
+        try {
+            session().execute(statement);
+        } finally {
+            if (entityCache != null)
+                invalidateCache(primaryKeyValues(objects));
+        }
     }
 
     /**
@@ -595,7 +1185,46 @@ public class Mapper<T> {
      *                                  at least one of those values is {@code null}.
      */
     public ListenableFuture<Void> deleteAsync(Object... objects) {
-        return Futures.transform(session().executeAsync(deleteQuery(objects)), NOOP);
+        return invalidateCacheOnCompletion(executeAsync(deleteQueryAsync(objects)),
+            entityCache == null ? null : Collections.singletonList(primaryKeyValues(objects)));
+    }
+
+    /**
+     * Deletes several entities mapped by this mapper.
+     * <p>
+     * This method is basically equivalent to: {@code getUninterruptibly(deleteAllAsync(entities, options))}.
+     *
+     * @param entities the entities to delete.
+     * @param options the options to apply to all the deletions.
+     */
+    public void deleteAll(Iterable<T> entities, Option... options) {
+        try {
+            Uninterruptibles.getUninterruptibly(deleteAllAsync(entities, options));
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
+    }
+
+    /**
+     * Deletes several entities mapped by this mapper asynchronously.
+     * <p>
+     * The deletions are grouped by partition and executed like in {@link #saveAllAsync(Iterable, Option...)}.
+     *
+     * @param entities the entities to delete.
+     * @param options the options to apply to all the deletions.
+     * @return a future on the completion of all the deletions. It fails as soon as one of the deletions fails.
+     */
+    public ListenableFuture<Void> deleteAllAsync(Iterable<T> entities, Option... options) {
+        EnumMap<Option.Type, Option> deleteOptions = toMapWithDefaults(options, defaultDeleteOptions);
+        List<ListenableFuture<BoundStatement>> statements = new ArrayList<ListenableFuture<BoundStatement>>();
+        List<List<Object>> primaryKeys = entityCache == null ? null : new ArrayList<List<Object>>();
+        for (T entity : entities) {
+            List<Object> primaryKey = primaryKey(entity);
+            statements.add(deleteQueryAsync(primaryKey, deleteOptions));
+            if (primaryKeys != null)
+                primaryKeys.add(primaryKey);
+        }
+        return invalidateCacheOnCompletion(executeAllAsync(statements), primaryKeys);
     }
 
     /**
@@ -638,6 +1267,46 @@ public class Mapper<T> {
             : new Result<T>(resultSet, mapper, protocolVersion, true);
     }
 
+    /**
+     * Maps the pages of a {@code ResultSet}, asynchronously, into the class this is a mapper of.
+     * <p>
+     * This method has the same expectations as {@link #map(ResultSet)} on the columns of the result set,
+     * but returns its results as {@link ResultPage}s, that fetch the next pages without blocking.
+     *
+     * @param resultSetFuture the future on the {@code ResultSet} to map, for instance as returned by
+     *                        {@code getManager().getSession().executeAsync(statement)}.
+     * @return a future on the first page of results. The entities are mapped on the thread that completes
+     * {@code resultSetFuture}, or that fetched the page.
+     *
+     * @see #mapAsync(ListenableFuture, Executor)
+     */
+    public ListenableFuture<ResultPage<T>> mapAsync(ListenableFuture<ResultSet> resultSetFuture) {
+        return mapAsync(resultSetFuture, MoreExecutors.sameThreadExecutor());
+    }
+
+    /**
+     * Maps the pages of a {@code ResultSet}, asynchronously, into the class this is a mapper of.
+     * <p>
+     * This is the same as {@link #mapAsync(ListenableFuture)}, except that the entities of each page are
+     * mapped on the provided executor. Use this to avoid mapping big pages on the driver's I/O threads.
+     *
+     * @param resultSetFuture the future on the {@code ResultSet} to map.
+     * @param executor the executor to map pages on.
+     * @return a future on the first page of results.
+     */
+    public ListenableFuture<ResultPage<T>> mapAsync(ListenableFuture<ResultSet> resultSetFuture, final Executor executor) {
+        return Futures.transform(resultSetFuture, new Function<ResultSet, ResultPage<T>>() {
+            @Override
+            public ResultPage<T> apply(ResultSet rs) {
+                return mapPage(rs, executor);
+            }
+        }, executor);
+    }
+
+    ResultPage<T> mapPage(ResultSet resultSet, Executor executor) {
+        return ResultPage.first(resultSet, new Result<T>(resultSet, mapper, protocolVersion), executor);
+    }
+
     /**
      * Set the default save {@link Option} for this object mapper, that will be used
      * in all save operations unless overridden. Refer to {@link Mapper#save(Object, Option...)})}
@@ -729,7 +1398,7 @@ public class Mapper<T> {
      */
     public static abstract class Option {
 
-        enum Type {TTL, TIMESTAMP, CL, TRACING, SAVE_NULL_FIELDS}
+        enum Type {TTL, TIMESTAMP, CL, TRACING, SAVE_NULL_FIELDS, FIELDS}
 
         final Type type;
 
@@ -795,6 +1464,9 @@ public class Mapper<T> {
          * insert queries. This option is valid only for save operations.
          *
          * If this option is not specified, it defaults to {@code true} (null fields are saved).
+         * <p>
+         * Note that ignoring null fields requires a different query for each combination of
+         * non-null fields, see {@link Mapper#getSaveQueryStats()}.
          *
          * @param enabled whether to include null fields in queries.
          * @return the option.
@@ -803,6 +1475,25 @@ public class Mapper<T> {
             return new SaveNullFields(enabled);
         }
 
+        /**
+         * Creates a new Option object to only fetch some fields of an entity. This option is valid
+         * only for get operations.
+         * <p>
+         * The generated query only selects the columns of these fields (and of the primary key),
+         * the other fields of the returned entity are left to the value set by its no-argument
+         * constructor. This is useful to avoid fetching big columns (blobs, collections...) that a
+         * given code path doesn't need.
+         * <p>
+         * Note that each distinct set of fields requires a different prepared query. Only the 64 most
+         * recently used ones are kept by a mapper, the others are prepared again when needed.
+         *
+         * @param fieldNames the names of the fields to fetch, as declared in the entity class.
+         * @return the option.
+         */
+        public static Option fields(String... fieldNames) {
+            return new Fields(fieldNames);
+        }
+
         public Type getType(){
             return this.type;
         }
@@ -947,6 +1638,41 @@ public class Mapper<T> {
             }
         }
 
+        static class Fields extends Option {
+
+            private final Set<String> fieldNames;
+
+            Fields(String... fieldNames) {
+                super(FIELDS);
+                this.fieldNames = new LinkedHashSet<String>(Arrays.asList(fieldNames));
+            }
+
+            @Override
+            void appendTo(Insert.Options usings) {
+                throw new UnsupportedOperationException("shouldn't be called");
+            }
+
+            @Override
+            void appendTo(Delete.Options usings) {
+                throw new UnsupportedOperationException("shouldn't be called");
+            }
+
+            @Override
+            void addToPreparedStatement(BoundStatement bs, int i) {
+                // nothing to do, the fields change the selected columns
+            }
+
+            @Override
+            void checkValidFor(QueryType qt, MappingManager manager) {
+                checkArgument(qt == QueryType.GET, "Fields option is only allowed in get queries");
+            }
+
+            @Override
+            boolean isIncludedInQuery() {
+                return false;
+            }
+        }
+
         static class SaveNullFields extends Option {
 
             private boolean saveNullFields;
@@ -987,14 +1713,14 @@ public class Mapper<T> {
     private static class MapperQueryKey {
         private final QueryType queryType;
         private final EnumSet<Option.Type> optionTypes;
-        private final Set<ColumnMapper<?>> columns;
+        private final BitSet columns;
 
-        MapperQueryKey(QueryType queryType, Set<ColumnMapper<?>> columnMappers, EnumMap<Option.Type, Option> options) {
+        MapperQueryKey(QueryType queryType, BitSet columns, EnumMap<Option.Type, Option> options) {
             Preconditions.checkNotNull(queryType);
             Preconditions.checkNotNull(options);
-            Preconditions.checkNotNull(columnMappers);
+            Preconditions.checkNotNull(columns);
             this.queryType = queryType;
-            this.columns = columnMappers;
+            this.columns = columns;
             this.optionTypes = EnumSet.noneOf(Option.Type.class);
             for (Option opt : options.values()) {
                 if (opt.isIncludedInQuery())
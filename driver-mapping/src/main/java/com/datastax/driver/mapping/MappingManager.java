@@ -36,6 +36,8 @@ public class MappingManager {
     private volatile Map<Class<?>, UDTMapper<?>> udtMappers = Collections.<Class<?>, UDTMapper<?>>emptyMap();
     private volatile Map<Class<?>, Object> accessors = Collections.<Class<?>, Object>emptyMap();
 
+    private volatile boolean useGeneratedCode = true;
+
     /**
      * Creates a new {@code MappingManager} using the provided {@code Session}.
      * <p>
@@ -90,6 +92,26 @@ public class MappingManager {
         return session;
     }
 
+    /**
+     * Sets whether the mappers created by this manager use the {@link EntityProperties} of their
+     * entity class, if there are some, instead of reflection; and whether
+     * {@link #createAccessor(Class)} returns the {@link GeneratedAccessor generated implementation}
+     * of an accessor interface, if there is one, instead of a dynamic proxy.
+     * <p>
+     * This is enabled by default. It only applies to mappers and accessors that have not been created yet, so it
+     * should be set before the first call to {@link #mapper(Class)}, {@link #udtMapper(Class)} or
+     * {@link #createAccessor(Class)}.
+     *
+     * @param useGeneratedCode whether to use generated properties and accessor implementations.
+     * @return this manager.
+     *
+     * @since 2.1.9
+     */
+    public MappingManager setUseGeneratedCode(boolean useGeneratedCode) {
+        this.useGeneratedCode = useGeneratedCode;
+        return this;
+    }
+
     /**
      * Creates a {@code Mapper} for the provided class (that must be annotated by a
      * {@link Table} annotation).
@@ -145,7 +167,7 @@ public class MappingManager {
             synchronized (mappers) {
                 mapper = (Mapper<T>)mappers.get(klass);
                 if (mapper == null) {
-                    EntityMapper<T> entityMapper = AnnotationParser.parseEntity(klass, ReflectionMapper.factory(), this);
+                    EntityMapper<T> entityMapper = AnnotationParser.parseEntity(klass, entityFactory(klass), this);
                     mapper = new Mapper<T>(this, klass, entityMapper);
                     Map<Class<?>, Mapper<?>> newMappers = new HashMap<Class<?>, Mapper<?>>(mappers);
                     newMappers.put(klass, mapper);
@@ -163,7 +185,7 @@ public class MappingManager {
             synchronized (udtMappers) {
                 mapper = (UDTMapper<T>)udtMappers.get(klass);
                 if (mapper == null) {
-                    EntityMapper<T> entityMapper = AnnotationParser.parseUDT(klass, ReflectionMapper.factory(), this);
+                    EntityMapper<T> entityMapper = AnnotationParser.parseUDT(klass, entityFactory(klass), this);
                     mapper = new UDTMapper<T>(entityMapper, session);
                     Map<Class<?>, UDTMapper<?>> newMappers = new HashMap<Class<?>, UDTMapper<?>>(udtMappers);
                     newMappers.put(klass, mapper);
@@ -174,6 +196,12 @@ public class MappingManager {
         return mapper;
     }
 
+    private EntityMapper.Factory entityFactory(Class<?> klass) {
+        return useGeneratedCode
+            ? ReflectionMapper.factory(ReflectionMapper.findProperties(klass))
+            : ReflectionMapper.factory();
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T getAccessor(Class<T> klass) {
         T accessor = (T)accessors.get(klass);
@@ -181,9 +209,13 @@ public class MappingManager {
             synchronized (accessors) {
                 accessor = (T)accessors.get(klass);
                 if (accessor == null) {
-                    AccessorMapper<T> mapper = AnnotationParser.parseAccessor(klass, AccessorReflectionMapper.factory(), this);
-                    mapper.prepare(this);
-                    accessor = mapper.createProxy();
+                    if (useGeneratedCode)
+                        accessor = GeneratedAccessor.find(klass, this);
+                    if (accessor == null) {
+                        AccessorMapper<T> mapper = AnnotationParser.parseAccessor(klass, AccessorReflectionMapper.factory(), this);
+                        mapper.prepare(this);
+                        accessor = mapper.createProxy();
+                    }
                     Map<Class<?>, Object> newAccessors = new HashMap<Class<?>, Object>(accessors);
                     newAccessors.put(klass, accessor);
                     accessors = newAccessors;
@@ -24,6 +24,7 @@ import java.util.Set;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import com.datastax.driver.core.*;
 
@@ -45,6 +46,7 @@ class MethodMapper {
     private boolean returnStatement;
     private Mapper<?> returnMapper;
     private boolean mapOne;
+    private boolean mapPage;
     private boolean async;
 
     MethodMapper(Method method, String queryString, ParamMapper[] paramMappers, ConsistencyLevel consistency, int fetchSize, boolean enableTracing) {
@@ -120,6 +122,9 @@ class MethodMapper {
             Type raw = pt.getRawType();
             if (raw instanceof Class && Result.class.isAssignableFrom((Class)raw)) {
                 type = pt.getActualTypeArguments()[0];
+            } else if (raw instanceof Class && ResultPage.class.isAssignableFrom((Class)raw)) {
+                type = pt.getActualTypeArguments()[0];
+                mapPage = true;
             } else {
                 mapOne = true;
             }
@@ -161,6 +166,9 @@ class MethodMapper {
             if (returnMapper == null)
                 return future;
 
+            if (mapPage)
+                return returnMapper.mapAsync(future);
+
             return mapOne
                  ? Futures.transform(future, returnMapper.mapOneFunctionWithoutAliases)
                  : Futures.transform(future, returnMapper.mapAllFunctionWithoutAliases);
@@ -169,6 +177,9 @@ class MethodMapper {
             if (returnMapper == null)
                 return rs;
 
+            if (mapPage)
+                return returnMapper.mapPage(rs, MoreExecutors.sameThreadExecutor());
+
             Result<?> result = returnMapper.map(rs);
             return mapOne ? result.one() : result;
         }
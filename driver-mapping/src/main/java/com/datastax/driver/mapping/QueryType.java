@@ -18,7 +18,6 @@ package com.datastax.driver.mapping;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import com.google.common.base.Objects;
 
@@ -61,7 +60,7 @@ class QueryType {
         return new QueryType(reversed ? Kind.REVERSED_SLICE : Kind.SLICE, startBoundSize, startInclusive, endBoundSize, endInclusive);
     }
 
-    String makePreparedQueryString(TableMetadata table, EntityMapper<?> mapper, MappingManager manager, Set<ColumnMapper<?>> columns, Collection<Mapper.Option> options) {
+    String makePreparedQueryString(TableMetadata table, EntityMapper<?> mapper, MappingManager manager, Collection<ColumnMapper<?>> columns, Collection<Mapper.Option> options) {
         switch (kind) {
             case SAVE: {
                 Insert insert = table == null
@@ -81,7 +80,7 @@ class QueryType {
             }
             case GET: {
                 Select.Selection selection = select();
-                for (ColumnMapper cm : mapper.allColumns()) {
+                for (ColumnMapper cm : columns.isEmpty() ? mapper.allColumns() : columns) {
                     Select.SelectionOrAlias column = (cm.kind == ColumnMapper.Kind.COMPUTED)
                         ? ((Select.SelectionOrAlias)selection).raw(cm.getColumnName())
                         : selection.column(cm.getColumnName());
@@ -21,32 +21,76 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.UDTValue;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
 
 /**
  * An {@link EntityMapper} implementation that use reflection to read and write fields
- * of an entity.
+ * of an entity, unless {@link EntityProperties} are provided for them.
  */
 class ReflectionMapper<T> extends EntityMapper<T> {
 
-    private static ReflectionFactory factory = new ReflectionFactory();
+    private static ReflectionFactory factory = new ReflectionFactory(null);
 
-    private ReflectionMapper(Class<T> entityClass, String keyspace, String table, ConsistencyLevel writeConsistency, ConsistencyLevel readConsistency) {
+    // null if the entity class has no generated properties
+    private final EntityProperties<T> properties;
+
+    private ReflectionMapper(Class<T> entityClass, String keyspace, String table, ConsistencyLevel writeConsistency, ConsistencyLevel readConsistency, EntityProperties<T> properties) {
         super(entityClass, keyspace, table, writeConsistency, readConsistency);
+        this.properties = properties;
     }
 
     public static Factory factory() {
         return factory;
     }
 
+    /**
+     * Returns a factory that uses {@code properties} for the fields they handle, and
+     * reflection for the others.
+     */
+    public static Factory factory(EntityProperties<?> properties) {
+        return properties == null ? factory : new ReflectionFactory(properties);
+    }
+
+    /**
+     * Loads the generated properties of an entity class, following the naming convention
+     * described in {@link EntityProperties}.
+     *
+     * @return the properties, or {@code null} if there is no such class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> EntityProperties<T> findProperties(Class<T> entityClass) {
+        String name = entityClass.getName();
+        int i = name.lastIndexOf('.') + 1;
+        String propertiesName = name.substring(0, i) + name.substring(i).replace('$', '_') + "_Properties";
+
+        Class<?> propertiesClass;
+        try {
+            propertiesClass = Class.forName(propertiesName, true, entityClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!EntityProperties.class.isAssignableFrom(propertiesClass))
+            throw new IllegalArgumentException(String.format("Class %s must implement %s", propertiesName, EntityProperties.class.getName()));
+        try {
+            return (EntityProperties<T>)propertiesClass.newInstance();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Can't create an instance of " + propertiesName, e);
+        }
+    }
+
     @Override
     public T newEntity() {
+        if (properties != null)
+            return properties.newInstance();
         try {
             return entityClass.newInstance();
         } catch (Exception e) {
@@ -56,21 +100,22 @@ class ReflectionMapper<T> extends EntityMapper<T> {
 
     private static class LiteralMapper<T> extends ColumnMapper<T> {
 
-        private final Method readMethod;
-        private final Method writeMethod;
+        private final FieldAccess access;
 
-        private LiteralMapper(Field field, int position, PropertyDescriptor pd, AtomicInteger columnNumber) {
-            this(field, extractSimpleType(field), position, pd, columnNumber);
+        private LiteralMapper(Field field, int position, FieldAccess access, AtomicInteger columnNumber) {
+            this(field, extractSimpleType(field), position, access, columnNumber);
         }
 
-        private LiteralMapper(Field field, DataType type, int position, PropertyDescriptor pd, AtomicInteger columnCounter) {
+        private LiteralMapper(Field field, DataType type, int position, FieldAccess access, AtomicInteger columnCounter) {
             super(field, type, position, columnCounter);
-            this.readMethod = pd.getReadMethod();
-            this.writeMethod = pd.getWriteMethod();
+            this.access = access;
         }
 
         @Override
         public Object getValue(T entity) {
+            if (access.properties != null)
+                return access.properties.get(entity, access.index);
+            Method readMethod = access.readMethod;
             try {
                 return readMethod.invoke(entity);
             } catch (IllegalArgumentException e) {
@@ -82,6 +127,15 @@ class ReflectionMapper<T> extends EntityMapper<T> {
 
         @Override
         public void setValue(Object entity, Object value) {
+            if (access.properties != null) {
+                try {
+                    access.properties.set(entity, access.index, value);
+                } catch (ClassCastException e) {
+                    throw new IllegalArgumentException("Could not set field '" + fieldName + "' to value '" + value + "'");
+                }
+                return;
+            }
+            Method writeMethod = access.writeMethod;
             try {
                 writeMethod.invoke(entity, value);
             } catch (IllegalArgumentException e) {
@@ -92,13 +146,95 @@ class ReflectionMapper<T> extends EntityMapper<T> {
         }
     }
 
+    // A primitive field handled by generated properties: it is read and written through their typed
+    // methods, and its value is encoded and decoded here, so that it is never boxed
+    private static class PrimitiveMapper<T> extends LiteralMapper<T> {
+
+        private final EntityProperties<Object> properties;
+        private final int index;
+
+        private PrimitiveMapper(Field field, int position, FieldAccess access, AtomicInteger columnCounter) {
+            super(field, position, access, columnCounter);
+            this.properties = access.properties;
+            this.index = access.index;
+        }
+
+        static boolean supports(Class<?> type) {
+            return type == int.class || type == long.class || type == float.class || type == double.class || type == boolean.class;
+        }
+
+        @Override
+        ByteBuffer serializeValue(T entity, ProtocolVersion protocolVersion) {
+            ByteBuffer bytes;
+            if (javaType == int.class) {
+                bytes = ByteBuffer.allocate(4);
+                bytes.putInt(0, properties.getInt(entity, index));
+            } else if (javaType == long.class) {
+                bytes = ByteBuffer.allocate(8);
+                bytes.putLong(0, properties.getLong(entity, index));
+            } else if (javaType == float.class) {
+                bytes = ByteBuffer.allocate(4);
+                bytes.putFloat(0, properties.getFloat(entity, index));
+            } else if (javaType == double.class) {
+                bytes = ByteBuffer.allocate(8);
+                bytes.putDouble(0, properties.getDouble(entity, index));
+            } else {
+                bytes = ByteBuffer.allocate(1);
+                bytes.put(0, (byte)(properties.getBoolean(entity, index) ? 1 : 0));
+            }
+            return bytes;
+        }
+
+        @Override
+        void deserializeValue(T entity, ByteBuffer bytes, ProtocolVersion protocolVersion) {
+            int position = bytes.position();
+            if (javaType == int.class) {
+                checkSize(bytes, 4, "32-bits integer");
+                properties.setInt(entity, index, bytes.getInt(position));
+            } else if (javaType == long.class) {
+                checkSize(bytes, 8, "64-bits long");
+                properties.setLong(entity, index, bytes.getLong(position));
+            } else if (javaType == float.class) {
+                checkSize(bytes, 4, "32-bits float");
+                properties.setFloat(entity, index, bytes.getFloat(position));
+            } else if (javaType == double.class) {
+                checkSize(bytes, 8, "64-bits double");
+                properties.setDouble(entity, index, bytes.getDouble(position));
+            } else {
+                checkSize(bytes, 1, "boolean");
+                properties.setBoolean(entity, index, bytes.get(position) != 0);
+            }
+        }
+
+        private static void checkSize(ByteBuffer bytes, int size, String type) {
+            if (bytes.remaining() != size)
+                throw new InvalidTypeException(String.format("Invalid %s value, expecting %d bytes but got %d", type, size, bytes.remaining()));
+        }
+    }
+
+    // How a field is read and written: through generated properties if there are some for it,
+    // otherwise through its getter and setter
+    private static class FieldAccess {
+        final Method readMethod;
+        final Method writeMethod;
+        final EntityProperties<Object> properties;
+        final int index;
+
+        FieldAccess(Method readMethod, Method writeMethod, EntityProperties<Object> properties, int index) {
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+            this.properties = properties;
+            this.index = index;
+        }
+    }
+
     private static class EnumMapper<T> extends LiteralMapper<T> {
 
         private final EnumType enumType;
         private final Map<String, Object> fromString;
 
-        private EnumMapper(Field field, int position, PropertyDescriptor pd, EnumType enumType, AtomicInteger columnCounter) {
-            super(field, enumType == EnumType.STRING ? DataType.text() : DataType.cint(), position, pd, columnCounter);
+        private EnumMapper(Field field, int position, FieldAccess access, EnumType enumType, AtomicInteger columnCounter) {
+            super(field, enumType == EnumType.STRING ? DataType.text() : DataType.cint(), position, access, columnCounter);
             this.enumType = enumType;
 
             if (enumType == EnumType.STRING) {
@@ -142,8 +278,8 @@ class ReflectionMapper<T> extends EntityMapper<T> {
     private static class UDTColumnMapper<T, U> extends LiteralMapper<T> {
         private final UDTMapper<U> udtMapper;
 
-        private UDTColumnMapper(Field field, int position, PropertyDescriptor pd, UDTMapper<U> udtMapper, AtomicInteger columnCounter) {
-            super(field, udtMapper.getUserType(), position, pd, columnCounter);
+        private UDTColumnMapper(Field field, int position, FieldAccess access, UDTMapper<U> udtMapper, AtomicInteger columnCounter) {
+            super(field, udtMapper.getUserType(), position, access, columnCounter);
             this.udtMapper = udtMapper;
         }
 
@@ -167,8 +303,8 @@ class ReflectionMapper<T> extends EntityMapper<T> {
     private static class NestedUDTMapper<T> extends LiteralMapper<T> {
         private final InferredCQLType inferredCQLType;
 
-        public NestedUDTMapper(Field field, int position, PropertyDescriptor pd, InferredCQLType inferredCQLType, AtomicInteger columnCounter) {
-            super(field, inferredCQLType.dataType, position, pd, columnCounter);
+        public NestedUDTMapper(Field field, int position, FieldAccess access, InferredCQLType inferredCQLType, AtomicInteger columnCounter) {
+            super(field, inferredCQLType.dataType, position, access, columnCounter);
             this.inferredCQLType = inferredCQLType;
         }
 
@@ -198,37 +334,55 @@ class ReflectionMapper<T> extends EntityMapper<T> {
 
     private static class ReflectionFactory implements Factory {
 
+        private final EntityProperties<Object> properties;
+
+        @SuppressWarnings("unchecked")
+        private ReflectionFactory(EntityProperties<?> properties) {
+            this.properties = (EntityProperties<Object>)properties;
+        }
+
+        @SuppressWarnings("unchecked")
         public <T> EntityMapper<T> create(Class<T> entityClass, String keyspace, String table, ConsistencyLevel writeConsistency, ConsistencyLevel readConsistency) {
-            return new ReflectionMapper<T>(entityClass, keyspace, table, writeConsistency, readConsistency);
+            return new ReflectionMapper<T>(entityClass, keyspace, table, writeConsistency, readConsistency, (EntityProperties<T>)properties);
         }
 
         @SuppressWarnings({ "unchecked", "rawtypes" })
         public <T> ColumnMapper<T> createColumnMapper(Class<T> entityClass, Field field, int position, MappingManager mappingManager, AtomicInteger columnCounter) {
             String fieldName = field.getName();
             try {
-                PropertyDescriptor pd = new PropertyDescriptor(fieldName, field.getDeclaringClass());
+                int index = properties == null ? -1 : properties.indexOf(fieldName);
+                FieldAccess access;
+                if (index >= 0) {
+                    access = new FieldAccess(null, null, properties, index);
+                } else {
+                    PropertyDescriptor pd = new PropertyDescriptor(fieldName, field.getDeclaringClass());
+                    access = new FieldAccess(pd.getReadMethod(), pd.getWriteMethod(), null, -1);
+                }
 
                 if (field.getType().isEnum()) {
-                    return new EnumMapper<T>(field, position, pd, AnnotationParser.enumType(field), columnCounter);
+                    return new EnumMapper<T>(field, position, access, AnnotationParser.enumType(field), columnCounter);
                 }
 
                 if (TypeMappings.isMappedUDT(field.getType())) {
                     UDTMapper<?> udtMapper = mappingManager.getUDTMapper(field.getType());
-                    return (ColumnMapper<T>) new UDTColumnMapper(field, position, pd, udtMapper, columnCounter);
+                    return (ColumnMapper<T>) new UDTColumnMapper(field, position, access, udtMapper, columnCounter);
                 }
 
                 if (field.getGenericType() instanceof ParameterizedType) {
                     InferredCQLType inferredCQLType = InferredCQLType.from(field, mappingManager);
                     if (inferredCQLType.containsMappedUDT) {
                         // We need a specialized mapper to convert UDT instances in the hierarchy.
-                        return (ColumnMapper<T>)new NestedUDTMapper(field, position, pd, inferredCQLType, columnCounter);
+                        return (ColumnMapper<T>)new NestedUDTMapper(field, position, access, inferredCQLType, columnCounter);
                     } else {
                         // The default codecs will know how to handle the extracted datatype.
-                        return new LiteralMapper<T>(field, inferredCQLType.dataType, position, pd, columnCounter);
+                        return new LiteralMapper<T>(field, inferredCQLType.dataType, position, access, columnCounter);
                     }
                 }
 
-                return new LiteralMapper<T>(field, position, pd, columnCounter);
+                if (access.properties != null && PrimitiveMapper.supports(field.getType()))
+                    return new PrimitiveMapper<T>(field, position, access, columnCounter);
+
+                return new LiteralMapper<T>(field, position, access, columnCounter);
 
             } catch (IntrospectionException e) {
                 throw new IllegalArgumentException("Cannot find matching getter and setter for field '" + fieldName + "'");
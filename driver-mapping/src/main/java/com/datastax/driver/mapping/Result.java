@@ -41,15 +41,16 @@ public class Result<T> implements Iterable<T> {
         this.useAlias = useAlias;
     }
 
-    private T map(Row row) {
+    T map(Row row) {
         T entity = mapper.newEntity();
+        ColumnDefinitions definitions = row.getColumnDefinitions();
         for (ColumnMapper<T> cm : mapper.allColumns()) {
-            String name = cm.getAlias() != null && this.useAlias ? cm.getAlias() : cm.getColumnName();
-            if (!row.getColumnDefinitions().contains(name))
+            int index = cm.getHandle(this.useAlias).getIndexOf(definitions);
+            if (index < 0)
                 continue;
-            ByteBuffer bytes = row.getBytesUnsafe(name);
+            ByteBuffer bytes = row.getBytesUnsafe(index);
             if (bytes != null)
-                cm.setValue(entity, cm.getDataType().deserialize(bytes, protocolVersion));
+                cm.deserializeValue(entity, bytes, protocolVersion);
         }
         return entity;
     }
@@ -0,0 +1,122 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * A page of a {@code ResultSet}, mapped to an entity class.
+ * <p>
+ * Unlike {@link Result}, which fetches the next page of results when the iteration reaches it (and
+ * blocks while doing so), this never blocks: it holds the entities that were available when it was
+ * created, all mapped at once, and {@link #nextPage()} fetches the next ones asynchronously. The next
+ * page is requested as soon as a page is created, so that it is fetched while the current one is
+ * processed.
+ * <p>
+ * Pages of a same result must be consumed sequentially: {@link #nextPage()} should only be called once
+ * per page.
+ * <p>
+ * Pages are obtained from {@link Mapper#mapAsync(ListenableFuture)}, or from an {@link com.datastax.driver.mapping.annotations.Accessor}
+ * method that returns {@code ResultPage<T>} or {@code ListenableFuture<ResultPage<T>>}.
+ */
+public class ResultPage<T> {
+
+    private final ResultSet rs;
+    private final Result<T> result;
+    private final Executor executor;
+    private final List<T> entities;
+
+    private ResultPage(ResultSet rs, Result<T> result, Executor executor) {
+        this.rs = rs;
+        this.result = result;
+        this.executor = executor;
+
+        int available = rs.getAvailableWithoutFetching();
+        List<T> entities = new ArrayList<T>(available);
+        for (int i = 0; i < available; i++)
+            entities.add(result.map(rs.one()));
+        this.entities = Collections.unmodifiableList(entities);
+
+        if (!rs.isFullyFetched())
+            rs.fetchMoreResults();
+    }
+
+    static <T> ResultPage<T> first(ResultSet rs, Result<T> result, Executor executor) {
+        return new ResultPage<T>(rs, result, executor);
+    }
+
+    /**
+     * Returns the entities of this page.
+     *
+     * @return the entities of this page. This can be empty, even if there are more pages.
+     */
+    public List<T> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Whether there are more results after this page.
+     *
+     * @return whether there are more results after this page.
+     */
+    public boolean hasNextPage() {
+        return rs.getAvailableWithoutFetching() > 0 || !rs.isFullyFetched();
+    }
+
+    /**
+     * Fetches the next page of results.
+     * <p>
+     * The future completes right away if the next page has already been fetched. The entities are
+     * mapped on the executor that was provided when this result was created (if any).
+     *
+     * @return a future on the next page.
+     *
+     * @throws IllegalStateException if there is no next page.
+     */
+    public ListenableFuture<ResultPage<T>> nextPage() {
+        if (!hasNextPage())
+            throw new IllegalStateException("No more pages");
+
+        ListenableFuture<Void> fetched = rs.getAvailableWithoutFetching() > 0
+            ? Futures.<Void>immediateFuture(null)
+            : rs.fetchMoreResults();
+        return Futures.transform(fetched, new Function<Void, ResultPage<T>>() {
+            @Override
+            public ResultPage<T> apply(Void input) {
+                return new ResultPage<T>(rs, result, executor);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns information on the execution of the query that returned this page.
+     *
+     * @return the execution info of the last query made to fetch this page.
+     */
+    public ExecutionInfo getExecutionInfo() {
+        return rs.getExecutionInfo();
+    }
+}
@@ -74,10 +74,8 @@ public class UDTMapper<T> {
      */
     public UDTValue toUDT(T entity) {
         UDTValue udtValue = userType.newValue();
-        for (ColumnMapper<T> cm : entityMapper.allColumns()) {
-            Object value = cm.getValue(entity);
-            udtValue.setBytesUnsafe(cm.getColumnName(), value == null ? null : cm.getDataType().serialize(value, UDT_PROTOCOL_VERSION));
-        }
+        for (ColumnMapper<T> cm : entityMapper.allColumns())
+            udtValue.setBytesUnsafe(cm.getColumnName(), cm.serializeValue(entity, UDT_PROTOCOL_VERSION));
         return udtValue;
     }
 
@@ -90,7 +88,7 @@ public class UDTMapper<T> {
         for (ColumnMapper<T> cm : entityMapper.allColumns()) {
             ByteBuffer bytes = udtValue.getBytesUnsafe(cm.getColumnName());
             if (bytes != null)
-                cm.setValue(entity, cm.getDataType().deserialize(bytes, UDT_PROTOCOL_VERSION));
+                cm.deserializeValue(entity, bytes, UDT_PROTOCOL_VERSION);
         }
         return entity;
     }
@@ -0,0 +1,149 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.CCMBridge;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.annotations.*;
+
+public class MapperAsyncTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Lists.newArrayList("CREATE TABLE user (login text primary key, name text)");
+    }
+
+    @Test(groups = "short")
+    public void should_share_preparation_between_concurrent_async_calls() throws Exception {
+        // A new manager, so that none of the queries are prepared yet
+        Mapper<User> mapper = new MappingManager(session).mapper(User.class);
+
+        List<ListenableFuture<Void>> saves = Lists.newArrayList();
+        for (int i = 0; i < 100; i++)
+            saves.add(mapper.saveAsync(new User("login" + i, "name" + i)));
+        Futures.allAsList(saves).get();
+
+        List<ListenableFuture<User>> gets = Lists.newArrayList();
+        for (int i = 0; i < 100; i++)
+            gets.add(mapper.getAsync("login" + i));
+        List<User> users = Futures.allAsList(gets).get();
+        for (int i = 0; i < 100; i++)
+            assertThat(users.get(i).getName()).isEqualTo("name" + i);
+
+        mapper.deleteAsync("login0").get();
+        mapper.deleteAsync(users.get(1)).get();
+        assertThat(mapper.getAsync("login0").get()).isNull();
+        assertThat(mapper.getAsync("login1").get()).isNull();
+        assertThat(mapper.getAsync("login2").get()).isNotNull();
+    }
+
+    @Test(groups = "short", expectedExceptions = IllegalArgumentException.class)
+    public void should_fail_invalid_async_calls_immediately() {
+        new MappingManager(session).mapper(User.class).getAsync("login", "extra");
+    }
+
+    @Test(groups = "short")
+    public void should_map_pages_asynchronously() throws Exception {
+        MappingManager manager = new MappingManager(session);
+        Mapper<User> mapper = manager.mapper(User.class);
+        for (int i = 0; i < 25; i++)
+            mapper.save(new User("paged" + i, "name" + i));
+
+        UserAccessor accessor = manager.createAccessor(UserAccessor.class);
+        Set<String> logins = Sets.newHashSet();
+        ResultPage<User> page = accessor.getAllAsync().get();
+        int pages = 1;
+        while (true) {
+            assertThat(page.getEntities().size()).isLessThanOrEqualTo(10);
+            for (User user : page.getEntities())
+                logins.add(user.getLogin());
+            if (!page.hasNextPage())
+                break;
+            page = page.nextPage().get();
+            pages += 1;
+        }
+        assertThat(pages).isGreaterThanOrEqualTo(3);
+        for (int i = 0; i < 25; i++)
+            assertThat(logins).contains("paged" + i);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Statement statement = new SimpleStatement("SELECT * FROM user").setFetchSize(10);
+            page = mapper.mapAsync(session.executeAsync(statement), executor).get();
+            int count = page.getEntities().size();
+            while (page.hasNextPage()) {
+                page = page.nextPage().get();
+                count += page.getEntities().size();
+            }
+            assertThat(count).isEqualTo(logins.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Accessor
+    public interface UserAccessor {
+        @Query("SELECT * FROM user")
+        @QueryParameters(fetchSize = 10)
+        ListenableFuture<ResultPage<User>> getAllAsync();
+    }
+
+    @Table(name = "user")
+    public static class User {
+        @PartitionKey
+        private String login;
+        private String name;
+
+        public User() {
+        }
+
+        public User(String login, String name) {
+            this.login = login;
+            this.name = name;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.CCMBridge;
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+public class MapperBulkTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Lists.newArrayList("CREATE TABLE post (author text, id int, title text, PRIMARY KEY (author, id))");
+    }
+
+    @Test(groups = "short")
+    public void should_save_and_delete_entities_of_several_partitions() {
+        Mapper<Post> mapper = new MappingManager(session).mapper(Post.class);
+
+        // More posts per author than fit in a batch
+        List<Post> posts = Lists.newArrayList();
+        for (int i = 0; i < 5; i++)
+            for (int j = 0; j < Mapper.MAX_BATCH_STATEMENTS + 5; j++)
+                posts.add(new Post("author" + i, j, "title" + j));
+
+        mapper.saveAll(posts);
+        for (Post post : posts)
+            assertThat(mapper.get(post.getAuthor(), post.getId()).getTitle()).isEqualTo(post.getTitle());
+
+        mapper.deleteAll(posts.subList(0, 10));
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            if (i < 10)
+                assertThat(mapper.get(post.getAuthor(), post.getId())).isNull();
+            else
+                assertThat(mapper.get(post.getAuthor(), post.getId())).isNotNull();
+        }
+    }
+
+    @Test(groups = "short")
+    public void should_get_entities_in_key_order_with_nulls_for_misses() throws Exception {
+        Mapper<Post> mapper = new MappingManager(session).mapper(Post.class);
+        mapper.saveAll(Lists.newArrayList(new Post("getAll", 1, "title1"), new Post("getAll", 3, "title3")));
+
+        List<Object[]> keys = Lists.newArrayList();
+        for (int i = 0; i < 100; i++)
+            keys.add(new Object[]{ "getAll", i % 4 });
+
+        List<Post> posts = mapper.getAll(keys);
+        assertThat(posts).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0)
+                assertThat(posts.get(i)).isNull();
+            else
+                assertThat(posts.get(i).getTitle()).isEqualTo("title" + i % 4);
+        }
+
+        List<Post> asyncPosts = mapper.getAllAsync(keys.subList(0, 4)).get();
+        assertThat(asyncPosts.get(0)).isNull();
+        assertThat(asyncPosts.get(1).getTitle()).isEqualTo("title1");
+        assertThat(asyncPosts.get(2)).isNull();
+        assertThat(asyncPosts.get(3).getTitle()).isEqualTo("title3");
+    }
+
+    @Test(groups = "short", expectedExceptions = IllegalArgumentException.class)
+    public void should_fail_get_all_immediately_if_key_is_invalid() {
+        List<Object[]> keys = Lists.newArrayList();
+        keys.add(new Object[]{ "getAll", 1 });
+        keys.add(new Object[]{ "getAll" });
+        new MappingManager(session).mapper(Post.class).getAllAsync(keys);
+    }
+
+    @Test(groups = "short")
+    public void should_complete_immediately_if_no_entities_or_keys() throws Exception {
+        Mapper<Post> mapper = new MappingManager(session).mapper(Post.class);
+
+        assertThat(mapper.saveAllAsync(Lists.<Post>newArrayList()).get()).isNull();
+        assertThat(mapper.deleteAllAsync(Lists.<Post>newArrayList()).get()).isNull();
+        assertThat(mapper.getAllAsync(Lists.<Object[]>newArrayList()).get()).isEmpty();
+    }
+
+    @Table(name = "post")
+    public static class Post {
+        @PartitionKey
+        private String author;
+        @ClusteringColumn
+        private int id;
+        private String title;
+
+        public Post() {
+        }
+
+        public Post(String author, int id, String title) {
+            this.author = author;
+            this.id = id;
+            this.title = title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.*;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+public class MapperEntityCacheTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Lists.newArrayList("CREATE TABLE user (login text primary key, name text)");
+    }
+
+    @Test(groups = "short")
+    public void should_serve_gets_from_cache_until_written_through_the_mapper() throws Exception {
+        Mapper<User> mapper = new MappingManager(session).mapper(User.class);
+        mapper.save(new User("cached", "name1"));
+        mapper.enableEntityCache(100, 1, TimeUnit.HOURS);
+
+        User first = mapper.get("cached");
+        User second = mapper.getAsync("cached").get();
+        assertThat(first.getName()).isEqualTo("name1");
+        assertThat(second.getName()).isEqualTo("name1");
+        assertThat(second).isNotSameAs(first);
+        assertThat(mapper.getEntityCacheStats().missCount()).isEqualTo(1);
+        assertThat(mapper.getEntityCacheStats().hitCount()).isEqualTo(1);
+
+        // Writes that don't go through the mapper are not seen
+        session.execute("UPDATE user SET name = 'name2' WHERE login = 'cached'");
+        assertThat(mapper.get("cached").getName()).isEqualTo("name1");
+
+        // Gets that select some fields or are traced bypass the cache
+        assertThat(mapper.get("cached", Mapper.Option.fields("name")).getName()).isEqualTo("name2");
+        assertThat(mapper.get("cached", Mapper.Option.tracing(true)).getName()).isEqualTo("name2");
+        assertThat(mapper.getEntityCacheStats().requestCount()).isEqualTo(3);
+
+        mapper.save(new User("cached", "name3"));
+        assertThat(mapper.get("cached").getName()).isEqualTo("name3");
+
+        mapper.saveAsync(new User("cached", "name4")).get();
+        assertThat(mapper.get("cached").getName()).isEqualTo("name4");
+
+        mapper.deleteAsync("cached").get();
+        assertThat(mapper.get("cached")).isNull();
+        // Entities that don't exist are cached too
+        assertThat(mapper.get("cached")).isNull();
+        assertThat(mapper.getEntityCacheStats().hitCount()).isEqualTo(3);
+
+        mapper.saveAll(Lists.newArrayList(new User("cached", "name5")));
+        assertThat(mapper.get("cached").getName()).isEqualTo("name5");
+
+        mapper.delete(new User("cached", null));
+        assertThat(mapper.get("cached")).isNull();
+
+        mapper.disableEntityCache();
+        assertThat(mapper.getEntityCacheStats().requestCount()).isEqualTo(0);
+    }
+
+    @Test(groups = "short")
+    public void should_not_cache_a_row_read_before_a_concurrent_save() throws Exception {
+        final AtomicReference<SettableFuture<Void>> gate = new AtomicReference<SettableFuture<Void>>();
+        final AtomicReference<ResultSetFuture> delayed = new AtomicReference<ResultSetFuture>();
+        Mapper<User> mapper = new MappingManager(slowGets(gate, delayed)).mapper(User.class);
+        mapper.save(new User("raced", "name1"));
+        mapper.enableEntityCache(100, 1, TimeUnit.HOURS);
+
+        SettableFuture<Void> g = SettableFuture.create();
+        gate.set(g);
+        ListenableFuture<User> slowGet = mapper.getAsync("raced");
+        // Wait until the get has read the old row (it won't complete before the gate is open)
+        delayed.get().get();
+        gate.set(null);
+
+        mapper.save(new User("raced", "name2"));
+        g.set(null);
+        assertThat(slowGet.get().getName()).isEqualTo("name1");
+
+        // The old row must not have been cached
+        assertThat(mapper.get("raced").getName()).isEqualTo("name2");
+        assertThat(mapper.get("raced").getName()).isEqualTo("name2");
+        assertThat(mapper.getEntityCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test(groups = "short")
+    public void should_cache_a_row_read_during_an_unrelated_save() throws Exception {
+        // Find a key whose invalidations don't affect the one we read
+        String unrelated = null;
+        for (int i = 0; unrelated == null; i++) {
+            String candidate = "unrelated" + i;
+            if (Mapper.invalidationStripe(cacheKey(candidate)) != Mapper.invalidationStripe(cacheKey("read")))
+                unrelated = candidate;
+        }
+
+        final AtomicReference<SettableFuture<Void>> gate = new AtomicReference<SettableFuture<Void>>();
+        final AtomicReference<ResultSetFuture> delayed = new AtomicReference<ResultSetFuture>();
+        Mapper<User> mapper = new MappingManager(slowGets(gate, delayed)).mapper(User.class);
+        mapper.save(new User("read", "name1"));
+        mapper.enableEntityCache(100, 1, TimeUnit.HOURS);
+
+        SettableFuture<Void> g = SettableFuture.create();
+        gate.set(g);
+        ListenableFuture<User> slowGet = mapper.getAsync("read");
+        delayed.get().get();
+        gate.set(null);
+
+        mapper.save(new User(unrelated, "name2"));
+        g.set(null);
+        assertThat(slowGet.get().getName()).isEqualTo("name1");
+
+        // The row was cached despite the save
+        assertThat(mapper.get("read").getName()).isEqualTo("name1");
+        assertThat(mapper.getEntityCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    private static List<ByteBuffer> cacheKey(String login) {
+        return Collections.singletonList(ByteBuffer.wrap(login.getBytes(Charsets.UTF_8)));
+    }
+
+    // Delays the completion of SELECT queries until 'gate' is set, to interleave a get with a save
+    private Session slowGets(final AtomicReference<SettableFuture<Void>> gate, final AtomicReference<ResultSetFuture> delayed) {
+        return (Session)Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{ Session.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result;
+                try {
+                    result = method.invoke(session, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                SettableFuture<Void> g = gate.get();
+                if (g != null && method.getName().equals("executeAsync") && args[0] instanceof BoundStatement
+                    && ((BoundStatement)args[0]).preparedStatement().getQueryString().startsWith("SELECT")) {
+                    ResultSetFuture query = (ResultSetFuture)result;
+                    delayed.set(query);
+                    return new DelayedResultSetFuture(query, g);
+                }
+                return result;
+            }
+        });
+    }
+
+    static class DelayedResultSetFuture extends AbstractFuture<ResultSet> implements ResultSetFuture {
+        DelayedResultSetFuture(final ResultSetFuture query, ListenableFuture<Void> gate) {
+            Futures.addCallback(Futures.allAsList(query, gate), new FutureCallback<Object>() {
+                @Override
+                public void onSuccess(Object result) {
+                    set(query.getUninterruptibly());
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    setException(t);
+                }
+            });
+        }
+
+        @Override
+        public ResultSet getUninterruptibly() {
+            return Futures.getUnchecked(this);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly(long timeout, TimeUnit unit) throws TimeoutException {
+            try {
+                return Uninterruptibles.getUninterruptibly(this, timeout, unit);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    @Table(name = "user")
+    public static class User {
+        @PartitionKey
+        private String login;
+        private String name;
+
+        public User() {
+        }
+
+        public User(String login, String name) {
+            this.login = login;
+            this.name = name;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.fail;
+
+import com.datastax.driver.core.CCMBridge;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+
+public class MapperGeneratedAccessorTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Lists.newArrayList("CREATE TABLE foo (k int primary key, v text)");
+    }
+
+    @Test(groups = "short")
+    public void should_use_generated_implementation_and_prepare_lazily() {
+        // The invalid query doesn't prevent the creation of the accessor, since it is not prepared yet
+        FooAccessor accessor = new MappingManager(session).createAccessor(FooAccessor.class);
+        assertThat(accessor).isInstanceOf(MapperGeneratedAccessorTest_FooAccessor_Impl.class);
+        assertThat(accessor.toString())
+            .isEqualTo("FooAccessor implementation generated by the Cassandra driver mapper");
+
+        accessor.insert(1, "bar");
+        assertThat(accessor.get(1).one().getString("v")).isEqualTo("bar");
+        accessor.insert(1, "baz");
+        assertThat(accessor.get(1).one().getString("v")).isEqualTo("baz");
+
+        assertThat(accessor.getFuture(1).getUninterruptibly().one().getString("v")).isEqualTo("baz");
+
+        try {
+            accessor.invalid();
+            fail("Expected RuntimeException");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage()).isEqualTo("Error preparing query for method invalid of accessor FooAccessor");
+        }
+    }
+
+    @Test(groups = "short")
+    public void should_prepare_once_without_blocking_async_calls() throws Exception {
+        session.execute("INSERT INTO foo (k, v) VALUES (2, 'two')");
+        session.execute("INSERT INTO foo (k, v) VALUES (3, 'three')");
+
+        // A session that holds back the results of PREPARE requests until the gate opens
+        final AtomicInteger prepares = new AtomicInteger();
+        final SettableFuture<Void> gate = SettableFuture.create();
+        Session gatedSession = (Session)Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{ Session.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result;
+                try {
+                    result = method.invoke(session, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (!method.getName().equals("prepareAsync"))
+                    return result;
+                prepares.incrementAndGet();
+                @SuppressWarnings("unchecked")
+                final ListenableFuture<PreparedStatement> prepared = (ListenableFuture<PreparedStatement>)result;
+                return Futures.transform(gate, new AsyncFunction<Void, PreparedStatement>() {
+                    @Override
+                    public ListenableFuture<PreparedStatement> apply(Void input) {
+                        return prepared;
+                    }
+                });
+            }
+        });
+
+        FooAccessor accessor = new MappingManager(gatedSession).createAccessor(FooAccessor.class);
+        ListenableFuture<ResultSet> two = accessor.getAsync(2);
+        ListenableFuture<ResultSet> three = accessor.getAsync(3);
+        assertThat(two.isDone()).isFalse();
+        assertThat(three.isDone()).isFalse();
+        assertThat(prepares.get()).isEqualTo(1);
+
+        gate.set(null);
+        assertThat(two.get(10, TimeUnit.SECONDS).one().getString("v")).isEqualTo("two");
+        assertThat(three.get(10, TimeUnit.SECONDS).one().getString("v")).isEqualTo("three");
+        assertThat(accessor.getAsync(2).get(10, TimeUnit.SECONDS).one().getString("v")).isEqualTo("two");
+        assertThat(prepares.get()).isEqualTo(1);
+    }
+
+    @Test(groups = "short")
+    public void should_fall_back_to_proxy_if_disabled() {
+        MappingManager manager = new MappingManager(session).setUseGeneratedCode(false);
+        try {
+            // Proxies prepare all their queries when they are created
+            FooAccessor accessor = manager.createAccessor(FooAccessor.class);
+            fail("Expected RuntimeException, got " + (Proxy.isProxyClass(accessor.getClass()) ? "a proxy" : accessor));
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage()).isEqualTo("Error preparing queries for accessor FooAccessor");
+        }
+    }
+
+    @Accessor
+    public interface FooAccessor {
+        @Query("INSERT INTO foo (k, v) VALUES (?, ?)")
+        void insert(int k, String v);
+
+        @Query("SELECT v FROM foo WHERE k = ?")
+        ResultSet get(int k);
+
+        @Query("SELECT v FROM foo WHERE k = ?")
+        ListenableFuture<ResultSet> getAsync(int k);
+
+        @Query("SELECT v FROM foo WHERE k = ?")
+        ResultSetFuture getFuture(int k);
+
+        @Query("SELECT * FROM no_such_table")
+        ResultSet invalid();
+    }
+}
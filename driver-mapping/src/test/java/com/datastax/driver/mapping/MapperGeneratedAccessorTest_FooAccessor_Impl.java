@@ -0,0 +1,67 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.mapping.MapperGeneratedAccessorTest.FooAccessor;
+
+/**
+ * Hand-written implementation of {@link FooAccessor}, similar to the ones generated by the
+ * annotation processor, used by {@link MapperGeneratedAccessorTest}.
+ */
+public class MapperGeneratedAccessorTest_FooAccessor_Impl extends GeneratedAccessor implements FooAccessor {
+
+    private static final Query[] QUERIES = {
+        new Query("insert", new Class<?>[]{ int.class, String.class }, "INSERT INTO foo (k, v) VALUES (?, ?)", "", -1, false),
+        new Query("get", new Class<?>[]{ int.class }, "SELECT v FROM foo WHERE k = ?", "", -1, false),
+        new Query("getAsync", new Class<?>[]{ int.class }, "SELECT v FROM foo WHERE k = ?", "", -1, false),
+        new Query("getFuture", new Class<?>[]{ int.class }, "SELECT v FROM foo WHERE k = ?", "", -1, false),
+        new Query("invalid", new Class<?>[0], "SELECT * FROM no_such_table", "", -1, false)
+    };
+
+    public MapperGeneratedAccessorTest_FooAccessor_Impl(MappingManager manager) {
+        super(manager, FooAccessor.class, QUERIES);
+    }
+
+    @Override
+    public void insert(int k, String v) {
+        invoke(0, new Object[]{ k, v });
+    }
+
+    @Override
+    public ResultSet get(int k) {
+        return (ResultSet)invoke(1, new Object[]{ k });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListenableFuture<ResultSet> getAsync(int k) {
+        return (ListenableFuture<ResultSet>)invoke(2, new Object[]{ k });
+    }
+
+    @Override
+    public ResultSetFuture getFuture(int k) {
+        return (ResultSetFuture)invoke(3, new Object[]{ k });
+    }
+
+    @Override
+    public ResultSet invalid() {
+        return (ResultSet)invoke(4, NO_ARGS);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.Collection;
+
+import com.google.common.collect.Lists;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.CCMBridge;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+public class MapperGeneratedPropertiesTest extends CCMBridge.PerClassSingleNodeCluster {
+
+    @Override
+    protected Collection<String> getTableDefinitions() {
+        return Lists.newArrayList("CREATE TABLE user (login text primary key, name text, role text, age int)");
+    }
+
+    @BeforeMethod(groups = "short")
+    public void resetCalls() {
+        MapperGeneratedPropertiesTest_User_Properties.calls.set(0);
+        MapperGeneratedPropertiesTest_User_Properties.boxedAgeCalls.set(0);
+    }
+
+    @Test(groups = "short")
+    public void should_use_generated_properties_and_fall_back_to_reflection() {
+        Mapper<User> mapper = new MappingManager(session).mapper(User.class);
+
+        mapper.save(new User("jdoe", "John Doe", Role.ADMIN, 42));
+        // login, name and age were read through the properties, role through reflection
+        assertThat(MapperGeneratedPropertiesTest_User_Properties.calls.get()).isEqualTo(3);
+
+        User user = mapper.get("jdoe");
+        assertThat(user.getLogin()).isEqualTo("jdoe");
+        assertThat(user.getName()).isEqualTo("John Doe");
+        assertThat(user.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(user.getAge()).isEqualTo(42);
+        // plus newInstance, login, name and age when reading
+        assertThat(MapperGeneratedPropertiesTest_User_Properties.calls.get()).isEqualTo(7);
+        // age was never boxed
+        assertThat(MapperGeneratedPropertiesTest_User_Properties.boxedAgeCalls.get()).isEqualTo(0);
+    }
+
+    @Test(groups = "short")
+    public void should_not_use_generated_properties_if_disabled() {
+        Mapper<User> mapper = new MappingManager(session).setUseGeneratedCode(false).mapper(User.class);
+
+        mapper.save(new User("jsmith", "John Smith", Role.USER, 37));
+        assertThat(mapper.get("jsmith").getName()).isEqualTo("John Smith");
+        assertThat(MapperGeneratedPropertiesTest_User_Properties.calls.get()).isEqualTo(0);
+    }
+
+    public enum Role {ADMIN, USER}
+
+    @Table(name = "user")
+    public static class User {
+        @PartitionKey
+        private String login;
+        private String name;
+        private Role role;
+        private int age;
+
+        public User() {
+        }
+
+        public User(String login, String name, Role role, int age) {
+            this.login = login;
+            this.name = name;
+            this.role = role;
+            this.age = age;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public void setRole(Role role) {
+            this.role = role;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *      Copyright (C) 2012-2015 DataStax Inc.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.datastax.driver.mapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.datastax.driver.mapping.MapperGeneratedPropertiesTest.User;
+
+/**
+ * Hand-written properties for {@link User}, used by {@link MapperGeneratedPropertiesTest}.
+ * Deliberately doesn't handle {@code role}, to test the fallback to reflection, and counts the boxed
+ * accesses to {@code age} separately, to check that saves and reads use the typed methods.
+ */
+public class MapperGeneratedPropertiesTest_User_Properties extends AbstractEntityProperties<User> {
+
+    static final AtomicInteger calls = new AtomicInteger();
+    static final AtomicInteger boxedAgeCalls = new AtomicInteger();
+
+    private static final int LOGIN = 0;
+    private static final int NAME = 1;
+    private static final int AGE = 2;
+
+    @Override
+    public User newInstance() {
+        calls.incrementAndGet();
+        return new User();
+    }
+
+    @Override
+    public int indexOf(String fieldName) {
+        if ("login".equals(fieldName))
+            return LOGIN;
+        if ("name".equals(fieldName))
+            return NAME;
+        if ("age".equals(fieldName))
+            return AGE;
+        return -1;
+    }
+
+    @Override
+    public Object get(User entity, int index) {
+        calls.incrementAndGet();
+        switch (index) {
+            case LOGIN:
+                return entity.getLogin();
+            case NAME:
+                return entity.getName();
+            case AGE:
+                boxedAgeCalls.incrementAndGet();
+                return entity.getAge();
+            default:
+                throw new IllegalArgumentException("Unknown index " + index);
+        }
+    }
+
+    @Override
+    public void set(User entity, int index, Object value) {
+        calls.incrementAndGet();
+        switch (index) {
+            case LOGIN:
+                entity.setLogin((String)value);
+                break;
+            case NAME:
+                entity.setName((String)value);
+                break;
+            case AGE:
+                boxedAgeCalls.incrementAndGet();
+                entity.setAge((Integer)value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown index " + index);
+        }
+    }
+
+    @Override
+    public int getInt(User entity, int index) {
+        calls.incrementAndGet();
+        if (index != AGE)
+            throw new IllegalArgumentException("Unknown int index " + index);
+        return entity.getAge();
+    }
+
+    @Override
+    public void setInt(User entity, int index, int value) {
+        calls.incrementAndGet();
+        if (index != AGE)
+            throw new IllegalArgumentException("Unknown int index " + index);
+        entity.setAge(value);
+    }
+}
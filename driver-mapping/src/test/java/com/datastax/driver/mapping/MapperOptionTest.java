@@ -333,6 +333,31 @@ public class MapperOptionTest extends CCMBridge.PerClassSingleNodeCluster {
         mapper.get(42, Option.ttl(1));
     }
 
+    @Test(groups = "short")
+    void should_only_fetch_requested_fields() {
+        mapper.save(new User(46, "projected"));
+
+        BoundStatement bs = (BoundStatement)mapper.getQuery(46, Option.fields());
+        assertThat(bs.preparedStatement().getQueryString()).doesNotContain("\"v\"");
+        User user = mapper.get(46, Option.fields());
+        assertThat(user.getKey()).isEqualTo(46);
+        assertThat(user.getV()).isNull();
+
+        user = mapper.get(46, Option.fields("v"));
+        assertThat(user.getKey()).isEqualTo(46);
+        assertThat(user.getV()).isEqualTo("projected");
+    }
+
+    @Test(groups = "short", expectedExceptions = IllegalArgumentException.class)
+    void should_fail_if_fields_option_has_unknown_field() {
+        mapper.get(46, Option.fields("unknown"));
+    }
+
+    @Test(groups = "short", expectedExceptions = IllegalArgumentException.class)
+    void should_fail_if_fields_option_used_in_save() {
+        mapper.save(new User(46, "projected"), Option.fields("v"));
+    }
+
     @Test(groups="short", expectedExceptions = IllegalArgumentException.class)
     void should_fail_when_using_ttl_with_protocol_v1() {
         if (protocolVersion.compareTo(V1) > 0)
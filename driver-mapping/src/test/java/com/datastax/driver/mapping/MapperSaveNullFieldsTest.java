@@ -17,6 +17,7 @@ package com.datastax.driver.mapping;
 
 import java.util.Collection;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Lists;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -64,6 +65,23 @@ public class MapperSaveNullFieldsTest extends CCMBridge.PerClassSingleNodeCluste
         should_save_null_fields(false);
     }
 
+    @Test(groups = "short")
+    void should_prepare_one_save_query_per_set_of_saved_columns() {
+        // A new manager, so that statistics start from zero
+        Mapper<User> mapper = new MappingManager(session).mapper(User.class);
+
+        mapper.save(new User("login1", "name", null), Option.saveNullFields(false));
+        mapper.save(new User("login2", "name", null), Option.saveNullFields(false));
+        mapper.save(new User("login3", null, "phone"), Option.saveNullFields(false));
+        mapper.save(new User("login4", null, null));
+        mapper.save(new User("login5", "name", "phone"));
+
+        CacheStats stats = mapper.getSaveQueryStats();
+        assertThat(stats.missCount()).isEqualTo(3);
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.evictionCount()).isEqualTo(0);
+    }
+
     private void should_save_null_fields(boolean saveExpected, Option... options) {
         // Try different combinations of null fields
         should_save_null_fields(true, true, saveExpected, options);